@@ -0,0 +1,121 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.evaggelos99.r2dbc.h2;
+
+import org.junit.platform.commons.annotation.Testable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Benchmarks for binding parameters of a 20 column insert by name.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Testable
+public class BindBenchmarks extends BenchmarkSettings {
+
+    private static final Pattern PARAMETER_SYMBOLS = Pattern.compile(".*([$?])([\\d]+).*");
+
+    private static final int COLUMNS = 20;
+
+    @State(Scope.Benchmark)
+    public static class ConnectionHolder {
+
+        final H2Connection r2dbc;
+
+        final String sql;
+
+        final String[] dollarMarkers = new String[COLUMNS];
+
+        final String[] questionMarkMarkers = new String[COLUMNS];
+
+        public ConnectionHolder() {
+
+            r2dbc = new H2ConnectionFactory(H2ConnectionConfiguration.builder().inMemory("jmh").username("sa").password("").build()).create().block();
+
+            StringBuilder values = new StringBuilder();
+
+            for (int i = 0; i < COLUMNS; i++) {
+                dollarMarkers[i] = "$" + (i + 1);
+                questionMarkMarkers[i] = "?" + (i + 1);
+                values.append(i == 0 ? "" : ", ").append(dollarMarkers[i]);
+            }
+
+            sql = "INSERT INTO bind_test VALUES (" + values + ")";
+        }
+    }
+
+    @Benchmark
+    public void bindDollarMarkers(ConnectionHolder connectionHolder, Blackhole voodoo) {
+
+        H2Statement statement = connectionHolder.r2dbc.createStatement(connectionHolder.sql);
+
+        for (int i = 0; i < COLUMNS; i++) {
+            statement.bind(connectionHolder.dollarMarkers[i], i);
+        }
+
+        voodoo.consume(statement);
+    }
+
+    @Benchmark
+    public void bindQuestionMarkMarkers(ConnectionHolder connectionHolder, Blackhole voodoo) {
+
+        H2Statement statement = connectionHolder.r2dbc.createStatement(connectionHolder.sql);
+
+        for (int i = 0; i < COLUMNS; i++) {
+            statement.bind(connectionHolder.questionMarkMarkers[i], i);
+        }
+
+        voodoo.consume(statement);
+    }
+
+    @Benchmark
+    public void bindIndexes(ConnectionHolder connectionHolder, Blackhole voodoo) {
+
+        H2Statement statement = connectionHolder.r2dbc.createStatement(connectionHolder.sql);
+
+        for (int i = 0; i < COLUMNS; i++) {
+            statement.bind(i, i);
+        }
+
+        voodoo.consume(statement);
+    }
+
+    /**
+     * Baseline: the regular expression based resolution that binding by name used before.
+     */
+    @Benchmark
+    public void resolveWithRegex(ConnectionHolder connectionHolder, Blackhole voodoo) {
+
+        for (int i = 0; i < COLUMNS; i++) {
+            Matcher matcher = PARAMETER_SYMBOLS.matcher(connectionHolder.dollarMarkers[i]);
+
+            if (matcher.find()) {
+                voodoo.consume(Integer.parseInt(matcher.group(2)) - 1);
+            }
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.evaggelos99.r2dbc.h2;
+
+import io.r2dbc.spi.Blob;
+import org.junit.platform.commons.annotation.Testable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for reading a 16 MB {@code BLOB} with various LOB chunk sizes.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Testable
+public class LobReadBenchmarks extends BenchmarkSettings {
+
+    private static final int LOB_SIZE = 16 * 1024 * 1024;
+
+    @State(Scope.Benchmark)
+    public static class ConnectionHolder {
+
+        final Connection jdbc;
+
+        io.r2dbc.spi.Connection r2dbc;
+
+        @Param({"1024", "8192", "65536"})
+        int chunkSize;
+
+        public ConnectionHolder() {
+            try {
+                jdbc = DriverManager.getConnection("jdbc:h2:mem:jmh;DB_CLOSE_DELAY=-1;", "sa", "");
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        @Setup
+        public void setup() {
+            r2dbc = new H2ConnectionFactory(H2ConnectionConfiguration.builder().inMemory("jmh").username("sa").password("").lobChunkSize(chunkSize).build()).create().block();
+
+            try {
+                Statement statement = jdbc.createStatement();
+
+                try {
+                    statement.execute("DROP TABLE lob_read_test");
+                } catch (SQLException e) {
+                }
+
+                statement.execute("CREATE TABLE lob_read_test (data BLOB)");
+
+                PreparedStatement insert = jdbc.prepareStatement("INSERT INTO lob_read_test VALUES (?)");
+                insert.setBytes(1, new byte[LOB_SIZE]);
+                insert.executeUpdate();
+                insert.close();
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+    /**
+     * Baseline: JDBC {@code getBinaryStream} read through a buffer of the chunk size.
+     */
+    @Benchmark
+    public void readJdbc(ConnectionHolder connectionHolder, Blackhole voodoo) throws SQLException, IOException {
+
+        Statement statement = connectionHolder.jdbc.createStatement();
+        ResultSet resultSet = statement.executeQuery("SELECT data FROM lob_read_test");
+        byte[] buffer = new byte[connectionHolder.chunkSize];
+        long length = 0;
+
+        while (resultSet.next()) {
+            try (InputStream in = resultSet.getBinaryStream(1)) {
+                for (int read = in.read(buffer); read != -1; read = in.read(buffer)) {
+                    length += read;
+                }
+            }
+        }
+
+        voodoo.consume(length);
+        resultSet.close();
+        statement.close();
+    }
+
+    @Benchmark
+    public void readR2dbc(ConnectionHolder connectionHolder, Blackhole voodoo) {
+
+        io.r2dbc.spi.Statement statement = connectionHolder.r2dbc.createStatement("SELECT data FROM lob_read_test");
+
+        Long length = Flux.from(statement.execute()).flatMap(it -> it.map((row, rowMetadata) -> row.get("data", Blob.class)))
+            .concatMap(Blob::stream).reduce(0L, (sum, chunk) -> sum + chunk.remaining()).block();
+
+        voodoo.consume(length);
+    }
+}
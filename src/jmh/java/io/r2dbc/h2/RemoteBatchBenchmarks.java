@@ -0,0 +1,120 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.evaggelos99.r2dbc.h2;
+
+import org.h2.tools.Server;
+import org.junit.platform.commons.annotation.Testable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import reactor.core.publisher.Flux;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for multi-binding updates against a TCP server.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Testable
+public class RemoteBatchBenchmarks extends BenchmarkSettings {
+
+    @State(Scope.Benchmark)
+    public static class ConnectionHolder {
+
+        Server server;
+
+        Connection jdbc;
+
+        io.r2dbc.spi.Connection r2dbc;
+
+        @Param({"1", "10", "100"})
+        int batchSize;
+
+        @Setup
+        public void setup() {
+
+            try {
+
+                server = Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start();
+
+                String url = String.format("tcp://localhost:%d/mem:jmh-batch", server.getPort());
+
+                jdbc = DriverManager.getConnection("jdbc:h2:" + url + ";DB_CLOSE_DELAY=-1", "sa", "");
+                r2dbc = new H2ConnectionFactory(H2ConnectionConfiguration.builder().url(url).username("sa").password("").build()).create().block();
+
+                Statement statement = jdbc.createStatement();
+                statement.execute("CREATE TABLE IF NOT EXISTS batch_test (id INT, name VARCHAR(255))");
+                statement.close();
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        @TearDown
+        public void tearDown() throws SQLException {
+
+            Flux.from(r2dbc.close()).blockLast();
+            jdbc.close();
+            server.stop();
+        }
+    }
+
+    @Benchmark
+    public void batchJdbc(ConnectionHolder connectionHolder, Blackhole voodoo) throws SQLException {
+
+        PreparedStatement statement = connectionHolder.jdbc.prepareStatement("INSERT INTO batch_test VALUES (?, ?)");
+
+        for (int i = 0; i < connectionHolder.batchSize; i++) {
+            statement.setInt(1, i);
+            statement.setString(2, "foo");
+            statement.addBatch();
+        }
+
+        voodoo.consume(statement.executeBatch());
+        statement.close();
+    }
+
+    @Benchmark
+    public void batchR2dbc(ConnectionHolder connectionHolder, Blackhole voodoo) {
+
+        io.r2dbc.spi.Statement statement = connectionHolder.r2dbc.createStatement("INSERT INTO batch_test VALUES ($1, $2)");
+
+        for (int i = 0; i < connectionHolder.batchSize; i++) {
+            if (i > 0) {
+                statement.add();
+            }
+            statement.bind("$1", i).bind("$2", "foo");
+        }
+
+        Long rowsUpdated = Flux.from(statement.execute()).concatMap(it -> it.getRowsUpdated()).blockLast();
+
+        voodoo.consume(rowsUpdated);
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.evaggelos99.r2dbc.h2;
+
+import org.junit.platform.commons.annotation.Testable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import reactor.core.publisher.Flux;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for reading numeric columns through {@link H2Row#get(int, Class)} compared to the primitive accessors.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Testable
+public class RowAccessorBenchmarks extends BenchmarkSettings {
+
+    private static final int ROWS = 1000;
+
+    @State(Scope.Benchmark)
+    public static class ConnectionHolder {
+
+        final H2Connection r2dbc;
+
+        final H2Row row;
+
+        public ConnectionHolder() {
+
+            r2dbc = new H2ConnectionFactory(H2ConnectionConfiguration.builder().inMemory("jmh").username("sa").password("").build()).create().block();
+
+            row = r2dbc.createStatement("SELECT CAST(1 AS INT), CAST(2 AS BIGINT), CAST(3 AS DOUBLE)").execute()
+                .flatMap(result -> result.map((row, rowMetadata) -> (H2Row) row)).blockLast();
+        }
+    }
+
+    @Benchmark
+    public void getBoxed(ConnectionHolder connectionHolder, Blackhole voodoo) {
+
+        H2Row row = connectionHolder.row;
+
+        voodoo.consume(row.get(0, Integer.class).intValue());
+        voodoo.consume(row.get(1, Long.class).longValue());
+        voodoo.consume(row.get(2, Double.class).doubleValue());
+    }
+
+    @Benchmark
+    public void getPrimitive(ConnectionHolder connectionHolder, Blackhole voodoo) {
+
+        H2Row row = connectionHolder.row;
+
+        voodoo.consume(row.getInt(0));
+        voodoo.consume(row.getLong(1));
+        voodoo.consume(row.getDouble(2));
+    }
+
+    @Benchmark
+    public void sumBoxed(ConnectionHolder connectionHolder, Blackhole voodoo) {
+
+        long[] sum = new long[1];
+
+        Flux.from(connectionHolder.r2dbc.createStatement("SELECT CAST(X AS BIGINT) FROM SYSTEM_RANGE(1, " + ROWS + ")").execute())
+            .flatMap(result -> result.map((row, rowMetadata) -> {
+                sum[0] += row.get(0, Long.class);
+                return row;
+            })).blockLast();
+
+        voodoo.consume(sum[0]);
+    }
+
+    @Benchmark
+    public void sumPrimitive(ConnectionHolder connectionHolder, Blackhole voodoo) {
+
+        long[] sum = new long[1];
+
+        Flux.from(connectionHolder.r2dbc.createStatement("SELECT CAST(X AS BIGINT) FROM SYSTEM_RANGE(1, " + ROWS + ")").execute())
+            .flatMap(result -> result.map((row, rowMetadata) -> {
+                sum[0] += ((H2Row) row).getLong(0);
+                return row;
+            })).blockLast();
+
+        voodoo.consume(sum[0]);
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.evaggelos99.r2dbc.h2;
+
+import io.r2dbc.spi.Parameters;
+import io.r2dbc.spi.R2dbcType;
+import org.junit.platform.commons.annotation.Testable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import reactor.core.publisher.Flux;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for inserting rows of 8 {@code VARCHAR} columns bound as {@link String}s.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Testable
+public class StringInsertBenchmarks extends BenchmarkSettings {
+
+    private static final int COLUMNS = 8;
+
+    private static final String[] VALUES = new String[COLUMNS];
+
+    static {
+        for (int i = 0; i < COLUMNS; i++) {
+            VALUES[i] = "value of column " + i;
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class ConnectionHolder {
+
+        final Connection jdbc;
+
+        final io.r2dbc.spi.Connection r2dbc;
+
+        final String r2dbcSql;
+
+        final String jdbcSql;
+
+        public ConnectionHolder() {
+
+            try {
+
+                jdbc = DriverManager.getConnection("jdbc:h2:mem:jmh;DB_CLOSE_DELAY=-1;", "sa", "");
+                r2dbc = new H2ConnectionFactory(H2ConnectionConfiguration.builder().inMemory("jmh").username("sa").password("").build()).create().block();
+
+                StringBuilder columns = new StringBuilder();
+                StringBuilder r2dbcValues = new StringBuilder();
+                StringBuilder jdbcValues = new StringBuilder();
+
+                for (int i = 0; i < COLUMNS; i++) {
+                    columns.append(i == 0 ? "" : ", ").append("col").append(i).append(" VARCHAR(255)");
+                    r2dbcValues.append(i == 0 ? "" : ", ").append("$").append(i + 1);
+                    jdbcValues.append(i == 0 ? "" : ", ").append("?");
+                }
+
+                r2dbcSql = "INSERT INTO string_insert_test VALUES (" + r2dbcValues + ")";
+                jdbcSql = "INSERT INTO string_insert_test VALUES (" + jdbcValues + ")";
+
+                Statement statement = jdbc.createStatement();
+
+                try {
+                    statement.execute("DROP TABLE string_insert_test");
+                } catch (SQLException e) {
+                }
+
+                statement.execute("CREATE TABLE string_insert_test (" + columns + ")");
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+    @Benchmark
+    public void insertJdbc(ConnectionHolder connectionHolder, Blackhole voodoo) throws SQLException {
+
+        PreparedStatement statement = connectionHolder.jdbc.prepareStatement(connectionHolder.jdbcSql);
+
+        for (int i = 0; i < COLUMNS; i++) {
+            statement.setString(i + 1, VALUES[i]);
+        }
+
+        voodoo.consume(statement.executeUpdate());
+        statement.close();
+    }
+
+    @Benchmark
+    public void insertR2dbc(ConnectionHolder connectionHolder, Blackhole voodoo) {
+
+        io.r2dbc.spi.Statement statement = connectionHolder.r2dbc.createStatement(connectionHolder.r2dbcSql);
+
+        for (int i = 0; i < COLUMNS; i++) {
+            statement.bind(i, VALUES[i]);
+        }
+
+        voodoo.consume(Flux.from(statement.execute()).flatMap(it -> it.getRowsUpdated()).blockLast());
+    }
+
+    /**
+     * Baseline: binding every {@link String} as a temporary {@code CLOB}, as the driver did before.
+     */
+    @Benchmark
+    public void insertR2dbcAsClob(ConnectionHolder connectionHolder, Blackhole voodoo) {
+
+        io.r2dbc.spi.Statement statement = connectionHolder.r2dbc.createStatement(connectionHolder.r2dbcSql);
+
+        for (int i = 0; i < COLUMNS; i++) {
+            statement.bind(i, Parameters.in(R2dbcType.CLOB, VALUES[i]));
+        }
+
+        voodoo.consume(Flux.from(statement.execute()).flatMap(it -> it.getRowsUpdated()).blockLast());
+    }
+}
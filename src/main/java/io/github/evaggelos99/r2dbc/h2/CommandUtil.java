@@ -16,8 +16,17 @@
 
 package io.github.evaggelos99.r2dbc.h2;
 
+import java.util.Iterator;
+import java.util.List;
+
 import org.h2.command.Command;
 import org.h2.command.CommandInterface;
+import org.h2.engine.SessionLocal;
+import org.h2.result.ResultInterface;
+import org.h2.result.ResultWithGeneratedKeys;
+
+import io.github.evaggelos99.r2dbc.h2.client.Binding;
+import io.github.evaggelos99.r2dbc.h2.client.Client;
 
 final class CommandUtil {
 
@@ -32,6 +41,107 @@ final class CommandUtil {
 		}
 	}
 
+	/**
+	 * Aborts {@code command} while it is running on another thread. An embedded
+	 * command is cancelled through its session, which makes the engine stop at its
+	 * next cancellation check. The session keeps the request until such a check
+	 * acts upon it, so it must be withdrawn with
+	 * {@link #clearCancel(Client, CommandInterface)} if the command finished
+	 * first, see {@link RunningCommand}. A remote command is cancelled on the
+	 * server.
+	 *
+	 * @param client  the client that runs {@code command}
+	 * @param command the running command
+	 */
+	static void cancel(Client client, CommandInterface command) {
+		// Command.cancel() would leave a flag behind that fails the next execution
+		// of a cached command if the cancellation raced with its completion
+		if (command instanceof Command) {
+			client.getSession().cancel();
+		} else {
+			command.cancel();
+		}
+	}
+
+	/**
+	 * Withdraws a cancellation of {@code command} that the engine did not act
+	 * upon, so that it does not abort the next command of the session.
+	 *
+	 * @param client  the client that ran {@code command}
+	 * @param command the cancelled command
+	 */
+	static void clearCancel(Client client, CommandInterface command) {
+		// setting the query timeout is the only way to reset the session's cancel
+		// request short of failing a cancellation check
+		if (command instanceof Command && client.getSession() instanceof SessionLocal) {
+			SessionLocal session = (SessionLocal) client.getSession();
+			session.setQueryTimeout(session.getQueryTimeout());
+		}
+	}
+
+	/**
+	 * Prepares {@code sql} once per binding, see
+	 * {@link Client#prepareCommand(String, List, int)}, and reports the time it
+	 * takes to prepare each command to {@code metricsListener}.
+	 */
+	static Iterator<CommandInterface> prepare(Client client, String sql, List<Binding> bindings, int fetchSize,
+			H2MetricsListener metricsListener) {
+		Iterator<CommandInterface> commands = fetchSize == 0 ? client.prepareCommand(sql, bindings)
+				: client.prepareCommand(sql, bindings, fetchSize);
+
+		if (metricsListener == H2MetricsListener.NONE) {
+			return commands;
+		}
+
+		return new Iterator<CommandInterface>() {
+
+			@Override
+			public boolean hasNext() {
+				return commands.hasNext();
+			}
+
+			@Override
+			public CommandInterface next() {
+				long start = System.nanoTime();
+				CommandInterface command = commands.next();
+				metricsListener.onPrepare(System.nanoTime() - start);
+				return command;
+			}
+		};
+	}
+
+	/**
+	 * Executes the query {@code command} and reports the time it takes to
+	 * {@code metricsListener}.
+	 */
+	static ResultInterface query(Client client, CommandInterface command, H2MetricsListener metricsListener) {
+		if (metricsListener == H2MetricsListener.NONE) {
+			return client.query(command);
+		}
+
+		long start = System.nanoTime();
+		ResultInterface result = client.query(command);
+		metricsListener.onExecute(System.nanoTime() - start);
+		return result;
+	}
+
+	/**
+	 * Executes the update {@code command} and reports the time it takes and its
+	 * update count to {@code metricsListener}.
+	 */
+	static ResultWithGeneratedKeys update(Client client, CommandInterface command, Object generatedColumns,
+			H2MetricsListener metricsListener) {
+		if (metricsListener == H2MetricsListener.NONE) {
+			return client.update(command, generatedColumns);
+		}
+
+		long start = System.nanoTime();
+		ResultWithGeneratedKeys result = client.update(command, generatedColumns);
+		metricsListener.onExecute(System.nanoTime() - start);
+		metricsListener.onUpdate(result.getUpdateCount());
+		return result;
+	}
+
 	private CommandUtil() {
 	}
 }
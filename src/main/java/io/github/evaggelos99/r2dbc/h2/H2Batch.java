@@ -13,6 +13,8 @@ import io.github.evaggelos99.r2dbc.h2.codecs.Codecs;
 import io.github.evaggelos99.r2dbc.h2.util.Assert;
 import io.r2dbc.spi.Batch;
 import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
 /**
  * An implementation of {@link Batch} for executing a collection of statements
@@ -24,11 +26,25 @@ public final class H2Batch implements Batch {
 
 	private final Codecs codecs;
 
+	private final Scheduler scheduler;
+
+	private final H2MetricsListener metricsListener;
+
 	private final List<String> statements = new ArrayList<>();
 
 	H2Batch(Client client, Codecs codecs) {
+		this(client, codecs, Schedulers.immediate());
+	}
+
+	H2Batch(Client client, Codecs codecs, Scheduler scheduler) {
+		this(client, codecs, scheduler, H2MetricsListener.NONE);
+	}
+
+	H2Batch(Client client, Codecs codecs, Scheduler scheduler, H2MetricsListener metricsListener) {
 		this.client = Assert.requireNonNull(client, "client must not be null");
 		this.codecs = Assert.requireNonNull(codecs, "codecs must not be null");
+		this.scheduler = Assert.requireNonNull(scheduler, "scheduler must not be null");
+		this.metricsListener = Assert.requireNonNull(metricsListener, "metricsListener must not be null");
 	}
 
 	@Override
@@ -42,17 +58,28 @@ public final class H2Batch implements Batch {
 	@Override
 	public Flux<H2Result> execute() {
 		return Flux.fromIterable(this.statements)
-				.flatMapIterable(statement -> () -> this.client.prepareCommand(statement, Collections.emptyList()))
+				.flatMapIterable(statement -> () -> CommandUtil.prepare(this.client, statement,
+						Collections.emptyList(), 0, this.metricsListener))
 				.map(command -> {
 					try {
 						if (command.isQuery()) {
 
-							ResultInterface result = this.client.query(command);
+							long start = System.nanoTime();
+							ResultInterface result = CommandUtil.query(this.client, command, this.metricsListener);
+
+							if (result.isLazy()) {
+								return H2Result.toResult(this.codecs, result, null, this.scheduler,
+										() -> CommandUtil.clearForReuse(command),
+										new RunningCommand(this.client, command), this.metricsListener, start);
+							}
+
 							CommandUtil.clearForReuse(command);
-							return H2Result.toResult(this.codecs, result, null);
+							return H2Result.toResult(this.codecs, result, null, this.scheduler, null, null,
+									this.metricsListener, start);
 						} else {
 
-							ResultWithGeneratedKeys result = this.client.update(command, false);
+							ResultWithGeneratedKeys result = CommandUtil.update(this.client, command, false,
+									this.metricsListener);
 							CommandUtil.clearForReuse(command);
 							long updatedCountInt = result.getUpdateCount();
 							return H2Result.toResult(this.codecs, updatedCountInt);
@@ -60,7 +87,7 @@ public final class H2Batch implements Batch {
 					} catch (DbException e) {
 						throw H2DatabaseExceptionFactory.convert(e);
 					}
-				});
+				}).doOnError(e -> this.metricsListener.onError(e.getClass())).subscribeOn(this.scheduler);
 	}
 
 }
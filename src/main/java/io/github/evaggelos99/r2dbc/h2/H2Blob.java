@@ -0,0 +1,52 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.evaggelos99.r2dbc.h2;
+
+import java.nio.ByteBuffer;
+
+import io.r2dbc.spi.Blob;
+import org.reactivestreams.Publisher;
+
+/**
+ * A {@link Blob} read from H2 that knows its length and can stream a range of
+ * its bytes. {@code Row.get(..., H2Blob.class)} returns a BLOB column as an
+ * {@code H2Blob}.
+ */
+public interface H2Blob extends Blob {
+
+	/**
+	 * Returns the number of bytes of this {@link Blob} without reading it.
+	 *
+	 * @return the number of bytes
+	 */
+	long length();
+
+	/**
+	 * Stream {@code length} bytes starting at the zero-based {@code offset}. H2
+	 * skips to {@code offset} in its LOB storage without emitting the bytes
+	 * before it. A range that extends beyond the end of this {@link Blob} is cut
+	 * off at the end.
+	 *
+	 * @param offset the zero-based position of the first of the bytes
+	 * @param length the maximum number of bytes to stream
+	 * @return a {@link Publisher} of the bytes in the range
+	 * @throws IllegalArgumentException if {@code offset} or {@code length} is
+	 *                                  negative or {@code offset} is greater than
+	 *                                  {@link #length()}
+	 */
+	Publisher<ByteBuffer> stream(long offset, long length);
+}
@@ -0,0 +1,532 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.evaggelos99.r2dbc.h2;
+
+import io.github.evaggelos99.r2dbc.h2.codecs.Codecs;
+import io.github.evaggelos99.r2dbc.h2.util.Assert;
+import org.h2.value.Value;
+import org.h2.value.ValueNull;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The rows of a query result materialized column by column, see
+ * {@link H2Result#collectColumns()}.
+ * <p>
+ * Each column is stored as a vector whose {@link Kind} follows the H2 value
+ * type of the column:
+ * <ul>
+ * <li>{@code TINYINT}, {@code SMALLINT} and {@code INTEGER} columns as
+ * {@code int[]}</li>
+ * <li>{@code BIGINT} columns as {@code long[]}</li>
+ * <li>{@code REAL} and {@code DOUBLE PRECISION} columns as
+ * {@code double[]}</li>
+ * <li>{@code BOOLEAN} columns as {@code boolean[]}</li>
+ * <li>{@code CHARACTER} and {@code CHARACTER VARYING} columns as dictionary
+ * codes into the distinct values of the column</li>
+ * <li>all other columns as the objects of their default Java type</li>
+ * </ul>
+ * SQL {@code NULL}s are tracked per column in a {@link BitSet} indexed by row;
+ * the vectors hold {@code 0}, {@code false}, {@code -1} or {@code null} in their
+ * place.
+ * <p>
+ * The returned arrays and bitmaps are not copied and must not be modified.
+ */
+public final class H2Columns {
+
+	private final H2RowMetadata metadata;
+
+	private final int rowCount;
+
+	private final Vector[] vectors;
+
+	private H2Columns(H2RowMetadata metadata, int rowCount, Vector[] vectors) {
+		this.metadata = metadata;
+		this.rowCount = rowCount;
+		this.vectors = vectors;
+	}
+
+	/**
+	 * Returns the number of columns.
+	 *
+	 * @return the number of columns
+	 */
+	public int getColumnCount() {
+		return this.vectors.length;
+	}
+
+	/**
+	 * Returns the values of a {@link Kind#BOOLEAN} column.
+	 *
+	 * @param column the index of the column starting at {@code 0}
+	 * @return the values, indexed by row
+	 * @throws IllegalArgumentException if the column is not a
+	 *                                  {@link Kind#BOOLEAN} column
+	 */
+	public boolean[] getBooleans(int column) {
+		return ((BooleanVector) getVector(column, Kind.BOOLEAN)).values;
+	}
+
+	/**
+	 * Returns the distinct values of a {@link Kind#DICTIONARY} column in order of
+	 * their first occurrence.
+	 *
+	 * @param column the index of the column starting at {@code 0}
+	 * @return the distinct values, indexed by dictionary code
+	 * @throws IllegalArgumentException if the column is not a
+	 *                                  {@link Kind#DICTIONARY} column
+	 */
+	public String[] getDictionary(int column) {
+		return ((DictionaryVector) getVector(column, Kind.DICTIONARY)).dictionary;
+	}
+
+	/**
+	 * Returns the dictionary codes of a {@link Kind#DICTIONARY} column, see
+	 * {@link #getDictionary(int)}. SQL {@code NULL} is encoded as {@code -1}.
+	 *
+	 * @param column the index of the column starting at {@code 0}
+	 * @return the dictionary codes, indexed by row
+	 * @throws IllegalArgumentException if the column is not a
+	 *                                  {@link Kind#DICTIONARY} column
+	 */
+	public int[] getDictionaryCodes(int column) {
+		return ((DictionaryVector) getVector(column, Kind.DICTIONARY)).codes;
+	}
+
+	/**
+	 * Returns the values of a {@link Kind#DOUBLE} column.
+	 *
+	 * @param column the index of the column starting at {@code 0}
+	 * @return the values, indexed by row
+	 * @throws IllegalArgumentException if the column is not a {@link Kind#DOUBLE}
+	 *                                  column
+	 */
+	public double[] getDoubles(int column) {
+		return ((DoubleVector) getVector(column, Kind.DOUBLE)).values;
+	}
+
+	/**
+	 * Returns the values of an {@link Kind#INT} column.
+	 *
+	 * @param column the index of the column starting at {@code 0}
+	 * @return the values, indexed by row
+	 * @throws IllegalArgumentException if the column is not an {@link Kind#INT}
+	 *                                  column
+	 */
+	public int[] getInts(int column) {
+		return ((IntVector) getVector(column, Kind.INT)).values;
+	}
+
+	/**
+	 * Returns the {@link Kind} of vector that stores a column.
+	 *
+	 * @param column the index of the column starting at {@code 0}
+	 * @return the {@link Kind} of the column
+	 */
+	public Kind getKind(int column) {
+		return getVector(column).kind;
+	}
+
+	/**
+	 * Returns the values of a {@link Kind#LONG} column.
+	 *
+	 * @param column the index of the column starting at {@code 0}
+	 * @return the values, indexed by row
+	 * @throws IllegalArgumentException if the column is not a {@link Kind#LONG}
+	 *                                  column
+	 */
+	public long[] getLongs(int column) {
+		return ((LongVector) getVector(column, Kind.LONG)).values;
+	}
+
+	/**
+	 * Returns the metadata of the columns.
+	 *
+	 * @return the metadata of the columns
+	 */
+	public H2RowMetadata getMetadata() {
+		return this.metadata;
+	}
+
+	/**
+	 * Returns the rows of a column that are SQL {@code NULL}.
+	 *
+	 * @param column the index of the column starting at {@code 0}
+	 * @return the bitmap of {@code NULL} rows
+	 */
+	public BitSet getNulls(int column) {
+		return getVector(column).nulls;
+	}
+
+	/**
+	 * Returns the values of an {@link Kind#OBJECT} column, decoded to the default
+	 * Java type of the column.
+	 *
+	 * @param column the index of the column starting at {@code 0}
+	 * @return the values, indexed by row
+	 * @throws IllegalArgumentException if the column is not an
+	 *                                  {@link Kind#OBJECT} column
+	 */
+	public Object[] getObjects(int column) {
+		return ((ObjectVector) getVector(column, Kind.OBJECT)).values;
+	}
+
+	/**
+	 * Returns the number of rows.
+	 *
+	 * @return the number of rows
+	 */
+	public int getRowCount() {
+		return this.rowCount;
+	}
+
+	/**
+	 * Returns whether the value of a column in a row is SQL {@code NULL}.
+	 *
+	 * @param column the index of the column starting at {@code 0}
+	 * @param row    the index of the row starting at {@code 0}
+	 * @return {@code true} if the value is SQL {@code NULL}
+	 */
+	public boolean isNull(int column, int row) {
+		return getVector(column).nulls.get(row);
+	}
+
+	@Override
+	public String toString() {
+		return "H2Columns{" + "rowCount=" + this.rowCount + ", metadata=" + this.metadata + '}';
+	}
+
+	private Vector getVector(int column) {
+		if (column < 0 || column >= this.vectors.length) {
+			throw new IndexOutOfBoundsException(String.format("Column index %d is larger than the number of columns %d",
+					column, this.vectors.length));
+		}
+
+		return this.vectors[column];
+	}
+
+	private Vector getVector(int column, Kind kind) {
+		Vector vector = getVector(column);
+		Assert.requireTrue(vector.kind == kind, String.format("Column %d is not a %s column", column, kind));
+		return vector;
+	}
+
+	/**
+	 * The kind of vector that stores a column.
+	 */
+	public enum Kind {
+
+		/**
+		 * {@code boolean[]}, see {@link H2Columns#getBooleans(int)}.
+		 */
+		BOOLEAN,
+
+		/**
+		 * Dictionary-encoded strings, see {@link H2Columns#getDictionary(int)}.
+		 */
+		DICTIONARY,
+
+		/**
+		 * {@code double[]}, see {@link H2Columns#getDoubles(int)}.
+		 */
+		DOUBLE,
+
+		/**
+		 * {@code int[]}, see {@link H2Columns#getInts(int)}.
+		 */
+		INT,
+
+		/**
+		 * {@code long[]}, see {@link H2Columns#getLongs(int)}.
+		 */
+		LONG,
+
+		/**
+		 * {@code Object[]}, see {@link H2Columns#getObjects(int)}.
+		 */
+		OBJECT
+	}
+
+	/**
+	 * Collects rows, as returned by {@code ResultInterface.currentRow()}, into
+	 * column vectors.
+	 */
+	static final class Builder {
+
+		private static final int INITIAL_CAPACITY = 16;
+
+		private final H2RowMetadata metadata;
+
+		private final Vector[] vectors;
+
+		private int capacity = INITIAL_CAPACITY;
+
+		private int rowCount;
+
+		Builder(Codecs codecs, H2RowMetadata metadata) {
+			Assert.requireNonNull(codecs, "codecs must not be null");
+			this.metadata = Assert.requireNonNull(metadata, "metadata must not be null");
+			this.vectors = new Vector[metadata.size()];
+
+			for (int i = 0; i < this.vectors.length; i++) {
+				this.vectors[i] = createVector(codecs, metadata.getValueType(i), INITIAL_CAPACITY);
+			}
+		}
+
+		Builder add(Value[] values) {
+			if (this.rowCount == this.capacity) {
+				this.capacity = this.capacity << 1;
+
+				for (Vector vector : this.vectors) {
+					vector.resize(this.capacity);
+				}
+			}
+
+			for (int i = 0; i < this.vectors.length; i++) {
+				Value value = values[i];
+
+				if (value == ValueNull.INSTANCE) {
+					this.vectors[i].setNull(this.rowCount);
+				} else {
+					this.vectors[i].set(this.rowCount, value);
+				}
+			}
+
+			this.rowCount++;
+			return this;
+		}
+
+		H2Columns build() {
+			for (Vector vector : this.vectors) {
+				vector.complete(this.rowCount);
+			}
+
+			return new H2Columns(this.metadata, this.rowCount, this.vectors);
+		}
+
+		private static Vector createVector(Codecs codecs, int valueType, int capacity) {
+			switch (valueType) {
+			case Value.TINYINT:
+			case Value.SMALLINT:
+			case Value.INTEGER:
+				return new IntVector(capacity);
+			case Value.BIGINT:
+				return new LongVector(capacity);
+			case Value.REAL:
+			case Value.DOUBLE:
+				return new DoubleVector(capacity);
+			case Value.BOOLEAN:
+				return new BooleanVector(capacity);
+			case Value.CHAR:
+			case Value.VARCHAR:
+			case Value.VARCHAR_IGNORECASE:
+				return new DictionaryVector(capacity);
+			default:
+				return new ObjectVector(codecs, valueType, capacity);
+			}
+		}
+	}
+
+	private abstract static class Vector {
+
+		final Kind kind;
+
+		final BitSet nulls = new BitSet();
+
+		Vector(Kind kind) {
+			this.kind = kind;
+		}
+
+		abstract void set(int row, Value value);
+
+		void setNull(int row) {
+			this.nulls.set(row);
+		}
+
+		abstract void resize(int capacity);
+
+		/**
+		 * Trim the vector to {@code rowCount} rows once all rows were added.
+		 */
+		void complete(int rowCount) {
+			resize(rowCount);
+		}
+	}
+
+	private static final class BooleanVector extends Vector {
+
+		boolean[] values;
+
+		BooleanVector(int capacity) {
+			super(Kind.BOOLEAN);
+			this.values = new boolean[capacity];
+		}
+
+		@Override
+		void set(int row, Value value) {
+			this.values[row] = value.getBoolean();
+		}
+
+		@Override
+		void resize(int capacity) {
+			this.values = Arrays.copyOf(this.values, capacity);
+		}
+	}
+
+	private static final class DictionaryVector extends Vector {
+
+		private final Map<String, Integer> codesByValue = new HashMap<>();
+
+		int[] codes;
+
+		String[] dictionary = new String[16];
+
+		DictionaryVector(int capacity) {
+			super(Kind.DICTIONARY);
+			this.codes = new int[capacity];
+		}
+
+		@Override
+		void set(int row, Value value) {
+			String string = value.getString();
+			Integer code = this.codesByValue.get(string);
+
+			if (code == null) {
+				code = this.codesByValue.size();
+
+				if (code == this.dictionary.length) {
+					this.dictionary = Arrays.copyOf(this.dictionary, code << 1);
+				}
+
+				this.dictionary[code] = string;
+				this.codesByValue.put(string, code);
+			}
+
+			this.codes[row] = code;
+		}
+
+		@Override
+		void setNull(int row) {
+			super.setNull(row);
+			this.codes[row] = -1;
+		}
+
+		@Override
+		void resize(int capacity) {
+			this.codes = Arrays.copyOf(this.codes, capacity);
+		}
+
+		@Override
+		void complete(int rowCount) {
+			super.complete(rowCount);
+			this.dictionary = Arrays.copyOf(this.dictionary, this.codesByValue.size());
+		}
+	}
+
+	private static final class DoubleVector extends Vector {
+
+		double[] values;
+
+		DoubleVector(int capacity) {
+			super(Kind.DOUBLE);
+			this.values = new double[capacity];
+		}
+
+		@Override
+		void set(int row, Value value) {
+			this.values[row] = value.getDouble();
+		}
+
+		@Override
+		void resize(int capacity) {
+			this.values = Arrays.copyOf(this.values, capacity);
+		}
+	}
+
+	private static final class IntVector extends Vector {
+
+		int[] values;
+
+		IntVector(int capacity) {
+			super(Kind.INT);
+			this.values = new int[capacity];
+		}
+
+		@Override
+		void set(int row, Value value) {
+			this.values[row] = value.getInt();
+		}
+
+		@Override
+		void resize(int capacity) {
+			this.values = Arrays.copyOf(this.values, capacity);
+		}
+	}
+
+	private static final class LongVector extends Vector {
+
+		long[] values;
+
+		LongVector(int capacity) {
+			super(Kind.LONG);
+			this.values = new long[capacity];
+		}
+
+		@Override
+		void set(int row, Value value) {
+			this.values[row] = value.getLong();
+		}
+
+		@Override
+		void resize(int capacity) {
+			this.values = Arrays.copyOf(this.values, capacity);
+		}
+	}
+
+	private static final class ObjectVector extends Vector {
+
+		private final Codecs codecs;
+
+		private final int valueType;
+
+		private final Class<?> type;
+
+		Object[] values;
+
+		ObjectVector(Codecs codecs, int valueType, int capacity) {
+			super(Kind.OBJECT);
+			this.codecs = codecs;
+			this.valueType = valueType;
+			Class<?> preferredType = codecs.preferredType(valueType);
+			this.type = preferredType != null ? preferredType : Object.class;
+			this.values = new Object[capacity];
+		}
+
+		@Override
+		void set(int row, Value value) {
+			this.values[row] = this.codecs.decode(value, this.valueType, this.type);
+		}
+
+		@Override
+		void resize(int capacity) {
+			this.values = Arrays.copyOf(this.values, capacity);
+		}
+	}
+}
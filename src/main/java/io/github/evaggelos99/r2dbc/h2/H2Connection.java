@@ -17,22 +17,28 @@
 package io.github.evaggelos99.r2dbc.h2;
 
 import io.github.evaggelos99.r2dbc.h2.client.Client;
+import io.github.evaggelos99.r2dbc.h2.client.CommandCache;
+import io.github.evaggelos99.r2dbc.h2.client.TemporaryLobs;
 import io.github.evaggelos99.r2dbc.h2.codecs.Codecs;
 import io.github.evaggelos99.r2dbc.h2.util.Assert;
 import io.r2dbc.spi.*;
 import org.h2.command.CommandInterface;
-import org.h2.engine.Constants;
+import org.h2.engine.Session;
+import org.h2.engine.SessionLocal;
 import org.h2.message.DbException;
 import org.h2.result.ResultInterface;
 import org.reactivestreams.Publisher;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 import reactor.util.Logger;
 import reactor.util.Loggers;
+import reactor.util.annotation.Nullable;
 
 import java.time.Duration;
 import java.util.Collections;
-import java.util.Iterator;
+import java.util.List;
 import java.util.function.Function;
 
 import static io.r2dbc.spi.IsolationLevel.*;
@@ -43,35 +49,85 @@ import static org.h2.engine.Constants.*;
  */
 public final class H2Connection implements Connection {
 
+	/**
+	 * The default number of rows inserted per command by
+	 * {@link #copyIn(String, List, Publisher)}.
+	 */
+	public static final int DEFAULT_COPY_BATCH_SIZE = 500;
+
 	private final Logger logger = Loggers.getLogger(this.getClass());
 
+	// the client that the operations of this connection run through, a LeasedClient for a lease
 	private final Client client;
 
+	// the client of the session, also once a lease is released
+	private final Client sessionClient;
+
 	private final Codecs codecs;
 
 	private final H2ConnectionMetadata metadata;
 
+	private final Scheduler scheduler;
+
+	private final H2MetricsListener metricsListener;
+
+	@Nullable
+	private final Function<H2Connection, Mono<Void>> releaseHandler;
+
+	@Nullable
+	private final LeasedClient leasedClient;
+
 	private IsolationLevel isolationLevel;
 
+	// the lock timeout of the session before it was first changed, -1 if unchanged
+	private int defaultLockTimeout = -1;
+
+	private boolean statementTimeout;
+
 	H2Connection(Client client, Codecs codecs) {
+		this(client, codecs, Schedulers.immediate());
+	}
 
-		this.client = Assert.requireNonNull(client, "client must not be null");
-		this.codecs = Assert.requireNonNull(codecs, "codecs must not be null");
-		this.isolationLevel = IsolationLevel.READ_COMMITTED;
+	/**
+	 * Creates a new connection whose blocking work runs on {@code scheduler}. The
+	 * scheduler is expected to execute tasks one at a time, in order.
+	 */
+	H2Connection(Client client, Codecs codecs, Scheduler scheduler) {
+		this(client, codecs, scheduler,
+				H2ConnectionMetadataCache.query(Assert.requireNonNull(client, "client must not be null")),
+				H2MetricsListener.NONE, null);
+	}
 
-		String version = Constants.VERSION;
-		Iterator<CommandInterface> commands = client.prepareCommand("CALL H2VERSION()", Collections.emptyList());
+	/**
+	 * Creates a new connection whose blocking work runs on {@code scheduler},
+	 * using {@code metadata} that was resolved by the connection factory.
+	 */
+	H2Connection(Client client, Codecs codecs, Scheduler scheduler, H2ConnectionMetadata metadata) {
+		this(client, codecs, scheduler, metadata, H2MetricsListener.NONE);
+	}
 
-		if (commands.hasNext()) {
+	/**
+	 * Creates a new connection whose blocking work runs on {@code scheduler} and
+	 * that reports its work to {@code metricsListener}.
+	 */
+	H2Connection(Client client, Codecs codecs, Scheduler scheduler, H2ConnectionMetadata metadata,
+			H2MetricsListener metricsListener) {
+		this(client, codecs, scheduler, Assert.requireNonNull(metadata, "metadata must not be null"), metricsListener,
+				null);
+	}
 
-			CommandInterface command = commands.next();
-			ResultInterface query = client.query(command);
-			query.next();
-			version = query.currentRow()[0].getString();
-			query.close();
-		}
+	private H2Connection(Client client, Codecs codecs, Scheduler scheduler, H2ConnectionMetadata metadata,
+			H2MetricsListener metricsListener, @Nullable Function<H2Connection, Mono<Void>> releaseHandler) {
 
-		this.metadata = new H2ConnectionMetadata(version);
+		this.sessionClient = Assert.requireNonNull(client, "client must not be null");
+		this.leasedClient = releaseHandler != null ? new LeasedClient(client) : null;
+		this.client = this.leasedClient != null ? this.leasedClient : client;
+		this.codecs = Assert.requireNonNull(codecs, "codecs must not be null");
+		this.scheduler = Assert.requireNonNull(scheduler, "scheduler must not be null");
+		this.metadata = metadata;
+		this.metricsListener = Assert.requireNonNull(metricsListener, "metricsListener must not be null");
+		this.releaseHandler = releaseHandler;
+		this.isolationLevel = IsolationLevel.READ_COMMITTED;
 	}
 
 	@Override
@@ -108,9 +164,19 @@ public final class H2Connection implements Connection {
 
 	}
 
+	/**
+	 * Closes the connection. A connection that was handed out by a connection pool
+	 * is returned to the pool instead, see
+	 * {@link H2ConnectionConfiguration.Builder#maxPoolSize(int)}, and fails any
+	 * further use with an {@link R2dbcNonTransientResourceException}.
+	 */
 	@Override
 	public Mono<Void> close() {
-		return this.client.close();
+		if (this.leasedClient != null) {
+			return Mono.defer(() -> this.leasedClient.release() ? this.releaseHandler.apply(this) : Mono.empty());
+		}
+
+		return this.client.close().subscribeOn(this.scheduler);
 	}
 
 	@Override
@@ -127,9 +193,74 @@ public final class H2Connection implements Connection {
 		}).onErrorMap(DbException.class, H2DatabaseExceptionFactory::convert);
 	}
 
+	/**
+	 * Inserts the rows emitted by {@code rows} into {@code table}, see
+	 * {@link #copyIn(String, List, Publisher, int, int)}. Rows are inserted in
+	 * batches of {@value #DEFAULT_COPY_BATCH_SIZE} rows and committed once all rows
+	 * are inserted.
+	 *
+	 * @param table   the table to insert into
+	 * @param columns the columns that the values of each row are inserted into
+	 * @param rows    the rows to insert
+	 * @return a {@link Flux} emitting the progress of the load
+	 * @throws IllegalArgumentException if {@code table}, {@code columns} or
+	 *                                  {@code rows} is {@code null} or
+	 *                                  {@code columns} is empty
+	 */
+	public Flux<H2CopyProgress> copyIn(String table, List<String> columns, Publisher<Object[]> rows) {
+		return copyIn(table, columns, rows, DEFAULT_COPY_BATCH_SIZE, 0);
+	}
+
+	/**
+	 * Inserts the rows emitted by {@code rows} into {@code table}. Each row holds
+	 * one value per column in the order of {@code columns}; {@code null} values are
+	 * inserted as SQL {@code NULL}. {@code table} and {@code columns} are used as
+	 * SQL identifiers as they are.
+	 * <p>
+	 * Rows are requested {@code batchSize} at a time and each batch is inserted by
+	 * a single command. While a batch is inserted, the next one is buffered, so at
+	 * most two batches are held in memory. If the connection is in auto-commit
+	 * mode, the load runs in its own transaction that is committed every
+	 * {@code commitInterval} rows (at the end of the batch that reaches the
+	 * interval) and once all rows are inserted; rows that are not yet committed
+	 * are rolled back if the load fails or is cancelled. Within a transaction
+	 * begun by {@link #beginTransaction()} nothing is committed or rolled back by
+	 * the load.
+	 *
+	 * @param table          the table to insert into
+	 * @param columns        the columns that the values of each row are inserted
+	 *                       into
+	 * @param rows           the rows to insert
+	 * @param batchSize      the number of rows inserted per command
+	 * @param commitInterval the number of rows after which the load commits, or
+	 *                       {@code 0} to commit only once all rows are inserted
+	 * @return a {@link Flux} emitting the progress after each batch and after the
+	 *         final commit
+	 * @throws IllegalArgumentException if {@code table}, {@code columns} or
+	 *                                  {@code rows} is {@code null},
+	 *                                  {@code columns} is empty,
+	 *                                  {@code batchSize} is not positive or
+	 *                                  {@code commitInterval} is negative
+	 */
+	public Flux<H2CopyProgress> copyIn(String table, List<String> columns, Publisher<Object[]> rows, int batchSize,
+			int commitInterval) {
+		Assert.requireNonNull(table, "table must not be null");
+		Assert.requireNonNull(columns, "columns must not be null");
+		Assert.requireTrue(!columns.isEmpty(), "columns must not be empty");
+		Assert.requireNonNull(rows, "rows must not be null");
+		Assert.requireTrue(batchSize > 0, "batchSize must be greater than zero");
+		Assert.requireTrue(commitInterval >= 0, "commitInterval must not be negative");
+
+		// every subscription runs its own load with its own progress and transaction
+		return Flux.defer(() -> new H2CopyIn(this.client, this.codecs, this.scheduler, this.metricsListener, table,
+				columns, batchSize, commitInterval).execute(rows));
+	}
+
 	@Override
 	public H2Batch createBatch() {
-		return new H2Batch(this.client, this.codecs);
+		checkNotReleased();
+
+		return new H2Batch(this.client, this.codecs, this.scheduler, this.metricsListener);
 	}
 
 	@Override
@@ -137,13 +268,37 @@ public final class H2Connection implements Connection {
 		Assert.requireNonNull(name, "name must not be null");
 
 		return beginTransaction()
-				.then(Mono.<Void>fromRunnable(() -> this.client.execute(String.format("SAVEPOINT %s", name))))
+				.then(Mono.<Void>fromRunnable(() -> this.client.execute(String.format("SAVEPOINT %s", name)))
+						.subscribeOn(this.scheduler))
 				.onErrorMap(DbException.class, H2DatabaseExceptionFactory::convert);
 	}
 
 	@Override
 	public H2Statement createStatement(String sql) {
-		return new H2Statement(this.client, this.codecs, sql);
+		checkNotReleased();
+
+		return new H2Statement(this.client, this.codecs, sql, this.scheduler, this.metricsListener);
+	}
+
+	/**
+	 * Returns the {@link CommandCache} of prepared commands held by this
+	 * connection, e.g. to inspect its hit and miss counters.
+	 *
+	 * @return the {@link CommandCache} of this connection
+	 */
+	public CommandCache getCommandCache() {
+		return this.client.getCommandCache();
+	}
+
+	/**
+	 * Returns the {@link TemporaryLobs} created for parameters of this
+	 * connection, e.g. to monitor the number of bytes held by temporary LOBs that
+	 * are not released yet.
+	 *
+	 * @return the {@link TemporaryLobs} of this connection
+	 */
+	public TemporaryLobs getTemporaryLobs() {
+		return this.client.getTemporaryLobs();
 	}
 
 	@Override
@@ -206,17 +361,55 @@ public final class H2Connection implements Connection {
 
 	@Override
 	public Mono<Void> setAutoCommit(boolean autoCommit) {
-		return Mono.fromRunnable(() -> this.client.getSession().setAutoCommit(autoCommit));
+		return Mono.<Void>fromRunnable(() -> this.client.getSession().setAutoCommit(autoCommit))
+				.subscribeOn(this.scheduler);
 	}
 
+	/**
+	 * Configures the time to wait for a lock through H2's {@code LOCK_TIMEOUT}
+	 * setting of the session. {@link Duration#ZERO} fails immediately if a lock
+	 * is not available. Running into the timeout fails the statement with an
+	 * {@link R2dbcTimeoutException}.
+	 *
+	 * @param duration the lock wait timeout, rounded up to milliseconds
+	 * @return a {@link Mono} that completes once the timeout is configured
+	 * @throws IllegalArgumentException if {@code duration} is {@code null} or
+	 *                                  negative
+	 */
 	@Override
 	public Mono<Void> setLockWaitTimeout(Duration duration) {
-		return Mono.empty();
+		Assert.requireNonNull(duration, "duration must not be null");
+		Assert.requireTrue(!duration.isNegative(), "duration must not be negative");
+
+		return Mono.<Void>fromRunnable(() -> {
+			if (this.defaultLockTimeout < 0) {
+				this.defaultLockTimeout = queryLockTimeout();
+			}
+
+			this.client.execute(String.format("SET LOCK_TIMEOUT %d", toMillis(duration)));
+		}).onErrorMap(DbException.class, H2DatabaseExceptionFactory::convert).subscribeOn(this.scheduler);
 	}
 
+	/**
+	 * Configures the statement timeout through H2's {@code QUERY_TIMEOUT} setting
+	 * of the session. {@link Duration#ZERO} disables the timeout. A statement that
+	 * runs into the timeout is aborted by the engine and fails with an
+	 * {@link R2dbcTimeoutException}.
+	 *
+	 * @param duration the statement timeout, rounded up to milliseconds
+	 * @return a {@link Mono} that completes once the timeout is configured
+	 * @throws IllegalArgumentException if {@code duration} is {@code null} or
+	 *                                  negative
+	 */
 	@Override
 	public Mono<Void> setStatementTimeout(Duration duration) {
-		return Mono.empty();
+		Assert.requireNonNull(duration, "duration must not be null");
+		Assert.requireTrue(!duration.isNegative(), "duration must not be negative");
+
+		return Mono.<Void>fromRunnable(() -> {
+			this.client.execute(String.format("SET QUERY_TIMEOUT %d", toMillis(duration)));
+			this.statementTimeout = !duration.isZero();
+		}).onErrorMap(DbException.class, H2DatabaseExceptionFactory::convert).subscribeOn(this.scheduler);
 	}
 
 	@Override
@@ -227,7 +420,7 @@ public final class H2Connection implements Connection {
 				.map(aVoid -> {
 					this.isolationLevel = isolationLevel;
 					return aVoid;
-				}).onErrorMap(DbException.class, H2DatabaseExceptionFactory::convert);
+				}).onErrorMap(DbException.class, H2DatabaseExceptionFactory::convert).subscribeOn(this.scheduler);
 	}
 
 	/**
@@ -247,10 +440,85 @@ public final class H2Connection implements Connection {
 				return false;
 			}
 
-			this.client.query(this.client.prepareCommand("SELECT CURRENT_TIMESTAMP", Collections.emptyList()).next());
+			CommandInterface command = this.client.prepareCommand("SELECT CURRENT_TIMESTAMP", Collections.emptyList())
+					.next();
+
+			try {
+				this.client.query(command).close();
+			} finally {
+				CommandUtil.clearForReuse(command);
+			}
 
 			return true;
-		}).switchIfEmpty(Mono.just(false));
+		}).switchIfEmpty(Mono.just(false)).subscribeOn(this.scheduler);
+	}
+
+	/**
+	 * Returns a new handle for the session of this connection that invokes
+	 * {@code releaseHandler} once when it is closed instead of closing the
+	 * session. A closed handle rejects any further use of the session, see
+	 * {@link LeasedClient}.
+	 *
+	 * @param releaseHandler invoked with the returned handle when it is closed
+	 * @return a new handle for the session of this connection
+	 */
+	H2Connection lease(Function<H2Connection, Mono<Void>> releaseHandler) {
+		Assert.requireNonNull(releaseHandler, "releaseHandler must not be null");
+
+		return new H2Connection(this.client, this.codecs, this.scheduler, this.metadata, this.metricsListener,
+				releaseHandler);
+	}
+
+	/**
+	 * Closes the underlying session, also for connections handed out by a pool.
+	 *
+	 * @return a {@link Mono} that completes when the session is closed
+	 */
+	Mono<Void> closeSession() {
+		return this.sessionClient.close().subscribeOn(this.scheduler);
+	}
+
+	/**
+	 * Returns the session to the state of a freshly opened connection: an open
+	 * transaction is rolled back, auto-commit is enabled, a changed isolation
+	 * level and changed timeouts are reset and temporary LOBs are released.
+	 *
+	 * @return a {@link Mono} that completes when the session was reset
+	 */
+	Mono<Void> reset() {
+		return Mono.<Void>fromRunnable(() -> {
+			if (this.sessionClient.inTransaction()) {
+				this.sessionClient.execute("ROLLBACK");
+			}
+
+			if (!this.sessionClient.getSession().getAutoCommit()) {
+				this.sessionClient.enableAutoCommit();
+			}
+
+			if (this.isolationLevel != READ_COMMITTED) {
+				this.sessionClient.execute(getTransactionIsolationLevelQuery(READ_COMMITTED));
+				this.isolationLevel = READ_COMMITTED;
+			}
+
+			if (this.statementTimeout) {
+				this.sessionClient.execute("SET QUERY_TIMEOUT 0");
+				this.statementTimeout = false;
+			}
+
+			if (this.defaultLockTimeout >= 0) {
+				this.sessionClient.execute(String.format("SET LOCK_TIMEOUT %d", this.defaultLockTimeout));
+				this.defaultLockTimeout = -1;
+			}
+
+			this.sessionClient.getTemporaryLobs().releaseAll();
+
+			Session session = this.sessionClient.getSession();
+
+			if (session instanceof SessionLocal) {
+				// removes the temporary result LOBs of the session
+				((SessionLocal) session).commit(false);
+			}
+		}).onErrorMap(DbException.class, H2DatabaseExceptionFactory::convert).subscribeOn(this.scheduler);
 	}
 
 	private static String getTransactionIsolationLevelQuery(IsolationLevel isolationLevel) {
@@ -265,9 +533,39 @@ public final class H2Connection implements Connection {
 		}
 	}
 
+	private int queryLockTimeout() {
+		CommandInterface command = this.client.prepareCommand("CALL LOCK_TIMEOUT()", Collections.emptyList()).next();
+		ResultInterface result = this.client.query(command);
+
+		try {
+			result.next();
+			return result.currentRow()[0].getInt();
+		} finally {
+			result.close();
+			CommandUtil.clearForReuse(command);
+		}
+	}
+
+	private void checkNotReleased() {
+		if (this.leasedClient != null) {
+			this.leasedClient.checkNotReleased();
+		}
+	}
+
+	private static int toMillis(Duration duration) {
+		if (duration.compareTo(Duration.ofMillis(Integer.MAX_VALUE)) >= 0) {
+			return Integer.MAX_VALUE;
+		}
+
+		long millis = duration.toMillis();
+
+		// round up so that a sub-millisecond timeout does not disable the timeout
+		return (int) (Duration.ofMillis(millis).compareTo(duration) < 0 ? millis + 1 : millis);
+	}
+
 	private Mono<Void> useTransactionStatus(Function<Boolean, Publisher<?>> f) {
 		return Flux.defer(() -> f.apply(this.client.inTransaction()))
-				.onErrorMap(DbException.class, H2DatabaseExceptionFactory::convert).then();
+				.onErrorMap(DbException.class, H2DatabaseExceptionFactory::convert).then().subscribeOn(this.scheduler);
 	}
 
 	private enum EmptyTransactionDefinition implements TransactionDefinition {
@@ -16,14 +16,19 @@
 
 package io.github.evaggelos99.r2dbc.h2;
 
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 import reactor.util.annotation.Nullable;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
+import io.github.evaggelos99.r2dbc.h2.client.CommandCache;
+import io.github.evaggelos99.r2dbc.h2.codecs.CodecRegistry;
 import io.github.evaggelos99.r2dbc.h2.util.Assert;
 
 /**
@@ -31,6 +36,8 @@ import io.github.evaggelos99.r2dbc.h2.util.Assert;
  */
 public final class H2ConnectionConfiguration {
 
+	private static final Duration DEFAULT_MAX_IDLE_TIME = Duration.ofMinutes(30);
+
 	private final CharSequence password;
 
 	private final String url;
@@ -39,12 +46,34 @@ public final class H2ConnectionConfiguration {
 
 	private final Map<String, String> properties;
 
+	private final int commandCacheSize;
+
+	private final Scheduler scheduler;
+
+	private final int maxPoolSize;
+
+	private final int minPoolSize;
+
+	private final Duration maxIdleTime;
+
+	private final H2MetricsListener metricsListener;
+
+	private final int lobChunkSize;
+
 	private H2ConnectionConfiguration(@Nullable CharSequence password, String url, @Nullable String username,
-			Map<String, String> properties) {
+			Map<String, String> properties, int commandCacheSize, Scheduler scheduler, int maxPoolSize,
+			int minPoolSize, Duration maxIdleTime, H2MetricsListener metricsListener, int lobChunkSize) {
 		this.password = password;
 		this.url = Assert.requireNonNull(url, "url must not be null");
 		this.username = username;
 		this.properties = Assert.requireNonNull(properties, "properties must not be null");
+		this.commandCacheSize = commandCacheSize;
+		this.scheduler = Assert.requireNonNull(scheduler, "scheduler must not be null");
+		this.maxPoolSize = maxPoolSize;
+		this.minPoolSize = minPoolSize;
+		this.maxIdleTime = Assert.requireNonNull(maxIdleTime, "maxIdleTime must not be null");
+		this.metricsListener = Assert.requireNonNull(metricsListener, "metricsListener must not be null");
+		this.lobChunkSize = lobChunkSize;
 	}
 
 	/**
@@ -59,13 +88,44 @@ public final class H2ConnectionConfiguration {
 	@Override
 	public String toString() {
 		return "H2ConnectionConfiguration{" + "password='REDACTED'" + ", properties='" + this.properties + '\''
-				+ ", url='" + this.url + '\'' + ", username='" + this.username + '\'' + '}';
+				+ ", url='" + this.url + '\'' + ", username='" + this.username + '\'' + ", commandCacheSize="
+				+ this.commandCacheSize + ", scheduler=" + this.scheduler + ", maxPoolSize=" + this.maxPoolSize
+				+ ", minPoolSize=" + this.minPoolSize + ", maxIdleTime=" + this.maxIdleTime + ", metricsListener="
+				+ this.metricsListener + ", lobChunkSize=" + this.lobChunkSize + '}';
+	}
+
+	int getCommandCacheSize() {
+		return this.commandCacheSize;
+	}
+
+	int getLobChunkSize() {
+		return this.lobChunkSize;
+	}
+
+	Duration getMaxIdleTime() {
+		return this.maxIdleTime;
+	}
+
+	H2MetricsListener getMetricsListener() {
+		return this.metricsListener;
+	}
+
+	int getMaxPoolSize() {
+		return this.maxPoolSize;
+	}
+
+	int getMinPoolSize() {
+		return this.minPoolSize;
 	}
 
 	Optional<CharSequence> getPassword() {
 		return Optional.ofNullable(this.password);
 	}
 
+	Scheduler getScheduler() {
+		return this.scheduler;
+	}
+
 	String getUrl() {
 		return this.url;
 	}
@@ -95,19 +155,171 @@ public final class H2ConnectionConfiguration {
 
 		private String username;
 
+		private int commandCacheSize = CommandCache.DEFAULT_SIZE;
+
+		private Scheduler scheduler;
+
+		private boolean virtualThreads;
+
+		private int maxPoolSize;
+
+		private int minPoolSize;
+
+		private Duration maxIdleTime = DEFAULT_MAX_IDLE_TIME;
+
+		private H2MetricsListener metricsListener = H2MetricsListener.NONE;
+
+		private int lobChunkSize = CodecRegistry.DEFAULT_LOB_CHUNK_SIZE;
+
 		/**
 		 * Returns a configured {@link H2ConnectionConfiguration}.
 		 *
 		 * @return a configured {@link H2ConnectionConfiguration}
 		 */
 		public H2ConnectionConfiguration build() {
+			Assert.requireTrue(this.maxPoolSize == 0 || this.minPoolSize <= this.maxPoolSize,
+					"minPoolSize must not be greater than maxPoolSize");
+
 			if (this.options.isEmpty()) {
-				return new H2ConnectionConfiguration(this.password, this.url, this.username, this.properties);
+				return new H2ConnectionConfiguration(this.password, this.url, this.username, this.properties,
+						this.commandCacheSize, getScheduler(), this.maxPoolSize, this.minPoolSize, this.maxIdleTime,
+						this.metricsListener, this.lobChunkSize);
 			}
 
 			String urlWithOptions = this.options.stream().reduce(this.url, (url, option) -> url += ";" + option);
 
-			return new H2ConnectionConfiguration(this.password, urlWithOptions, this.username, this.properties);
+			return new H2ConnectionConfiguration(this.password, urlWithOptions, this.username, this.properties,
+					this.commandCacheSize, getScheduler(), this.maxPoolSize, this.minPoolSize, this.maxIdleTime,
+					this.metricsListener, this.lobChunkSize);
+		}
+
+		/**
+		 * Configure the maximum number of prepared commands cached per connection.
+		 * Cached commands are reused for repeated executions of the same SQL
+		 * instead of being parsed again. Defaults to
+		 * {@value CommandCache#DEFAULT_SIZE}.
+		 *
+		 * @param commandCacheSize the cache size, {@code 0} to disable caching
+		 * @return this {@link Builder}
+		 * @throws IllegalArgumentException if {@code commandCacheSize} is negative
+		 */
+		public Builder commandCacheSize(int commandCacheSize) {
+			Assert.requireTrue(commandCacheSize >= 0, "commandCacheSize must not be negative");
+			this.commandCacheSize = commandCacheSize;
+			return this;
+		}
+
+		/**
+		 * Configure the number of bytes of a {@link io.r2dbc.spi.Blob} or characters
+		 * of a {@link io.r2dbc.spi.Clob} that are read per emitted chunk when the LOB
+		 * is streamed. Larger chunks mean fewer allocations and scheduler round trips
+		 * for large LOBs. Defaults to {@value CodecRegistry#DEFAULT_LOB_CHUNK_SIZE}.
+		 *
+		 * @param lobChunkSize the chunk size
+		 * @return this {@link Builder}
+		 * @throws IllegalArgumentException if {@code lobChunkSize} is not positive
+		 */
+		public Builder lobChunkSize(int lobChunkSize) {
+			Assert.requireTrue(lobChunkSize > 0, "lobChunkSize must be greater than zero");
+			this.lobChunkSize = lobChunkSize;
+			return this;
+		}
+
+		/**
+		 * Configure the {@link H2MetricsListener} that receives timings and counts
+		 * of all connections created by the factory, e.g. a
+		 * {@link H2MetricsRecorder}. Defaults to {@link H2MetricsListener#NONE}.
+		 *
+		 * @param metricsListener the listener
+		 * @return this {@link Builder}
+		 * @throws IllegalArgumentException if {@code metricsListener} is
+		 *                                  {@code null}
+		 */
+		public Builder metricsListener(H2MetricsListener metricsListener) {
+			this.metricsListener = Assert.requireNonNull(metricsListener, "metricsListener must not be null");
+			return this;
+		}
+
+		/**
+		 * Configure the maximum number of open sessions kept by a connection pool.
+		 * With a value greater than zero, {@link H2ConnectionFactory#create()} hands
+		 * out connections from a pool and {@link H2Connection#close() closing} a
+		 * connection resets its session and returns it to the pool. Defaults to
+		 * {@code 0}, which disables pooling.
+		 *
+		 * @param maxPoolSize the maximum pool size, {@code 0} to disable pooling
+		 * @return this {@link Builder}
+		 * @throws IllegalArgumentException if {@code maxPoolSize} is negative
+		 */
+		public Builder maxPoolSize(int maxPoolSize) {
+			Assert.requireTrue(maxPoolSize >= 0, "maxPoolSize must not be negative");
+			this.maxPoolSize = maxPoolSize;
+			return this;
+		}
+
+		/**
+		 * Configure the number of sessions a connection pool keeps open even when
+		 * they are idle. Only applies if {@link #maxPoolSize(int) pooling} is enabled.
+		 * Defaults to {@code 0}.
+		 *
+		 * @param minPoolSize the minimum pool size
+		 * @return this {@link Builder}
+		 * @throws IllegalArgumentException if {@code minPoolSize} is negative
+		 */
+		public Builder minPoolSize(int minPoolSize) {
+			Assert.requireTrue(minPoolSize >= 0, "minPoolSize must not be negative");
+			this.minPoolSize = minPoolSize;
+			return this;
+		}
+
+		/**
+		 * Configure how long a pooled session may stay idle before it is closed.
+		 * Only applies if {@link #maxPoolSize(int) pooling} is enabled. Defaults to
+		 * 30 minutes.
+		 *
+		 * @param maxIdleTime the maximum idle time
+		 * @return this {@link Builder}
+		 * @throws IllegalArgumentException if {@code maxIdleTime} is {@code null} or
+		 *                                  not positive
+		 */
+		public Builder maxIdleTime(Duration maxIdleTime) {
+			Assert.requireNonNull(maxIdleTime, "maxIdleTime must not be null");
+			Assert.requireTrue(!maxIdleTime.isNegative() && !maxIdleTime.isZero(), "maxIdleTime must be positive");
+			this.maxIdleTime = maxIdleTime;
+			return this;
+		}
+
+		/**
+		 * Configure the {@link Scheduler} that runs the blocking H2 engine calls of
+		 * all connections created by the factory, so that they never run on the
+		 * subscriber's thread. Work for a single connection is still executed one
+		 * task at a time, in order. Defaults to {@link Schedulers#boundedElastic()}.
+		 *
+		 * @param scheduler the scheduler
+		 * @return this {@link Builder}
+		 * @throws IllegalArgumentException if {@code scheduler} is {@code null}
+		 */
+		public Builder scheduler(Scheduler scheduler) {
+			this.scheduler = Assert.requireNonNull(scheduler, "scheduler must not be null");
+			return this;
+		}
+
+		/**
+		 * Configure whether blocking H2 engine calls run on virtual threads instead
+		 * of the default bounded scheduler. Requires Java 21 or newer and is ignored
+		 * if a {@link #scheduler(Scheduler) scheduler} is configured.
+		 *
+		 * @param virtualThreads whether to use virtual threads
+		 * @return this {@link Builder}
+		 * @throws IllegalArgumentException if {@code virtualThreads} is {@code true}
+		 *                                  and the runtime has no virtual threads
+		 */
+		public Builder virtualThreads(boolean virtualThreads) {
+			Assert.requireTrue(!virtualThreads || VirtualThreads.isSupported(),
+					"virtualThreads requires Java 21 or newer");
+
+			this.virtualThreads = virtualThreads;
+			return this;
 		}
 
 		/**
@@ -215,7 +427,10 @@ public final class H2ConnectionConfiguration {
 		@Override
 		public String toString() {
 			return "Builder{" + "password='REDACTED'" + ", properties='" + this.properties + '\'' + ", url='" + this.url
-					+ '\'' + ", username='" + this.username + '\'' + '}';
+					+ '\'' + ", username='" + this.username + '\'' + ", commandCacheSize=" + this.commandCacheSize
+					+ ", scheduler=" + this.scheduler + ", virtualThreads=" + this.virtualThreads + ", maxPoolSize="
+					+ this.maxPoolSize + ", minPoolSize=" + this.minPoolSize + ", maxIdleTime=" + this.maxIdleTime
+					+ ", metricsListener=" + this.metricsListener + ", lobChunkSize=" + this.lobChunkSize + '}';
 		}
 
 		/**
@@ -248,5 +463,18 @@ public final class H2ConnectionConfiguration {
 			return this;
 		}
 
+		private Scheduler getScheduler() {
+			if (this.scheduler != null) {
+				return this.scheduler;
+			}
+
+			if (this.virtualThreads) {
+				return VirtualThreads.scheduler().orElseThrow(
+						() -> new IllegalArgumentException("virtualThreads requires Java 21 or newer"));
+			}
+
+			return Schedulers.boundedElastic();
+		}
+
 	}
 }
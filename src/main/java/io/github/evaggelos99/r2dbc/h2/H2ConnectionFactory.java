@@ -19,7 +19,7 @@ package io.github.evaggelos99.r2dbc.h2;
 import io.github.evaggelos99.r2dbc.h2.H2DatabaseExceptionFactory.H2R2dbcNonTransientResourceException;
 import io.github.evaggelos99.r2dbc.h2.client.Client;
 import io.github.evaggelos99.r2dbc.h2.client.SessionClient;
-import io.github.evaggelos99.r2dbc.h2.codecs.DefaultCodecs;
+import io.github.evaggelos99.r2dbc.h2.codecs.CodecRegistry;
 import io.github.evaggelos99.r2dbc.h2.util.Assert;
 import io.r2dbc.spi.Closeable;
 import io.r2dbc.spi.ConnectionFactory;
@@ -27,7 +27,11 @@ import io.r2dbc.spi.ConnectionFactoryMetadata;
 import org.h2.engine.ConnectionInfo;
 import org.h2.message.DbException;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.annotation.Nullable;
 
+import java.time.Duration;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Properties;
@@ -38,11 +42,26 @@ import static org.h2.engine.Constants.START_URL;
 /**
  * An implementation of {@link ConnectionFactory} for creating connections to an
  * H2 database.
+ * <p>
+ * If {@link H2ConnectionConfiguration.Builder#maxPoolSize(int) pooling} is
+ * enabled, connections are handed out from a pool of open sessions and
+ * {@link #close() closing} the factory closes the pool.
  */
-public final class H2ConnectionFactory implements ConnectionFactory {
+public final class H2ConnectionFactory implements ConnectionFactory, Closeable {
 
 	private final Mono<? extends Client> clientFactory;
 
+	private final Scheduler scheduler;
+
+	private final H2ConnectionMetadataCache metadataCache = new H2ConnectionMetadataCache();
+
+	private final CodecRegistry codecRegistry;
+
+	private final H2MetricsListener metricsListener;
+
+	@Nullable
+	private final H2ConnectionPool pool;
+
 	/**
 	 * Creates a new connection factory.
 	 *
@@ -52,7 +71,8 @@ public final class H2ConnectionFactory implements ConnectionFactory {
 	public H2ConnectionFactory(H2ConnectionConfiguration configuration) {
 		this(Mono.fromSupplier(() -> {
 			return getSessionClient(configuration, false);
-		}));
+		}), configuration.getScheduler(), configuration.getMaxPoolSize(), configuration.getMinPoolSize(),
+				configuration.getMaxIdleTime(), configuration.getMetricsListener(), configuration.getLobChunkSize());
 	}
 
 	/**
@@ -140,19 +160,45 @@ public final class H2ConnectionFactory implements ConnectionFactory {
 		Assert.requireNonNull(configuration, "configuration must not be null");
 
 		try {
-			return new SessionClient(getConnectionInfo(configuration), shutdownDatabaseOnClose);
+			return new SessionClient(getConnectionInfo(configuration), shutdownDatabaseOnClose,
+					configuration.getCommandCacheSize());
 		} catch (DbException e) {
 			throw H2DatabaseExceptionFactory.convert(e);
 		}
 	}
 
 	H2ConnectionFactory(Mono<? extends Client> clientFactory) {
+		this(clientFactory, Schedulers.immediate());
+	}
+
+	H2ConnectionFactory(Mono<? extends Client> clientFactory, Scheduler scheduler) {
+		this(clientFactory, scheduler, 0, 0, Duration.ZERO, H2MetricsListener.NONE,
+				CodecRegistry.DEFAULT_LOB_CHUNK_SIZE);
+	}
+
+	private H2ConnectionFactory(Mono<? extends Client> clientFactory, Scheduler scheduler, int maxPoolSize,
+			int minPoolSize, Duration maxIdleTime, H2MetricsListener metricsListener, int lobChunkSize) {
 		this.clientFactory = Assert.requireNonNull(clientFactory, "clientFactory must not be null");
+		this.scheduler = Assert.requireNonNull(scheduler, "scheduler must not be null");
+		this.metricsListener = Assert.requireNonNull(metricsListener, "metricsListener must not be null");
+		this.codecRegistry = new CodecRegistry(CodecRegistry.class.getClassLoader(), lobChunkSize);
+		this.pool = maxPoolSize > 0 ? new H2ConnectionPool(open(), maxPoolSize, minPoolSize, maxIdleTime) : null;
+	}
+
+	/**
+	 * Closes the connection pool, if pooling is enabled. Does nothing otherwise.
+	 *
+	 * @return a {@link Mono} that completes when all idle pooled sessions are
+	 *         closed
+	 */
+	@Override
+	public Mono<Void> close() {
+		return this.pool != null ? this.pool.close() : Mono.empty();
 	}
 
 	@Override
 	public Mono<H2Connection> create() {
-		return this.clientFactory.map(client -> new H2Connection(client, new DefaultCodecs(client)));
+		return this.pool != null ? this.pool.acquire() : open();
 	}
 
 	@Override
@@ -162,7 +208,33 @@ public final class H2ConnectionFactory implements ConnectionFactory {
 
 	@Override
 	public String toString() {
-		return "H2ConnectionFactory{" + "clientFactory=" + this.clientFactory + '}';
+		return "H2ConnectionFactory{" + "clientFactory=" + this.clientFactory + ", pool=" + this.pool + '}';
+	}
+
+	private Mono<H2Connection> open() {
+		Mono<H2Connection> connection = this.clientFactory.map(client -> createConnection(client, this.scheduler,
+				this.metadataCache, this.codecRegistry, this.metricsListener));
+
+		return measure(connection, this.metricsListener).subscribeOn(this.scheduler);
+	}
+
+	private static H2Connection createConnection(Client client, Scheduler scheduler,
+			H2ConnectionMetadataCache metadataCache, CodecRegistry codecRegistry, H2MetricsListener metricsListener) {
+		return new H2Connection(client, codecRegistry.bind(client, metricsListener),
+				Schedulers.fromExecutor(new SerialExecutor(scheduler)), metadataCache.get(client), metricsListener);
+	}
+
+	private static Mono<H2Connection> measure(Mono<H2Connection> connection, H2MetricsListener metricsListener) {
+		if (metricsListener == H2MetricsListener.NONE) {
+			return connection;
+		}
+
+		return Mono.defer(() -> {
+			long start = System.nanoTime();
+
+			return connection.doOnNext(it -> metricsListener.onConnectionCreated(System.nanoTime() - start))
+					.doOnError(e -> metricsListener.onError(e.getClass()));
+		});
 	}
 
 	private static ConnectionInfo getConnectionInfo(H2ConnectionConfiguration configuration) {
@@ -186,10 +258,16 @@ public final class H2ConnectionFactory implements ConnectionFactory {
 
 		private final Supplier<SessionClient> clientFactory;
 
+		private final H2ConnectionMetadataCache metadataCache = new H2ConnectionMetadataCache();
+
+		private final CodecRegistry codecRegistry;
+
 		private volatile SessionClient persistentConnection;
 
 		public DefaultCloseableConnectionFactory(H2ConnectionConfiguration configuration) {
 			this.configuration = configuration;
+			this.codecRegistry = new CodecRegistry(CodecRegistry.class.getClassLoader(),
+					configuration.getLobChunkSize());
 			this.clientFactory = () -> getSessionClient(configuration, false);
 			this.persistentConnection = getSessionClient(configuration, true);
 		}
@@ -211,16 +289,16 @@ public final class H2ConnectionFactory implements ConnectionFactory {
 
 		@Override
 		public Mono<H2Connection> create() {
-			return Mono.fromSupplier(() -> {
+			return measure(Mono.fromSupplier(() -> {
 
 				if (this.persistentConnection == null) {
 					throw new H2R2dbcNonTransientResourceException(
 							String.format("ConnectionFactory for %s is closed", this.configuration.getUrl()));
 				}
 
-				Client client = this.clientFactory.get();
-				return new H2Connection(client, new DefaultCodecs(client));
-			});
+				return createConnection(this.clientFactory.get(), this.configuration.getScheduler(),
+						this.metadataCache, this.codecRegistry, this.configuration.getMetricsListener());
+			}), this.configuration.getMetricsListener()).subscribeOn(this.configuration.getScheduler());
 		}
 
 		@Override
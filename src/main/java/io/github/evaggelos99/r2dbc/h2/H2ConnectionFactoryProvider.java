@@ -21,6 +21,7 @@ import io.r2dbc.spi.ConnectionFactoryOptions;
 import io.r2dbc.spi.ConnectionFactoryProvider;
 import io.r2dbc.spi.Option;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Locale;
@@ -40,6 +41,38 @@ public final class H2ConnectionFactoryProvider implements ConnectionFactoryProvi
 	 */
 	public static final String H2_DRIVER = "h2";
 
+	/**
+	 * Maximum number of prepared commands cached per connection.
+	 */
+	public static final Option<Integer> COMMAND_CACHE_SIZE = Option.valueOf("commandCacheSize");
+
+	/**
+	 * Number of bytes or characters per chunk when streaming a LOB.
+	 */
+	public static final Option<Integer> LOB_CHUNK_SIZE = Option.valueOf("lobChunkSize");
+
+	/**
+	 * Maximum idle time of pooled connections, either a {@link Duration} or an
+	 * ISO-8601 duration such as {@code PT30M}.
+	 */
+	public static final Option<Duration> MAX_IDLE_TIME = Option.valueOf("maxIdleTime");
+
+	/**
+	 * Maximum number of pooled connections. {@code 0} disables pooling.
+	 */
+	public static final Option<Integer> MAX_POOL_SIZE = Option.valueOf("maxPoolSize");
+
+	/**
+	 * {@link H2MetricsListener} instance that receives timings and counts of the
+	 * connections.
+	 */
+	public static final Option<H2MetricsListener> METRICS_LISTENER = Option.valueOf("metricsListener");
+
+	/**
+	 * Minimum number of pooled connections.
+	 */
+	public static final Option<Integer> MIN_POOL_SIZE = Option.valueOf("minPoolSize");
+
 	/**
 	 * Options. Semicolon delimited.
 	 */
@@ -60,6 +93,11 @@ public final class H2ConnectionFactoryProvider implements ConnectionFactoryProvi
 	 */
 	public static final Option<String> URL = Option.valueOf("url");
 
+	/**
+	 * Run blocking H2 calls on virtual threads (Java 21 and newer).
+	 */
+	public static final Option<Boolean> VIRTUAL_THREADS = Option.valueOf("virtualThreads");
+
 	private static final Set<String> KNOWN_OPTION_KEYS = Collections.unmodifiableSet(
 			Arrays.stream(H2ConnectionOption.values()).map(H2ConnectionOption::getKey).collect(Collectors.toSet()));
 
@@ -98,6 +136,41 @@ public final class H2ConnectionFactoryProvider implements ConnectionFactoryProvi
 
 		builder.username((String) connectionFactoryOptions.getValue(USER));
 
+		Object commandCacheSize = connectionFactoryOptions.getValue(COMMAND_CACHE_SIZE);
+		if (commandCacheSize != null) {
+			builder.commandCacheSize(toInteger(commandCacheSize));
+		}
+
+		Object lobChunkSize = connectionFactoryOptions.getValue(LOB_CHUNK_SIZE);
+		if (lobChunkSize != null) {
+			builder.lobChunkSize(toInteger(lobChunkSize));
+		}
+
+		Object virtualThreads = connectionFactoryOptions.getValue(VIRTUAL_THREADS);
+		if (virtualThreads != null) {
+			builder.virtualThreads(toBoolean(virtualThreads));
+		}
+
+		Object maxPoolSize = connectionFactoryOptions.getValue(MAX_POOL_SIZE);
+		if (maxPoolSize != null) {
+			builder.maxPoolSize(toInteger(maxPoolSize));
+		}
+
+		Object minPoolSize = connectionFactoryOptions.getValue(MIN_POOL_SIZE);
+		if (minPoolSize != null) {
+			builder.minPoolSize(toInteger(minPoolSize));
+		}
+
+		Object maxIdleTime = connectionFactoryOptions.getValue(MAX_IDLE_TIME);
+		if (maxIdleTime != null) {
+			builder.maxIdleTime(toDuration(maxIdleTime));
+		}
+
+		H2MetricsListener metricsListener = (H2MetricsListener) connectionFactoryOptions.getValue(METRICS_LISTENER);
+		if (metricsListener != null) {
+			builder.metricsListener(metricsListener);
+		}
+
 		for (String knownOptionKey : KNOWN_OPTION_KEYS) {
 
 			Option<String> uc = Option.valueOf(knownOptionKey);
@@ -138,4 +211,28 @@ public final class H2ConnectionFactoryProvider implements ConnectionFactoryProvi
 	public String getDriver() {
 		return H2_DRIVER;
 	}
+
+	private static Duration toDuration(Object value) {
+		if (value instanceof Duration) {
+			return (Duration) value;
+		}
+
+		return Duration.parse(value.toString());
+	}
+
+	private static int toInteger(Object value) {
+		if (value instanceof Number) {
+			return ((Number) value).intValue();
+		}
+
+		return Integer.parseInt(value.toString());
+	}
+
+	private static boolean toBoolean(Object value) {
+		if (value instanceof Boolean) {
+			return (Boolean) value;
+		}
+
+		return Boolean.parseBoolean(value.toString());
+	}
 }
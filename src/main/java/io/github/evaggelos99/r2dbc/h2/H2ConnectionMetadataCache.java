@@ -0,0 +1,102 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.evaggelos99.r2dbc.h2;
+
+import java.util.Collections;
+import java.util.Iterator;
+
+import org.h2.command.CommandInterface;
+import org.h2.engine.Constants;
+import org.h2.engine.Session;
+import org.h2.engine.SessionLocal;
+import org.h2.message.DbException;
+import org.h2.result.ResultInterface;
+
+import io.github.evaggelos99.r2dbc.h2.client.Client;
+import io.github.evaggelos99.r2dbc.h2.util.Assert;
+import reactor.util.annotation.Nullable;
+
+/**
+ * Resolves the {@link H2ConnectionMetadata} of the database a connection factory
+ * connects to once and shares it between all connections of the factory.
+ * <p>
+ * Embedded sessions run on the H2 engine of this class loader and therefore
+ * always report {@link Constants#VERSION}. Remote sessions query the server
+ * once. The URL of a factory fixes the server it talks to, so the version is
+ * not queried again, even if the server behind that URL gets upgraded while
+ * the factory is in use.
+ */
+final class H2ConnectionMetadataCache {
+
+	private static final H2ConnectionMetadata EMBEDDED = new H2ConnectionMetadata(Constants.VERSION);
+
+	@Nullable
+	private volatile H2ConnectionMetadata remote;
+
+	/**
+	 * Returns the metadata of the database {@code client} is connected to.
+	 *
+	 * @param client the client of a newly opened connection
+	 * @return the connection metadata
+	 */
+	H2ConnectionMetadata get(Client client) {
+		Assert.requireNonNull(client, "client must not be null");
+
+		Session session = client.getSession();
+
+		if (session instanceof SessionLocal) {
+			return EMBEDDED;
+		}
+
+		H2ConnectionMetadata remote = this.remote;
+
+		if (remote == null) {
+			// concurrent first connections may both query, they get the same version
+			remote = query(client);
+			this.remote = remote;
+		}
+
+		return remote;
+	}
+
+	/**
+	 * Query the metadata of the database {@code client} is connected to.
+	 *
+	 * @param client the client
+	 * @return the connection metadata
+	 */
+	static H2ConnectionMetadata query(Client client) {
+		String version = Constants.VERSION;
+
+		try {
+			Iterator<CommandInterface> commands = client.prepareCommand("CALL H2VERSION()", Collections.emptyList());
+
+			if (commands.hasNext()) {
+
+				CommandInterface command = commands.next();
+				ResultInterface query = client.query(command);
+				query.next();
+				version = query.currentRow()[0].getString();
+				query.close();
+			}
+		} catch (DbException e) {
+			throw H2DatabaseExceptionFactory.convert(e);
+		}
+
+		return new H2ConnectionMetadata(version);
+	}
+}
@@ -169,7 +169,17 @@ public enum H2ConnectionOption {
 	 * @see <a href="http://www.h2database.com/html/advanced.html#password_hash"
 	 *      target="_top">Password Hash</a>
 	 */
-	PASSWORD_HASH;
+	PASSWORD_HASH,
+
+	/**
+	 * TRUE|FALSE. Embedded queries produce their rows as the subscriber requests
+	 * them instead of materializing the whole result first.
+	 *
+	 * @see <a href=
+	 *      "http://www.h2database.com/html/commands.html#set_lazy_query_execution"
+	 *      target="_top">SET LAZY_QUERY_EXECUTION</a>
+	 */
+	LAZY_QUERY_EXECUTION;
 
 	/**
 	 *
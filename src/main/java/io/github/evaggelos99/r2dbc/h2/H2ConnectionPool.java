@@ -0,0 +1,424 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.evaggelos99.r2dbc.h2;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.github.evaggelos99.r2dbc.h2.H2DatabaseExceptionFactory.H2R2dbcNonTransientResourceException;
+import io.github.evaggelos99.r2dbc.h2.util.Assert;
+import io.r2dbc.spi.ValidationDepth;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.Logger;
+import reactor.util.Loggers;
+
+/**
+ * A pool of {@link H2Connection}s that keeps H2 sessions open between uses.
+ * <p>
+ * Connections are handed out as {@link H2Connection#lease(java.util.function.Function)
+ * leases} of a pooled session. Closing a lease resets the session (rollback,
+ * auto-commit, isolation level, temporary LOBs) and returns it to the pool;
+ * the closed lease can no longer use the session.
+ * Idle sessions are validated before they are handed out again and closed once
+ * they were idle for longer than the configured maximum idle time, as long as
+ * the pool holds more than its minimum size. Acquirers that find the pool
+ * exhausted wait in arrival order.
+ */
+final class H2ConnectionPool {
+
+	private static final Logger logger = Loggers.getLogger(H2ConnectionPool.class);
+
+	private final Mono<H2Connection> connectionFactory;
+
+	private final int maxSize;
+
+	private final int minSize;
+
+	private final long maxIdleTimeNanos;
+
+	private final Deque<PooledConnection> idle = new ArrayDeque<>();
+
+	private final Deque<Acquirer> pending = new ArrayDeque<>();
+
+	private final Disposable evictionTask;
+
+	private int allocated;
+
+	private boolean closed;
+
+	H2ConnectionPool(Mono<H2Connection> connectionFactory, int maxSize, int minSize, Duration maxIdleTime) {
+		this(connectionFactory, maxSize, minSize, maxIdleTime, Schedulers.parallel());
+	}
+
+	H2ConnectionPool(Mono<H2Connection> connectionFactory, int maxSize, int minSize, Duration maxIdleTime,
+			Scheduler evictionScheduler) {
+		this.connectionFactory = Assert.requireNonNull(connectionFactory, "connectionFactory must not be null");
+		Assert.requireTrue(maxSize > 0, "maxSize must be greater than zero");
+		Assert.requireTrue(minSize >= 0 && minSize <= maxSize, "minSize must be between zero and maxSize");
+		Assert.requireNonNull(maxIdleTime, "maxIdleTime must not be null");
+		Assert.requireTrue(!maxIdleTime.isNegative() && !maxIdleTime.isZero(), "maxIdleTime must be positive");
+		Assert.requireNonNull(evictionScheduler, "evictionScheduler must not be null");
+
+		this.maxSize = maxSize;
+		this.minSize = minSize;
+		this.maxIdleTimeNanos = maxIdleTime.toNanos();
+
+		long period = Math.max(1, maxIdleTime.toMillis() / 2);
+		this.evictionTask = evictionScheduler.schedulePeriodically(this::evict, period, period, TimeUnit.MILLISECONDS);
+
+		ensureMinSize();
+	}
+
+	/**
+	 * Acquire a connection. Completes immediately with an idle connection if one
+	 * is available, otherwise opens a new session if the pool is not exhausted, or
+	 * waits until a connection is released.
+	 *
+	 * @return a {@link Mono} emitting the acquired connection
+	 */
+	Mono<H2Connection> acquire() {
+		return Mono.create(sink -> {
+			Acquirer acquirer = new Acquirer(sink);
+			sink.onCancel(() -> {
+				acquirer.cancelled = true;
+				removePending(acquirer);
+			});
+			acquire(acquirer);
+		});
+	}
+
+	/**
+	 * Close all idle sessions and reject further acquisitions. Sessions that are
+	 * currently in use are closed when they are released.
+	 *
+	 * @return a {@link Mono} that completes when all idle sessions are closed
+	 */
+	Mono<Void> close() {
+		return Mono.defer(() -> {
+			List<PooledConnection> toClose;
+			List<Acquirer> toReject;
+
+			synchronized (this) {
+				if (this.closed) {
+					return Mono.empty();
+				}
+
+				this.closed = true;
+				toClose = new ArrayList<>(this.idle);
+				toReject = new ArrayList<>(this.pending);
+				this.idle.clear();
+				this.pending.clear();
+				this.allocated -= toClose.size();
+			}
+
+			this.evictionTask.dispose();
+
+			for (Acquirer acquirer : toReject) {
+				acquirer.sink.error(closedException());
+			}
+
+			return Flux.fromIterable(toClose).concatMap(pooled -> pooled.connection.closeSession()).then();
+		});
+	}
+
+	/**
+	 * Returns the number of open sessions, idle or in use.
+	 *
+	 * @return the number of open sessions
+	 */
+	synchronized int getAllocatedSize() {
+		return this.allocated;
+	}
+
+	/**
+	 * Returns the number of idle sessions.
+	 *
+	 * @return the number of idle sessions
+	 */
+	synchronized int getIdleSize() {
+		return this.idle.size();
+	}
+
+	/**
+	 * Returns the number of acquirers waiting for a connection.
+	 *
+	 * @return the number of waiting acquirers
+	 */
+	synchronized int getPendingSize() {
+		return this.pending.size();
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "H2ConnectionPool{" + "maxSize=" + this.maxSize + ", minSize=" + this.minSize + ", allocated="
+				+ this.allocated + ", idle=" + this.idle.size() + ", pending=" + this.pending.size() + '}';
+	}
+
+	private void acquire(Acquirer acquirer) {
+		PooledConnection pooled;
+
+		synchronized (this) {
+			if (this.closed) {
+				acquirer.sink.error(closedException());
+				return;
+			}
+
+			if (acquirer.cancelled) {
+				return;
+			}
+
+			// waiting acquirers are served first, see release(..)
+			pooled = this.pending.isEmpty() ? this.idle.pollFirst() : null;
+
+			if (pooled == null) {
+				if (this.allocated >= this.maxSize) {
+					this.pending.addLast(acquirer);
+					return;
+				}
+
+				this.allocated++;
+			}
+		}
+
+		if (pooled != null) {
+			validate(pooled.connection, acquirer);
+		} else {
+			open(acquirer);
+		}
+	}
+
+	private void validate(H2Connection connection, Acquirer acquirer) {
+		connection.validate(ValidationDepth.LOCAL).onErrorReturn(false).subscribe(valid -> {
+			if (valid) {
+				deliver(connection, acquirer);
+				return;
+			}
+
+			logger.debug("Discarding pooled connection that failed validation");
+			discard(connection);
+			acquire(acquirer);
+		});
+	}
+
+	private void open(Acquirer acquirer) {
+		this.connectionFactory.subscribe(connection -> {
+			if (isClosed()) {
+				discard(connection);
+				acquirer.sink.error(closedException());
+				return;
+			}
+
+			deliver(connection, acquirer);
+		}, e -> {
+			synchronized (this) {
+				this.allocated--;
+			}
+
+			acquirer.sink.error(e);
+			servePending();
+		});
+	}
+
+	private void deliver(H2Connection connection, Acquirer acquirer) {
+		H2Connection lease = connection.lease(it -> release(connection, it));
+
+		acquirer.sink.success(lease);
+
+		if (acquirer.cancelled) {
+			// the acquirer went away before it received the lease
+			lease.close().subscribe(null, e -> logger.debug("Failed to release pooled connection", e));
+		}
+	}
+
+	private Mono<Void> release(H2Connection connection, H2Connection lease) {
+		return lease.reset().then(Mono.<Void>fromRunnable(() -> {
+			Acquirer acquirer;
+
+			synchronized (this) {
+				if (this.closed) {
+					acquirer = null;
+				} else {
+					acquirer = this.pending.pollFirst();
+
+					if (acquirer == null) {
+						this.idle.addFirst(new PooledConnection(connection, System.nanoTime()));
+						return;
+					}
+				}
+			}
+
+			if (acquirer == null) {
+				discard(connection);
+			} else {
+				deliver(connection, acquirer);
+			}
+		})).onErrorResume(e -> {
+			logger.debug("Discarding pooled connection that could not be reset", e);
+			discard(connection);
+			return Mono.empty();
+		});
+	}
+
+	private void discard(H2Connection connection) {
+		synchronized (this) {
+			this.allocated--;
+		}
+
+		connection.closeSession().subscribe(null, e -> logger.debug("Failed to close pooled connection", e));
+		servePending();
+	}
+
+	/**
+	 * Open a new session for the first waiting acquirer if a discarded session
+	 * freed capacity.
+	 */
+	private void servePending() {
+		Acquirer acquirer;
+
+		synchronized (this) {
+			if (this.closed || this.allocated >= this.maxSize) {
+				return;
+			}
+
+			acquirer = this.pending.pollFirst();
+
+			if (acquirer == null) {
+				return;
+			}
+
+			this.allocated++;
+		}
+
+		open(acquirer);
+	}
+
+	private void evict() {
+		List<PooledConnection> toClose = new ArrayList<>();
+
+		synchronized (this) {
+			long now = System.nanoTime();
+
+			for (Iterator<PooledConnection> it = this.idle.descendingIterator(); it.hasNext()
+					&& this.allocated > this.minSize;) {
+				PooledConnection pooled = it.next();
+
+				if (now - pooled.idleSince >= this.maxIdleTimeNanos) {
+					it.remove();
+					this.allocated--;
+					toClose.add(pooled);
+				}
+			}
+		}
+
+		for (PooledConnection pooled : toClose) {
+			pooled.connection.closeSession().subscribe(null, e -> logger.debug("Failed to close idle connection", e));
+		}
+
+		ensureMinSize();
+	}
+
+	private void ensureMinSize() {
+		int missing;
+
+		synchronized (this) {
+			if (this.closed || this.allocated >= this.minSize) {
+				return;
+			}
+
+			missing = this.minSize - this.allocated;
+			this.allocated += missing;
+		}
+
+		for (int i = 0; i < missing; i++) {
+			this.connectionFactory.subscribe(connection -> {
+				Acquirer acquirer;
+
+				synchronized (this) {
+					if (this.closed) {
+						acquirer = null;
+					} else {
+						// acquirers that found the pool exhausted while the session was opening wait for it
+						acquirer = this.pending.pollFirst();
+
+						if (acquirer == null) {
+							this.idle.addLast(new PooledConnection(connection, System.nanoTime()));
+							return;
+						}
+					}
+				}
+
+				if (acquirer == null) {
+					discard(connection);
+				} else {
+					deliver(connection, acquirer);
+				}
+			}, e -> {
+				synchronized (this) {
+					this.allocated--;
+				}
+
+				logger.debug("Failed to open pooled connection", e);
+				servePending();
+			});
+		}
+	}
+
+	private synchronized void removePending(Acquirer acquirer) {
+		this.pending.remove(acquirer);
+	}
+
+	private synchronized boolean isClosed() {
+		return this.closed;
+	}
+
+	private H2R2dbcNonTransientResourceException closedException() {
+		return new H2R2dbcNonTransientResourceException("Connection pool is closed");
+	}
+
+	private static final class Acquirer {
+
+		private final MonoSink<H2Connection> sink;
+
+		private volatile boolean cancelled;
+
+		Acquirer(MonoSink<H2Connection> sink) {
+			this.sink = sink;
+		}
+	}
+
+	private static final class PooledConnection {
+
+		private final H2Connection connection;
+
+		private final long idleSince;
+
+		PooledConnection(H2Connection connection, long idleSince) {
+			this.connection = connection;
+			this.idleSince = idleSince;
+		}
+	}
+}
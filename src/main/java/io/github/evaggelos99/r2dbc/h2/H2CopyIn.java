@@ -0,0 +1,211 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.evaggelos99.r2dbc.h2;
+
+import io.github.evaggelos99.r2dbc.h2.client.Binding;
+import io.github.evaggelos99.r2dbc.h2.client.Client;
+import io.github.evaggelos99.r2dbc.h2.codecs.Codecs;
+import io.github.evaggelos99.r2dbc.h2.util.Assert;
+import org.h2.command.CommandInterface;
+import org.h2.message.DbException;
+import org.h2.value.ValueNull;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.util.Logger;
+import reactor.util.Loggers;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A single bulk load of rows into a table. It keeps the progress and
+ * transaction state of one run, so every run needs a new instance.
+ * <p>
+ * Rows are requested from the source one batch at a time, and the next batch
+ * is buffered while the previous one is inserted. Each batch is
+ * inserted with a single multi-row {@code INSERT} command, so a remote session
+ * needs one round trip per batch and the command of a full batch is prepared
+ * once per connection. If the connection is in auto-commit mode the load runs
+ * in its own transaction that is committed every {@code commitInterval} rows
+ * and once all rows are inserted. Rows that are not committed yet are rolled
+ * back if the load fails or is cancelled.
+ */
+final class H2CopyIn {
+
+	private static final Logger logger = Loggers.getLogger(H2CopyIn.class);
+
+	private final Client client;
+
+	private final Codecs codecs;
+
+	private final Scheduler scheduler;
+
+	private final H2MetricsListener metricsListener;
+
+	private final String insertPrefix;
+
+	private final int columnCount;
+
+	private final int batchSize;
+
+	private final int commitInterval;
+
+	private String batchSql;
+
+	private boolean ownsTransaction;
+
+	private long rowsCopied;
+
+	private long rowsCommitted;
+
+	H2CopyIn(Client client, Codecs codecs, Scheduler scheduler, H2MetricsListener metricsListener, String table,
+			List<String> columns, int batchSize, int commitInterval) {
+		this.client = Assert.requireNonNull(client, "client must not be null");
+		this.codecs = Assert.requireNonNull(codecs, "codecs must not be null");
+		this.scheduler = Assert.requireNonNull(scheduler, "scheduler must not be null");
+		this.metricsListener = Assert.requireNonNull(metricsListener, "metricsListener must not be null");
+		Assert.requireNonNull(table, "table must not be null");
+		Assert.requireNonNull(columns, "columns must not be null");
+
+		this.insertPrefix = String.format("INSERT INTO %s (%s) VALUES ", table, String.join(", ", columns));
+		this.columnCount = columns.size();
+		this.batchSize = batchSize;
+		this.commitInterval = commitInterval;
+	}
+
+	/**
+	 * Inserts the rows of {@code rows}. Must be subscribed to at most once.
+	 *
+	 * @param rows the rows to insert
+	 * @return a {@link Flux} emitting the progress after each batch and once the
+	 *         rows are committed
+	 */
+	Flux<H2CopyProgress> execute(Publisher<Object[]> rows) {
+		Assert.requireNonNull(rows, "rows must not be null");
+
+		Flux<H2CopyProgress> batches = Flux.from(rows).buffer(this.batchSize)
+				.concatMap(batch -> Mono.fromCallable(() -> insert(batch)).subscribeOn(this.scheduler), 1);
+
+		return Mono.<H2CopyProgress>fromRunnable(this::begin).subscribeOn(this.scheduler).thenMany(batches)
+				.concatWith(Mono.fromCallable(this::complete).subscribeOn(this.scheduler))
+				.onErrorMap(DbException.class, H2DatabaseExceptionFactory::convert)
+				.doOnError(e -> this.metricsListener.onError(e.getClass()))
+				.onErrorResume(e -> abort().then(Mono.<H2CopyProgress>error(e)))
+				.doOnCancel(() -> abort().subscribe(null, e -> logger.debug("Failed to abort bulk load", e)));
+	}
+
+	private void begin() {
+		if (!this.client.inTransaction()) {
+			this.client.disableAutoCommit();
+			this.ownsTransaction = true;
+		}
+	}
+
+	private H2CopyProgress insert(List<Object[]> batch) {
+		Binding binding = new Binding(batch.size() * this.columnCount);
+		int index = 0;
+
+		for (Object[] row : batch) {
+			Assert.requireNonNull(row, "row must not be null");
+			Assert.requireTrue(row.length == this.columnCount,
+					String.format("Row has %d values but %d columns are copied", row.length, this.columnCount));
+
+			for (Object value : row) {
+				binding.add(index++, value == null ? ValueNull.INSTANCE : this.codecs.encode(value));
+			}
+		}
+
+		CommandInterface command = CommandUtil
+				.prepare(this.client, getSql(batch.size()), Collections.singletonList(binding), 0, this.metricsListener)
+				.next();
+
+		try {
+			this.rowsCopied += CommandUtil.update(this.client, command, false, this.metricsListener).getUpdateCount();
+		} finally {
+			CommandUtil.clearForReuse(command);
+			this.client.getTemporaryLobs().release(binding);
+		}
+
+		if (this.ownsTransaction && this.commitInterval > 0
+				&& this.rowsCopied - this.rowsCommitted >= this.commitInterval) {
+			commit();
+		}
+
+		return new H2CopyProgress(this.rowsCopied, this.rowsCommitted);
+	}
+
+	private H2CopyProgress complete() {
+		if (!this.ownsTransaction) {
+			return null;
+		}
+
+		boolean uncommitted = this.rowsCopied > this.rowsCommitted;
+
+		commit();
+		this.client.enableAutoCommit();
+		this.ownsTransaction = false;
+
+		return uncommitted ? new H2CopyProgress(this.rowsCopied, this.rowsCommitted) : null;
+	}
+
+	private void commit() {
+		this.client.execute("COMMIT");
+		this.rowsCommitted = this.rowsCopied;
+	}
+
+	private Mono<Void> abort() {
+		return Mono.<Void>fromRunnable(() -> {
+			if (this.ownsTransaction) {
+				this.ownsTransaction = false;
+				this.client.execute("ROLLBACK");
+				this.client.enableAutoCommit();
+			}
+		}).subscribeOn(this.scheduler);
+	}
+
+	private String getSql(int rowCount) {
+		if (rowCount != this.batchSize) {
+			return createSql(rowCount);
+		}
+
+		if (this.batchSql == null) {
+			this.batchSql = createSql(rowCount);
+		}
+
+		return this.batchSql;
+	}
+
+	private String createSql(int rowCount) {
+		StringBuilder sql = new StringBuilder(this.insertPrefix.length() + rowCount * this.columnCount * 6)
+				.append(this.insertPrefix);
+		int parameter = 1;
+
+		for (int row = 0; row < rowCount; row++) {
+			sql.append(row == 0 ? "(" : ", (");
+
+			for (int column = 0; column < this.columnCount; column++) {
+				sql.append(column == 0 ? "$" : ", $").append(parameter++);
+			}
+
+			sql.append(')');
+		}
+
+		return sql.toString();
+	}
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.evaggelos99.r2dbc.h2;
+
+/**
+ * The progress of a bulk load, see
+ * {@link H2Connection#copyIn(String, java.util.List, org.reactivestreams.Publisher)}.
+ */
+public final class H2CopyProgress {
+
+	private final long rowsCopied;
+
+	private final long rowsCommitted;
+
+	H2CopyProgress(long rowsCopied, long rowsCommitted) {
+		this.rowsCopied = rowsCopied;
+		this.rowsCommitted = rowsCommitted;
+	}
+
+	/**
+	 * Returns the number of rows that were committed by the bulk load so far.
+	 * Always {@code 0} if the bulk load runs within a transaction of the
+	 * connection, as that transaction is committed by its owner.
+	 *
+	 * @return the number of committed rows
+	 */
+	public long getRowsCommitted() {
+		return this.rowsCommitted;
+	}
+
+	/**
+	 * Returns the number of rows that were inserted so far.
+	 *
+	 * @return the number of inserted rows
+	 */
+	public long getRowsCopied() {
+		return this.rowsCopied;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (!(o instanceof H2CopyProgress)) {
+			return false;
+		}
+		H2CopyProgress that = (H2CopyProgress) o;
+		return this.rowsCopied == that.rowsCopied && this.rowsCommitted == that.rowsCommitted;
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * Long.hashCode(this.rowsCopied) + Long.hashCode(this.rowsCommitted);
+	}
+
+	@Override
+	public String toString() {
+		return "H2CopyProgress{" + "rowsCopied=" + this.rowsCopied + ", rowsCommitted=" + this.rowsCommitted + '}';
+	}
+}
@@ -0,0 +1,387 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.evaggelos99.r2dbc.h2;
+
+import io.github.evaggelos99.r2dbc.h2.util.Assert;
+import org.h2.value.Value;
+import org.h2.value.ValueNull;
+import reactor.util.annotation.Nullable;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Encodes the rows of a result in an {@link H2ExportFormat}, straight from the
+ * H2 {@link Value}s.
+ * <p>
+ * Rows are written to a byte array that is handed out as a chunk once it holds
+ * at least {@code chunkSize} bytes. Strings are encoded to UTF-8 directly into
+ * that array, so the only per-cell allocation is the string H2 formats a
+ * non-numeric value to.
+ */
+abstract class H2Export {
+
+	static final int DEFAULT_CHUNK_SIZE = 8192;
+
+	final H2RowMetadata metadata;
+
+	final int[] valueTypes;
+
+	private final int chunkSize;
+
+	private byte[] bytes;
+
+	private int position;
+
+	H2Export(H2RowMetadata metadata, int chunkSize) {
+		this.metadata = Assert.requireNonNull(metadata, "metadata must not be null");
+		Assert.requireTrue(chunkSize > 0, "chunkSize must be greater than zero");
+
+		this.chunkSize = chunkSize;
+		this.bytes = new byte[chunkSize];
+		this.valueTypes = new int[metadata.size()];
+
+		for (int i = 0; i < this.valueTypes.length; i++) {
+			this.valueTypes[i] = metadata.getValueType(i);
+		}
+	}
+
+	static H2Export create(H2ExportFormat format, H2RowMetadata metadata, int chunkSize) {
+		Assert.requireNonNull(format, "format must not be null");
+
+		H2Export export = format == H2ExportFormat.CSV ? new Csv(metadata, chunkSize)
+				: new Binary(metadata, chunkSize);
+		export.writeHeader();
+
+		return export;
+	}
+
+	/**
+	 * Encode a row.
+	 *
+	 * @param row the values of the row
+	 * @return a chunk if enough bytes were written, otherwise {@code null}
+	 */
+	@Nullable
+	ByteBuffer write(Value[] row) {
+		writeRow(row);
+
+		return this.position >= this.chunkSize ? takeChunk() : null;
+	}
+
+	/**
+	 * Returns the bytes written since the last chunk.
+	 *
+	 * @return the remaining bytes or {@code null} if there are none
+	 */
+	@Nullable
+	ByteBuffer flush() {
+		return this.position > 0 ? takeChunk() : null;
+	}
+
+	abstract void writeHeader();
+
+	abstract void writeRow(Value[] row);
+
+	final void writeByte(int b) {
+		ensureCapacity(1);
+		this.bytes[this.position++] = (byte) b;
+	}
+
+	final void writeBytes(byte[] b) {
+		ensureCapacity(b.length);
+		System.arraycopy(b, 0, this.bytes, this.position, b.length);
+		this.position += b.length;
+	}
+
+	final void writeInt(int i) {
+		ensureCapacity(4);
+		this.bytes[this.position++] = (byte) (i >>> 24);
+		this.bytes[this.position++] = (byte) (i >>> 16);
+		this.bytes[this.position++] = (byte) (i >>> 8);
+		this.bytes[this.position++] = (byte) i;
+	}
+
+	final void writeLong(long l) {
+		writeInt((int) (l >>> 32));
+		writeInt((int) l);
+	}
+
+	final void writeShort(int s) {
+		ensureCapacity(2);
+		this.bytes[this.position++] = (byte) (s >>> 8);
+		this.bytes[this.position++] = (byte) s;
+	}
+
+	/**
+	 * Write {@code s} as UTF-8.
+	 *
+	 * @return the number of bytes written
+	 */
+	final int writeUtf8(String s) {
+		return writeUtf8(s, 0, s.length());
+	}
+
+	/**
+	 * Write the characters of {@code s} from {@code start} to {@code end} as UTF-8.
+	 *
+	 * @return the number of bytes written
+	 */
+	final int writeUtf8(String s, int start, int end) {
+		// a char takes at most three bytes, a surrogate pair four
+		ensureCapacity((end - start) * 3);
+
+		byte[] b = this.bytes;
+		int p = this.position;
+
+		for (int i = start; i < end; i++) {
+			char c = s.charAt(i);
+
+			if (c < 0x80) {
+				b[p++] = (byte) c;
+			} else if (c < 0x800) {
+				b[p++] = (byte) (0xc0 | (c >> 6));
+				b[p++] = (byte) (0x80 | (c & 0x3f));
+			} else if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(s.charAt(i + 1))) {
+				int codePoint = Character.toCodePoint(c, s.charAt(++i));
+				b[p++] = (byte) (0xf0 | (codePoint >> 18));
+				b[p++] = (byte) (0x80 | ((codePoint >> 12) & 0x3f));
+				b[p++] = (byte) (0x80 | ((codePoint >> 6) & 0x3f));
+				b[p++] = (byte) (0x80 | (codePoint & 0x3f));
+			} else if (Character.isSurrogate(c)) {
+				// unpaired surrogates are replaced like String.getBytes(UTF_8) does
+				b[p++] = '?';
+			} else {
+				b[p++] = (byte) (0xe0 | (c >> 12));
+				b[p++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+				b[p++] = (byte) (0x80 | (c & 0x3f));
+			}
+		}
+
+		int written = p - this.position;
+		this.position = p;
+
+		return written;
+	}
+
+	/**
+	 * Write {@code s} as its 4-byte UTF-8 length followed by the UTF-8 bytes.
+	 */
+	final void writeString(String s) {
+		int lengthPosition = this.position;
+
+		writeInt(0);
+		int length = writeUtf8(s);
+
+		this.bytes[lengthPosition] = (byte) (length >>> 24);
+		this.bytes[lengthPosition + 1] = (byte) (length >>> 16);
+		this.bytes[lengthPosition + 2] = (byte) (length >>> 8);
+		this.bytes[lengthPosition + 3] = (byte) length;
+	}
+
+	static boolean isBinary(int valueType) {
+		return valueType == Value.BINARY || valueType == Value.VARBINARY || valueType == Value.BLOB;
+	}
+
+	private void ensureCapacity(int n) {
+		if (this.position + n > this.bytes.length) {
+			this.bytes = Arrays.copyOf(this.bytes, Math.max(this.position + n, this.bytes.length * 2));
+		}
+	}
+
+	private ByteBuffer takeChunk() {
+		ByteBuffer chunk = ByteBuffer.wrap(this.bytes, 0, this.position);
+
+		this.bytes = new byte[this.chunkSize];
+		this.position = 0;
+
+		return chunk;
+	}
+
+	private static final class Binary extends H2Export {
+
+		private final int nullBitmapLength;
+
+		Binary(H2RowMetadata metadata, int chunkSize) {
+			super(metadata, chunkSize);
+			this.nullBitmapLength = (this.valueTypes.length + 7) / 8;
+		}
+
+		@Override
+		void writeHeader() {
+			writeInt(this.valueTypes.length);
+
+			for (int i = 0; i < this.valueTypes.length; i++) {
+				writeInt(this.valueTypes[i]);
+				writeString(this.metadata.getColumnMetadata(i).getName());
+			}
+		}
+
+		@Override
+		void writeRow(Value[] row) {
+			for (int i = 0; i < this.nullBitmapLength; i++) {
+				int bits = 0;
+
+				for (int bit = 0; bit < 8 && i * 8 + bit < row.length; bit++) {
+					if (row[i * 8 + bit] == ValueNull.INSTANCE) {
+						bits |= 1 << bit;
+					}
+				}
+
+				writeByte(bits);
+			}
+
+			for (int i = 0; i < row.length; i++) {
+				Value value = row[i];
+
+				if (value != ValueNull.INSTANCE) {
+					writeValue(this.valueTypes[i], value);
+				}
+			}
+		}
+
+		private void writeValue(int valueType, Value value) {
+			switch (valueType) {
+			case Value.BOOLEAN:
+				writeByte(value.getBoolean() ? 1 : 0);
+				break;
+			case Value.TINYINT:
+				writeByte(value.getByte());
+				break;
+			case Value.SMALLINT:
+				writeShort(value.getShort());
+				break;
+			case Value.INTEGER:
+				writeInt(value.getInt());
+				break;
+			case Value.REAL:
+				writeInt(Float.floatToIntBits(value.getFloat()));
+				break;
+			case Value.BIGINT:
+				writeLong(value.getLong());
+				break;
+			case Value.DOUBLE:
+				writeLong(Double.doubleToLongBits(value.getDouble()));
+				break;
+			default:
+				if (isBinary(valueType)) {
+					byte[] b = value.getBytesNoCopy();
+					writeInt(b.length);
+					writeBytes(b);
+				} else {
+					writeString(value.getString());
+				}
+			}
+		}
+	}
+
+	private static final class Csv extends H2Export {
+
+		private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+		Csv(H2RowMetadata metadata, int chunkSize) {
+			super(metadata, chunkSize);
+		}
+
+		@Override
+		void writeHeader() {
+			for (int i = 0; i < this.valueTypes.length; i++) {
+				if (i > 0) {
+					writeByte(',');
+				}
+
+				writeField(this.metadata.getColumnMetadata(i).getName());
+			}
+
+			writeLineEnd();
+		}
+
+		@Override
+		void writeRow(Value[] row) {
+			for (int i = 0; i < row.length; i++) {
+				if (i > 0) {
+					writeByte(',');
+				}
+
+				Value value = row[i];
+
+				if (value == ValueNull.INSTANCE) {
+					continue;
+				}
+
+				if (isBinary(this.valueTypes[i])) {
+					writeHex(value.getBytesNoCopy());
+				} else {
+					writeField(value.getString());
+				}
+			}
+
+			writeLineEnd();
+		}
+
+		private void writeHex(byte[] b) {
+			if (b.length == 0) {
+				writeByte('"');
+				writeByte('"');
+				return;
+			}
+
+			for (byte value : b) {
+				writeByte(HEX[(value >> 4) & 0xf]);
+				writeByte(HEX[value & 0xf]);
+			}
+		}
+
+		private void writeField(String s) {
+			if (!s.isEmpty() && !requiresQuotes(s)) {
+				writeUtf8(s);
+				return;
+			}
+
+			writeByte('"');
+
+			int start = 0;
+
+			for (int i = s.indexOf('"'); i >= 0; i = s.indexOf('"', start)) {
+				writeUtf8(s, start, i + 1);
+				writeByte('"');
+				start = i + 1;
+			}
+
+			writeUtf8(s, start, s.length());
+			writeByte('"');
+		}
+
+		private void writeLineEnd() {
+			writeByte('\r');
+			writeByte('\n');
+		}
+
+		private static boolean requiresQuotes(String s) {
+			for (int i = 0; i < s.length(); i++) {
+				char c = s.charAt(i);
+
+				if (c == ',' || c == '"' || c == '\r' || c == '\n') {
+					return true;
+				}
+			}
+
+			return false;
+		}
+	}
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.evaggelos99.r2dbc.h2;
+
+/**
+ * The formats that {@link H2Result#export(H2ExportFormat)} encodes a result in.
+ */
+public enum H2ExportFormat {
+
+	/**
+	 * Comma-separated values as of RFC 4180, encoded in UTF-8 with {@code \r\n}
+	 * line endings. The first line holds the column names. Values are formatted
+	 * by H2's {@code Value.getString()}, binary values as hexadecimal digits.
+	 * Fields that contain a comma, a double quote or a line break are enclosed in
+	 * double quotes; SQL {@code NULL} is written as an empty field and an empty
+	 * value as {@code ""}.
+	 */
+	CSV,
+
+	/**
+	 * A compact binary row format. All numbers are big-endian.
+	 * <p>
+	 * The header holds the number of columns as a 4-byte integer, followed by
+	 * each column's H2 value type as a 4-byte integer and name as a string. A
+	 * string is written as its 4-byte UTF-8 length followed by the UTF-8 bytes.
+	 * <p>
+	 * Each row starts with a bitmap of {@code (columns + 7) / 8} bytes with one bit
+	 * per column, least significant bit first, set for SQL {@code NULL}. It is
+	 * followed by the non-null values in column order:
+	 * <ul>
+	 * <li>{@code BOOLEAN} and {@code TINYINT} as 1 byte</li>
+	 * <li>{@code SMALLINT} as 2 bytes</li>
+	 * <li>{@code INTEGER} and {@code REAL} as 4 bytes</li>
+	 * <li>{@code BIGINT} and {@code DOUBLE PRECISION} as 8 bytes</li>
+	 * <li>{@code BINARY}, {@code BINARY VARYING} and {@code BINARY LARGE OBJECT}
+	 * as their 4-byte length followed by the bytes</li>
+	 * <li>all other types as a string in the format of {@link #CSV}</li>
+	 * </ul>
+	 */
+	BINARY
+}
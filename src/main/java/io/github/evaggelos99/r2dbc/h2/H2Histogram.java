@@ -0,0 +1,180 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.evaggelos99.r2dbc.h2;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.github.evaggelos99.r2dbc.h2.util.Assert;
+
+/**
+ * A histogram of non-negative {@code long} values with a fixed memory
+ * footprint, e.g. durations in nanoseconds.
+ * <p>
+ * Values are counted in log-linear buckets: every power of two is split into
+ * {@value #SUB_BUCKET_COUNT} buckets of equal width, so a reported percentile
+ * is at most 12.5% above the recorded value. Values below
+ * {@value #SUB_BUCKET_COUNT} are counted exactly. Recording a value does not
+ * allocate and does not lock. Reading while values are recorded returns a view
+ * that may not include the most recent values.
+ */
+public final class H2Histogram {
+
+	private static final int SUB_BUCKET_BITS = 3;
+
+	private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+	private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+
+	private final LongAdder count = new LongAdder();
+
+	private final LongAdder sum = new LongAdder();
+
+	private final AtomicLong max = new AtomicLong();
+
+	/**
+	 * Records a value. Negative values are recorded as {@code 0}.
+	 *
+	 * @param value the value to record
+	 */
+	public void record(long value) {
+		long v = Math.max(0, value);
+
+		this.counts.incrementAndGet(bucketOf(v));
+		this.count.increment();
+		this.sum.add(v);
+
+		long current = this.max.get();
+
+		while (v > current && !this.max.compareAndSet(current, v)) {
+			current = this.max.get();
+		}
+	}
+
+	/**
+	 * Returns the number of recorded values.
+	 *
+	 * @return the number of recorded values
+	 */
+	public long getCount() {
+		return this.count.sum();
+	}
+
+	/**
+	 * Returns the largest recorded value.
+	 *
+	 * @return the largest recorded value, {@code 0} if no value was recorded
+	 */
+	public long getMax() {
+		return this.max.get();
+	}
+
+	/**
+	 * Returns the mean of the recorded values.
+	 *
+	 * @return the mean of the recorded values, {@code 0} if no value was recorded
+	 */
+	public double getMean() {
+		long count = this.count.sum();
+
+		return count == 0 ? 0 : (double) this.sum.sum() / count;
+	}
+
+	/**
+	 * Returns the value below which {@code percentile} percent of the recorded
+	 * values fall, rounded up to the upper bound of its bucket and capped at the
+	 * largest recorded value.
+	 *
+	 * @param percentile the percentile, between {@code 0} and {@code 100}
+	 * @return the value at {@code percentile}, {@code 0} if no value was recorded
+	 * @throws IllegalArgumentException if {@code percentile} is not between
+	 *                                  {@code 0} and {@code 100}
+	 */
+	public long getValueAtPercentile(double percentile) {
+		Assert.requireTrue(percentile >= 0 && percentile <= 100, "percentile must be between 0 and 100");
+
+		long total = 0;
+		long[] snapshot = new long[BUCKET_COUNT];
+
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			snapshot[i] = this.counts.get(i);
+			total += snapshot[i];
+		}
+
+		if (total == 0) {
+			return 0;
+		}
+
+		long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+		long seen = 0;
+
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			seen += snapshot[i];
+
+			if (seen >= rank) {
+				return Math.min(upperBoundOf(i), this.max.get());
+			}
+		}
+
+		return this.max.get();
+	}
+
+	/**
+	 * Removes all recorded values.
+	 */
+	public void reset() {
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			this.counts.set(i, 0);
+		}
+
+		this.count.reset();
+		this.sum.reset();
+		this.max.set(0);
+	}
+
+	@Override
+	public String toString() {
+		return "H2Histogram{" + "count=" + getCount() + ", mean=" + getMean() + ", p50=" + getValueAtPercentile(50)
+				+ ", p99=" + getValueAtPercentile(99) + ", max=" + getMax() + '}';
+	}
+
+	static int bucketOf(long value) {
+		if (value < SUB_BUCKET_COUNT) {
+			return (int) value;
+		}
+
+		int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+		int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+
+		return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT + subBucket;
+	}
+
+	static long upperBoundOf(int bucket) {
+		if (bucket < SUB_BUCKET_COUNT) {
+			return bucket;
+		}
+
+		int shift = bucket / SUB_BUCKET_COUNT - 1;
+		long lowerBound = (long) (SUB_BUCKET_COUNT + bucket % SUB_BUCKET_COUNT) << shift;
+
+		return lowerBound + (1L << shift) - 1;
+	}
+}
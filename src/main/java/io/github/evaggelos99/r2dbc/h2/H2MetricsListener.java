@@ -0,0 +1,111 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.evaggelos99.r2dbc.h2;
+
+/**
+ * Receives timings and counts of the work done by the connections of a
+ * connection factory, see
+ * {@link H2ConnectionConfiguration.Builder#metricsListener(H2MetricsListener)}.
+ * <p>
+ * Durations are passed in nanoseconds. Callbacks run on the thread that does
+ * the work, often the thread that runs the blocking H2 calls of a connection,
+ * so implementations must be thread-safe and should return quickly. All
+ * methods do nothing by default. {@link H2MetricsRecorder} records the values
+ * in histograms.
+ */
+public interface H2MetricsListener {
+
+	/**
+	 * A listener that ignores all callbacks. Connections do not count rows or
+	 * LOB chunks and do not time commands if this listener is configured.
+	 */
+	H2MetricsListener NONE = new H2MetricsListener() {
+	};
+
+	/**
+	 * Called once a new session was opened for a connection. Connections handed
+	 * out again by a connection pool are not reported.
+	 *
+	 * @param nanos the time it took to open the session
+	 */
+	default void onConnectionCreated(long nanos) {
+	}
+
+	/**
+	 * Called once a command was prepared and its parameters were bound, whether
+	 * it was parsed or taken from the command cache.
+	 *
+	 * @param nanos the time it took to prepare the command
+	 */
+	default void onPrepare(long nanos) {
+	}
+
+	/**
+	 * Called once H2 executed a command. For queries, this is the time until the
+	 * result is available, which for lazy results does not include reading its
+	 * rows.
+	 *
+	 * @param nanos the time it took to execute the command
+	 */
+	default void onExecute(long nanos) {
+	}
+
+	/**
+	 * Called when the first row of a query result is emitted.
+	 *
+	 * @param nanos the time from the start of the execution until the first row
+	 */
+	default void onFirstRow(long nanos) {
+	}
+
+	/**
+	 * Called once all rows of a query result were emitted. Results that fail or
+	 * get cancelled are not reported.
+	 *
+	 * @param nanos the time from the start of the execution until the last row
+	 * @param rows  the number of rows emitted
+	 */
+	default void onResultComplete(long nanos, long rows) {
+	}
+
+	/**
+	 * Called with the update count of a command that is not a query.
+	 *
+	 * @param updateCount the number of rows the command updated
+	 */
+	default void onUpdate(long updateCount) {
+	}
+
+	/**
+	 * Called for each chunk of a decoded {@link io.r2dbc.spi.Blob} or
+	 * {@link io.r2dbc.spi.Clob} that is streamed to a subscriber.
+	 *
+	 * @param length the number of bytes of a BLOB or characters of a CLOB
+	 */
+	default void onLobStreamed(long length) {
+	}
+
+	/**
+	 * Called when opening a session, executing a command or reading a result
+	 * fails.
+	 *
+	 * @param type the type of the exception the subscriber receives
+	 */
+	default void onError(Class<? extends Throwable> type) {
+	}
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.evaggelos99.r2dbc.h2;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link H2MetricsListener} that records timings in {@link H2Histogram}s and
+ * sums up counts. A single recorder can be shared by all connections of a
+ * connection factory.
+ */
+public final class H2MetricsRecorder implements H2MetricsListener {
+
+	private final H2Histogram connectionCreationTimes = new H2Histogram();
+
+	private final H2Histogram prepareTimes = new H2Histogram();
+
+	private final H2Histogram executeTimes = new H2Histogram();
+
+	private final H2Histogram firstRowTimes = new H2Histogram();
+
+	private final H2Histogram resultCompletionTimes = new H2Histogram();
+
+	private final LongAdder rows = new LongAdder();
+
+	private final LongAdder updateCount = new LongAdder();
+
+	private final LongAdder lobLength = new LongAdder();
+
+	private final ConcurrentMap<Class<? extends Throwable>, LongAdder> errors = new ConcurrentHashMap<>();
+
+	@Override
+	public void onConnectionCreated(long nanos) {
+		this.connectionCreationTimes.record(nanos);
+	}
+
+	@Override
+	public void onPrepare(long nanos) {
+		this.prepareTimes.record(nanos);
+	}
+
+	@Override
+	public void onExecute(long nanos) {
+		this.executeTimes.record(nanos);
+	}
+
+	@Override
+	public void onFirstRow(long nanos) {
+		this.firstRowTimes.record(nanos);
+	}
+
+	@Override
+	public void onResultComplete(long nanos, long rows) {
+		this.resultCompletionTimes.record(nanos);
+		this.rows.add(rows);
+	}
+
+	@Override
+	public void onUpdate(long updateCount) {
+		this.updateCount.add(updateCount);
+	}
+
+	@Override
+	public void onLobStreamed(long length) {
+		this.lobLength.add(length);
+	}
+
+	@Override
+	public void onError(Class<? extends Throwable> type) {
+		LongAdder counter = this.errors.get(type);
+
+		if (counter == null) {
+			counter = this.errors.computeIfAbsent(type, t -> new LongAdder());
+		}
+
+		counter.increment();
+	}
+
+	/**
+	 * Returns the times it took to open new sessions.
+	 *
+	 * @return the connection creation times in nanoseconds
+	 */
+	public H2Histogram getConnectionCreationTimes() {
+		return this.connectionCreationTimes;
+	}
+
+	/**
+	 * Returns the times it took to prepare commands.
+	 *
+	 * @return the prepare times in nanoseconds
+	 */
+	public H2Histogram getPrepareTimes() {
+		return this.prepareTimes;
+	}
+
+	/**
+	 * Returns the times it took to execute commands.
+	 *
+	 * @return the execution times in nanoseconds
+	 */
+	public H2Histogram getExecuteTimes() {
+		return this.executeTimes;
+	}
+
+	/**
+	 * Returns the times from the start of an execution until the first row of
+	 * its result.
+	 *
+	 * @return the times until the first row in nanoseconds
+	 */
+	public H2Histogram getFirstRowTimes() {
+		return this.firstRowTimes;
+	}
+
+	/**
+	 * Returns the times from the start of an execution until the last row of its
+	 * result.
+	 *
+	 * @return the times until the last row in nanoseconds
+	 */
+	public H2Histogram getResultCompletionTimes() {
+		return this.resultCompletionTimes;
+	}
+
+	/**
+	 * Returns the number of rows emitted by completed results.
+	 *
+	 * @return the number of rows
+	 */
+	public long getRowCount() {
+		return this.rows.sum();
+	}
+
+	/**
+	 * Returns the sum of the update counts of all commands.
+	 *
+	 * @return the number of updated rows
+	 */
+	public long getUpdateCount() {
+		return this.updateCount.sum();
+	}
+
+	/**
+	 * Returns the number of bytes and characters streamed from decoded LOBs.
+	 *
+	 * @return the streamed LOB length
+	 */
+	public long getLobLength() {
+		return this.lobLength.sum();
+	}
+
+	/**
+	 * Returns the number of errors per exception type.
+	 *
+	 * @return an unmodifiable snapshot of the error counts
+	 */
+	public Map<Class<? extends Throwable>, Long> getErrorCounts() {
+		Map<Class<? extends Throwable>, Long> counts = new LinkedHashMap<>();
+		this.errors.forEach((type, counter) -> counts.put(type, counter.sum()));
+
+		return Collections.unmodifiableMap(counts);
+	}
+
+	@Override
+	public String toString() {
+		return "H2MetricsRecorder{" + "connectionCreationTimes=" + this.connectionCreationTimes + ", prepareTimes="
+				+ this.prepareTimes + ", executeTimes=" + this.executeTimes + ", firstRowTimes=" + this.firstRowTimes
+				+ ", resultCompletionTimes=" + this.resultCompletionTimes + ", rows=" + this.rows + ", updateCount="
+				+ this.updateCount + ", lobLength=" + this.lobLength + ", errors=" + getErrorCounts() + '}';
+	}
+}
@@ -27,9 +27,13 @@ import org.h2.value.Value;
 import org.reactivestreams.Publisher;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 import reactor.util.annotation.Nullable;
 
+import java.nio.ByteBuffer;
 import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -44,13 +48,26 @@ public final class H2Result implements Result {
 
 	private final Flux<H2Row> rows;
 
+	@Nullable
+	private final Codecs codecs;
+
+	@Nullable
+	private final Flux<Value[]> values;
+
 	private final Mono<Long> rowsUpdated;
 
 	private final Flux<? extends Segment> segments;
 
 	H2Result(H2RowMetadata rowMetadata, Flux<H2Row> rows, Mono<Long> rowsUpdated, Flux<? extends Segment> segments) {
+		this(rowMetadata, rows, null, null, rowsUpdated, segments);
+	}
+
+	private H2Result(H2RowMetadata rowMetadata, Flux<H2Row> rows, @Nullable Codecs codecs,
+			@Nullable Flux<Value[]> values, Mono<Long> rowsUpdated, Flux<? extends Segment> segments) {
 		this.rowMetadata = rowMetadata;
 		this.rows = Assert.requireNonNull(rows, "rows must not be null");
+		this.codecs = codecs;
+		this.values = values;
 		this.rowsUpdated = Assert.requireNonNull(rowsUpdated, "rowsUpdated must not be null");
 		this.segments = Assert.requireNonNull(segments, "segments must not be null");
 	}
@@ -58,10 +75,77 @@ public final class H2Result implements Result {
 	private H2Result(Mono<Long> rowsUpdated, Flux<Segment> segments) {
 		this.rowMetadata = null;
 		this.rows = Flux.empty();
+		this.codecs = null;
+		this.values = null;
 		this.rowsUpdated = Assert.requireNonNull(rowsUpdated, "rowsUpdated must not be null");
 		this.segments = Assert.requireNonNull(segments, "segments must not be null");
 	}
 
+	/**
+	 * Collects the rows of this result into column vectors, see
+	 * {@link H2Columns}. The rows are read straight from the H2 result without
+	 * creating an {@link H2Row} per row. Like {@link #map(BiFunction)}, this
+	 * consumes the rows of this result.
+	 *
+	 * @return a {@link Mono} emitting the collected columns, or an empty
+	 *         {@link Mono} if this result has no rows, e.g. an update count
+	 */
+	public Mono<H2Columns> collectColumns() {
+		if (this.rowMetadata == null) {
+			return Mono.empty();
+		}
+
+		if (this.values == null || this.codecs == null) {
+			return Mono.error(new IllegalStateException("Result does not support collecting columns"));
+		}
+
+		Codecs codecs = this.codecs;
+		H2RowMetadata rowMetadata = this.rowMetadata;
+
+		return this.values.reduceWith(() -> new H2Columns.Builder(codecs, rowMetadata), H2Columns.Builder::add)
+				.map(H2Columns.Builder::build);
+	}
+
+	/**
+	 * Encodes the rows of this result in {@code format}, see
+	 * {@link H2ExportFormat}. The rows are encoded straight from the H2 result
+	 * without creating an {@link H2Row} per row and emitted in chunks of about
+	 * 8 KiB. Rows are read as the subscriber requests chunks. Like
+	 * {@link #map(BiFunction)}, this consumes the rows of this result.
+	 *
+	 * @param format the format to encode the rows in
+	 * @return a {@link Flux} emitting the encoded rows, or an empty {@link Flux}
+	 *         if this result has no rows, e.g. an update count
+	 * @throws IllegalArgumentException if {@code format} is {@code null}
+	 */
+	public Flux<ByteBuffer> export(H2ExportFormat format) {
+		Assert.requireNonNull(format, "format must not be null");
+
+		if (this.rowMetadata == null) {
+			return Flux.empty();
+		}
+
+		if (this.values == null) {
+			return Flux.error(new IllegalStateException("Result does not support exporting"));
+		}
+
+		H2RowMetadata rowMetadata = this.rowMetadata;
+		Flux<Value[]> values = this.values;
+
+		return Flux.defer(() -> {
+			H2Export export = H2Export.create(format, rowMetadata, H2Export.DEFAULT_CHUNK_SIZE);
+
+			return values.<ByteBuffer>handle((row, sink) -> {
+				ByteBuffer chunk = export.write(row);
+
+				if (chunk != null) {
+					sink.next(chunk);
+				}
+			}).concatWith(Mono.fromSupplier(export::flush))
+					.onErrorMap(DbException.class, H2DatabaseExceptionFactory::convert);
+		});
+	}
+
 	@Override
 	public Mono<Long> getRowsUpdated() {
 		return this.rowsUpdated;
@@ -73,7 +157,7 @@ public final class H2Result implements Result {
 
 		Flux<? extends Segment> filteredSegments = this.segments.filter(filter::test);
 
-		return new H2Result(this.rowMetadata, this.rows, this.rowsUpdated, filteredSegments);
+		return new H2Result(this.rowMetadata, this.rows, this.codecs, this.values, this.rowsUpdated, filteredSegments);
 	}
 
 	@Override
@@ -115,8 +199,28 @@ public final class H2Result implements Result {
 	}
 
 	static H2Result toResult(Codecs codecs, ResultInterface result, @Nullable Long rowsUpdated) {
+		return toResult(codecs, result, rowsUpdated, Schedulers.immediate(), null, null, H2MetricsListener.NONE, 0);
+	}
+
+	/**
+	 * Creates a {@link H2Result} whose rows are read from {@code result} on
+	 * {@code scheduler}. Remote results fetch further rows from the server while
+	 * being read, so the subscriber's demand drives the paging.
+	 * <p>
+	 * The result is closed and {@code onClose} runs once the rows are consumed,
+	 * fail or get cancelled. Lazy results use this to release their command only
+	 * after the engine's cursor is closed. A lazy result computes each row through
+	 * {@code command}, which a cancellation aborts if it is busy with the next row
+	 * on {@code scheduler}. The time until the first and last row, measured from
+	 * {@code startNanos}, and errors are reported to {@code metricsListener}.
+	 */
+	static H2Result toResult(Codecs codecs, ResultInterface result, @Nullable Long rowsUpdated, Scheduler scheduler,
+			@Nullable Runnable onClose, @Nullable RunningCommand command, H2MetricsListener metricsListener,
+			long startNanos) {
 		Assert.requireNonNull(codecs, "codecs must not be null");
 		Assert.requireNonNull(result, "result must not be null");
+		Assert.requireNonNull(scheduler, "scheduler must not be null");
+		Assert.requireNonNull(metricsListener, "metricsListener must not be null");
 
 		H2RowMetadata rowMetadata = H2RowMetadata.toRowMetadata(codecs, result);
 
@@ -124,7 +228,21 @@ public final class H2Result implements Result {
 
 			@Override
 			public boolean hasNext() {
-				boolean b = result.hasNext();
+				// a lazy result computes its next row here, the only time a cancellation
+				// needs to reach the engine
+				boolean b;
+
+				if (command == null) {
+					b = result.hasNext();
+				} else {
+					command.enter();
+
+					try {
+						b = result.hasNext();
+					} finally {
+						command.exit();
+					}
+				}
 
 				if (!b) {
 					result.close();
@@ -140,9 +258,42 @@ public final class H2Result implements Result {
 			}
 		};
 
-		Flux<H2Row> rows = Flux.fromIterable(iterable).map(values -> H2Row.toRow(values, result, codecs, rowMetadata))
-				.onErrorMap(DbException.class, H2DatabaseExceptionFactory::convert);
+		AtomicBoolean closed = new AtomicBoolean();
+
+		Flux<Value[]> values = Flux.fromIterable(iterable)
+				.onErrorMap(DbException.class, H2DatabaseExceptionFactory::convert).doFinally(signal -> {
+					if (closed.compareAndSet(false, true)) {
+						result.close();
+
+						if (onClose != null) {
+							onClose.run();
+						}
+					}
+				}).subscribeOn(scheduler).cancelOn(scheduler);
+
+		if (command != null) {
+			values = values.doOnCancel(command::cancel);
+		}
+
+		if (metricsListener != H2MetricsListener.NONE) {
+			values = measure(values, metricsListener, startNanos);
+		}
+
+		Flux<H2Row> rows = values.map(it -> H2Row.toRow(it, result, codecs, rowMetadata));
 
-		return new H2Result(rowMetadata, rows, Mono.justOrEmpty(rowsUpdated), rows);
+		return new H2Result(rowMetadata, rows, codecs, values, Mono.justOrEmpty(rowsUpdated), rows);
+	}
+
+	private static Flux<Value[]> measure(Flux<Value[]> values, H2MetricsListener metricsListener, long startNanos) {
+		return Flux.defer(() -> {
+			long[] rowCount = new long[1];
+
+			return values.doOnNext(row -> {
+				if (rowCount[0]++ == 0) {
+					metricsListener.onFirstRow(System.nanoTime() - startNanos);
+				}
+			}).doOnComplete(() -> metricsListener.onResultComplete(System.nanoTime() - startNanos, rowCount[0]))
+					.doOnError(e -> metricsListener.onError(e.getClass()));
+		});
 	}
 }
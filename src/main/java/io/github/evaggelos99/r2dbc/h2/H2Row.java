@@ -20,31 +20,42 @@ import io.github.evaggelos99.r2dbc.h2.codecs.Codecs;
 import io.github.evaggelos99.r2dbc.h2.util.Assert;
 import io.r2dbc.spi.Result;
 import io.r2dbc.spi.Row;
+import org.h2.message.DbException;
 import org.h2.result.ResultInterface;
-import org.h2.value.TypeInfo;
 import org.h2.value.Value;
+import org.h2.value.ValueNull;
 import reactor.util.annotation.Nullable;
 
-import java.util.*;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Objects;
 
 /**
  * An implementation of {@link Row} for an H2 database.
+ * <p>
+ * A row is a view over the {@link Value}s of the current result row. Column
+ * names and value types are resolved through the {@link H2RowMetadata} that is
+ * shared by all rows of a result.
+ * <p>
+ * Besides the {@link Row} accessors, numeric and boolean columns can be read as
+ * primitives with {@link #getInt(int)}, {@link #getLong(int)},
+ * {@link #getDouble(int)} and {@link #getBoolean(int)}. These read the H2
+ * {@link Value} directly, bypassing codec dispatch and boxing. Like JDBC, they
+ * return {@code 0} or {@code false} for SQL {@code NULL}; use
+ * {@link #isNull(int)} to tell the two apart.
  */
 public final class H2Row implements Row, Result.RowSegment {
 
 	private final Codecs codecs;
 
-	private final List<Column> columns;
+	private final Value[] values;
 
 	private final H2RowMetadata metadata;
 
-	private final Map<String, Column> nameKeyedColumns;
-
-	H2Row(List<Column> columns, Codecs codecs, H2RowMetadata metadata) {
-		this.columns = Assert.requireNonNull(columns, "columns must not be null");
+	H2Row(Value[] values, Codecs codecs, H2RowMetadata metadata) {
+		this.values = Assert.requireNonNull(values, "values must not be null");
 		this.codecs = Assert.requireNonNull(codecs, "codecs must not be null");
 		this.metadata = Assert.requireNonNull(metadata, "metadata must not be null");
-		this.nameKeyedColumns = getNameKeyedColumns(this.columns);
 	}
 
 	@Override
@@ -56,20 +67,140 @@ public final class H2Row implements Row, Result.RowSegment {
 			return false;
 		}
 		H2Row that = (H2Row) o;
-		return Objects.equals(this.columns, that.columns);
+		return Arrays.equals(this.values, that.values) && Objects.equals(this.metadata, that.metadata);
 	}
 
 	@Override
 	public <T> T get(int index, Class<T> type) {
-		Column column = getColumn(index);
-		return this.codecs.decode(column.getValue(), column.getTypeInfo().getValueType(), type);
+		checkIndex(index);
+		return this.codecs.decode(this.values[index], this.metadata.getValueType(index), type);
 	}
 
 	@Override
 	@Nullable
 	public <T> T get(String name, Class<T> type) {
-		Column column = getColumn(name);
-		return this.codecs.decode(column.getValue(), column.getTypeInfo().getValueType(), type);
+		int index = getIndex(name);
+		return this.codecs.decode(this.values[index], this.metadata.getValueType(index), type);
+	}
+
+	/**
+	 * Returns the value of the column at {@code index} as a {@code boolean}.
+	 *
+	 * @param index the index of the column starting at {@code 0}
+	 * @return the value, or {@code false} if the value is SQL {@code NULL}
+	 * @throws IndexOutOfBoundsException if {@code index} is out of range
+	 * @throws io.r2dbc.spi.R2dbcException if the value cannot be converted
+	 */
+	public boolean getBoolean(int index) {
+		Value value = getValue(index);
+
+		try {
+			return value != ValueNull.INSTANCE && value.getBoolean();
+		} catch (DbException e) {
+			throw H2DatabaseExceptionFactory.convert(e);
+		}
+	}
+
+	/**
+	 * Returns the value of the column named {@code name} as a {@code boolean}.
+	 *
+	 * @param name the name of the column
+	 * @return the value, or {@code false} if the value is SQL {@code NULL}
+	 * @throws NoSuchElementException if there is no column named {@code name}
+	 * @throws io.r2dbc.spi.R2dbcException if the value cannot be converted
+	 */
+	public boolean getBoolean(String name) {
+		return getBoolean(getIndex(name));
+	}
+
+	/**
+	 * Returns the value of the column at {@code index} as a {@code double}.
+	 *
+	 * @param index the index of the column starting at {@code 0}
+	 * @return the value, or {@code 0} if the value is SQL {@code NULL}
+	 * @throws IndexOutOfBoundsException if {@code index} is out of range
+	 * @throws io.r2dbc.spi.R2dbcException if the value cannot be converted
+	 */
+	public double getDouble(int index) {
+		Value value = getValue(index);
+
+		try {
+			return value == ValueNull.INSTANCE ? 0 : value.getDouble();
+		} catch (DbException e) {
+			throw H2DatabaseExceptionFactory.convert(e);
+		}
+	}
+
+	/**
+	 * Returns the value of the column named {@code name} as a {@code double}.
+	 *
+	 * @param name the name of the column
+	 * @return the value, or {@code 0} if the value is SQL {@code NULL}
+	 * @throws NoSuchElementException if there is no column named {@code name}
+	 * @throws io.r2dbc.spi.R2dbcException if the value cannot be converted
+	 */
+	public double getDouble(String name) {
+		return getDouble(getIndex(name));
+	}
+
+	/**
+	 * Returns the value of the column at {@code index} as an {@code int}.
+	 *
+	 * @param index the index of the column starting at {@code 0}
+	 * @return the value, or {@code 0} if the value is SQL {@code NULL}
+	 * @throws IndexOutOfBoundsException if {@code index} is out of range
+	 * @throws io.r2dbc.spi.R2dbcException if the value cannot be converted
+	 */
+	public int getInt(int index) {
+		Value value = getValue(index);
+
+		try {
+			return value == ValueNull.INSTANCE ? 0 : value.getInt();
+		} catch (DbException e) {
+			throw H2DatabaseExceptionFactory.convert(e);
+		}
+	}
+
+	/**
+	 * Returns the value of the column named {@code name} as an {@code int}.
+	 *
+	 * @param name the name of the column
+	 * @return the value, or {@code 0} if the value is SQL {@code NULL}
+	 * @throws NoSuchElementException if there is no column named {@code name}
+	 * @throws io.r2dbc.spi.R2dbcException if the value cannot be converted
+	 */
+	public int getInt(String name) {
+		return getInt(getIndex(name));
+	}
+
+	/**
+	 * Returns the value of the column at {@code index} as a {@code long}.
+	 *
+	 * @param index the index of the column starting at {@code 0}
+	 * @return the value, or {@code 0} if the value is SQL {@code NULL}
+	 * @throws IndexOutOfBoundsException if {@code index} is out of range
+	 * @throws io.r2dbc.spi.R2dbcException if the value cannot be converted
+	 */
+	public long getLong(int index) {
+		Value value = getValue(index);
+
+		try {
+			return value == ValueNull.INSTANCE ? 0 : value.getLong();
+		} catch (DbException e) {
+			throw H2DatabaseExceptionFactory.convert(e);
+		}
+	}
+
+	/**
+	 * Returns the value of the column named {@code name} as a {@code long}.
+	 *
+	 * @param name the name of the column
+	 * @return the value, or {@code 0} if the value is SQL {@code NULL}
+	 * @throws NoSuchElementException if there is no column named {@code name}
+	 * @throws io.r2dbc.spi.R2dbcException if the value cannot be converted
+	 */
+	public long getLong(String name) {
+		return getLong(getIndex(name));
 	}
 
 	/**
@@ -84,7 +215,31 @@ public final class H2Row implements Row, Result.RowSegment {
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(this.columns);
+		return Arrays.hashCode(this.values);
+	}
+
+	/**
+	 * Returns whether the value of the column at {@code index} is SQL
+	 * {@code NULL}.
+	 *
+	 * @param index the index of the column starting at {@code 0}
+	 * @return {@code true} if the value is SQL {@code NULL}
+	 * @throws IndexOutOfBoundsException if {@code index} is out of range
+	 */
+	public boolean isNull(int index) {
+		return getValue(index) == ValueNull.INSTANCE;
+	}
+
+	/**
+	 * Returns whether the value of the column named {@code name} is SQL
+	 * {@code NULL}.
+	 *
+	 * @param name the name of the column
+	 * @return {@code true} if the value is SQL {@code NULL}
+	 * @throws NoSuchElementException if there is no column named {@code name}
+	 */
+	public boolean isNull(String name) {
+		return isNull(getIndex(name));
 	}
 
 	@Override
@@ -94,7 +249,8 @@ public final class H2Row implements Row, Result.RowSegment {
 
 	@Override
 	public String toString() {
-		return "H2Row{" + "columns=" + this.columns + ", nameKeyedColumns=" + this.nameKeyedColumns + '}';
+		return "H2Row{" + "values=" + Arrays.toString(this.values) + ", columnNames="
+				+ this.metadata.getColumnIndexNames() + '}';
 	}
 
 	static H2Row toRow(Value[] values, ResultInterface result, Codecs codecs, H2RowMetadata metadata) {
@@ -102,101 +258,30 @@ public final class H2Row implements Row, Result.RowSegment {
 		Assert.requireNonNull(result, "result must not be null");
 		Assert.requireNonNull(codecs, "codecs must not null");
 
-		List<Column> columns = getColumns(values, result);
-
-		return new H2Row(columns, codecs, metadata);
+		return new H2Row(values, codecs, metadata);
 	}
 
-	private static List<Column> getColumns(Value[] values, ResultInterface result) {
-		List<Column> columns = new ArrayList<>(values.length);
-
-		for (int i = 0; i < values.length; i++) {
-			columns.add(new Column(result.getColumnType(i), result.getAlias(i).toUpperCase(), values[i]));
-		}
-
-		return columns;
-	}
-
-	private Column getColumn(String name) {
+	private int getIndex(String name) {
 		Assert.requireNonNull(name, "name must not be null");
-		String normalized = name.toUpperCase();
+		int index = this.metadata.getColumnIndex(name);
 
-		if (!this.nameKeyedColumns.containsKey(normalized)) {
+		if (index < 0) {
 			throw new NoSuchElementException(String.format("Column name '%s' does not exist in column names %s",
-					normalized, this.nameKeyedColumns.keySet()));
+					name.toUpperCase(), this.metadata.getColumnIndexNames()));
 		}
 
-		return this.nameKeyedColumns.get(normalized);
+		return index;
 	}
 
-	private Column getColumn(int index) {
-		if (index >= this.columns.size()) {
-			throw new IndexOutOfBoundsException(String.format("Column index %d is larger than the number of columns %d",
-					index, this.columns.size()));
-		}
-
-		return this.columns.get(index);
+	private Value getValue(int index) {
+		checkIndex(index);
+		return this.values[index];
 	}
 
-	private Map<String, Column> getNameKeyedColumns(List<Column> columns) {
-		Map<String, Column> nameKeyedColumns = new HashMap<>(columns.size());
-
-		for (Column column : columns) {
-			nameKeyedColumns.putIfAbsent(column.getName(), column);
-		}
-
-		return nameKeyedColumns;
-	}
-
-	static final class Column {
-
-		private final TypeInfo typeInfo;
-
-		private final String name;
-
-		private final Value value;
-
-		Column(TypeInfo typeInfo, String name, Value value) {
-			this.typeInfo = Assert.requireNonNull(typeInfo, "dataType must not be null");
-			this.name = Assert.requireNonNull(name, "name must not be null");
-			this.value = value;
-		}
-
-		@Override
-		public boolean equals(Object o) {
-			if (this == o) {
-				return true;
-			}
-			if (!(o instanceof Column)) {
-				return false;
-			}
-			Column that = (Column) o;
-			return Objects.equals(this.typeInfo, that.typeInfo) && Objects.equals(this.name, that.name)
-					&& Objects.equals(this.value, that.value);
-		}
-
-		@Override
-		public int hashCode() {
-			return Objects.hash(this.typeInfo, this.name, this.value);
-		}
-
-		@Override
-		public String toString() {
-			return "Column{" + "typeInfo=" + this.typeInfo + ", name='" + this.name + '\'' + ", value=" + this.value
-					+ '}';
-		}
-
-		private TypeInfo getTypeInfo() {
-			return this.typeInfo;
-		}
-
-		private String getName() {
-			return this.name;
-		}
-
-		private Value getValue() {
-			return this.value;
+	private void checkIndex(int index) {
+		if (index >= this.values.length) {
+			throw new IndexOutOfBoundsException(String.format("Column index %d is larger than the number of columns %d",
+					index, this.values.length));
 		}
-
 	}
 }
@@ -19,8 +19,10 @@ package io.github.evaggelos99.r2dbc.h2;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 import org.h2.result.ResultInterface;
 
@@ -34,8 +36,22 @@ import io.r2dbc.spi.RowMetadata;
  */
 public class H2RowMetadata extends ColumnSource implements RowMetadata, Collection<String> {
 
+	private final int[] valueTypes;
+
+	private final Map<String, Integer> columnIndexes;
+
 	H2RowMetadata(final List<H2ColumnMetadata> columnMetadatas) {
 		super(Assert.requireNonNull(columnMetadatas, "columnMetadatas must not be null"));
+
+		this.valueTypes = new int[columnMetadatas.size()];
+		this.columnIndexes = new HashMap<>(Math.max(16, columnMetadatas.size() * 2));
+
+		for (int i = 0; i < columnMetadatas.size(); i++) {
+			final H2ColumnMetadata columnMetadata = columnMetadatas.get(i);
+
+			this.valueTypes[i] = columnMetadata.getType().getTypeInfo().getValueType();
+			this.columnIndexes.putIfAbsent(columnMetadata.getName().toUpperCase(), i);
+		}
 	}
 
 	@Override
@@ -53,6 +69,38 @@ public class H2RowMetadata extends ColumnSource implements RowMetadata, Collecti
 		return Collections.unmodifiableList(super.getColumnMetadatas());
 	}
 
+	/**
+	 * Lookup the index of the first column named {@code name}, ignoring case. The
+	 * index is computed once per result and shared by all of its {@link H2Row}s.
+	 *
+	 * @param name the column name
+	 * @return the zero-based column index or {@code -1} if there is no such column
+	 */
+	int getColumnIndex(final String name) {
+		final Integer index = this.columnIndexes.get(name.toUpperCase());
+
+		return index == null ? -1 : index;
+	}
+
+	/**
+	 * Returns the upper-cased names that {@link #getColumnIndex(String)} resolves.
+	 *
+	 * @return the upper-cased column names
+	 */
+	Collection<String> getColumnIndexNames() {
+		return this.columnIndexes.keySet();
+	}
+
+	/**
+	 * Returns the H2 value type of the column at {@code index}.
+	 *
+	 * @param index the zero-based column index
+	 * @return the H2 value type
+	 */
+	int getValueType(final int index) {
+		return this.valueTypes[index];
+	}
+
 	static H2RowMetadata toRowMetadata(final Codecs codecs, final ResultInterface result) {
 		Assert.requireNonNull(codecs, "codecs must not be null");
 		Assert.requireNonNull(result, "result must not be null");
@@ -17,10 +17,15 @@
 package io.github.evaggelos99.r2dbc.h2;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import org.h2.command.CommandInterface;
 import org.h2.engine.GeneratedKeysMode;
 import org.h2.message.DbException;
 import org.h2.result.ResultInterface;
@@ -28,10 +33,13 @@ import org.h2.result.ResultWithGeneratedKeys;
 
 import io.github.evaggelos99.r2dbc.h2.client.Binding;
 import io.github.evaggelos99.r2dbc.h2.client.Client;
+import io.github.evaggelos99.r2dbc.h2.client.TemporaryLobs;
 import io.github.evaggelos99.r2dbc.h2.codecs.Codecs;
 import io.github.evaggelos99.r2dbc.h2.util.Assert;
 import io.r2dbc.spi.Statement;
 import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 import reactor.util.annotation.Nullable;
 
 /**
@@ -45,22 +53,44 @@ public final class H2Statement implements Statement {
 	// the value of the binding will be on the second group
 	private static final int BIND_POSITION_NUMBER_GROUP = 2;
 
+	private static final int NO_INDEX = Integer.MIN_VALUE;
+
 	private final Bindings bindings = new Bindings();
 
 	private final Client client;
 
 	private final Codecs codecs;
 
+	private final Scheduler scheduler;
+
+	private final H2MetricsListener metricsListener;
+
 	private final String sql;
 
 	private String[] generatedColumns;
 
+	private int fetchSize;
+
+	// identifiers that are not plain $n or ?n, resolved once through PARAMETER_SYMBOLS
+	private Map<String, Integer> bindMarkers;
+
 	private boolean allGeneratedColumns = false;
 
 	H2Statement(final Client client, final Codecs codecs, final String sql) {
+		this(client, codecs, sql, Schedulers.immediate());
+	}
+
+	H2Statement(final Client client, final Codecs codecs, final String sql, final Scheduler scheduler) {
+		this(client, codecs, sql, scheduler, H2MetricsListener.NONE);
+	}
+
+	H2Statement(final Client client, final Codecs codecs, final String sql, final Scheduler scheduler,
+			final H2MetricsListener metricsListener) {
 		this.client = Assert.requireNonNull(client, "client must not be null");
 		this.codecs = Assert.requireNonNull(codecs, "codecs must not be null");
 		this.sql = Assert.requireNonNull(sql, "sql must not be null");
+		this.scheduler = Assert.requireNonNull(scheduler, "scheduler must not be null");
+		this.metricsListener = Assert.requireNonNull(metricsListener, "metricsListener must not be null");
 	}
 
 	@Override
@@ -102,12 +132,37 @@ public final class H2Statement implements Statement {
 	public Flux<H2Result> execute() {
 		Assert.requireTrue(!this.bindings.open, "No unfinished bindings!");
 
-		return Flux.fromArray(this.sql.split(";")).flatMap(sql -> {
-			if (this.generatedColumns == null) {
-				return execute(this.client, sql.trim(), this.bindings, this.codecs, this.allGeneratedColumns);
-			}
-			return execute(this.client, sql.trim(), this.bindings, this.codecs, this.generatedColumns);
-		});
+		return Flux.defer(() -> {
+			final TemporaryLobRelease lobRelease = new TemporaryLobRelease(this.client.getTemporaryLobs(),
+					this.bindings.bindings);
+
+			return Flux.fromIterable(StatementSplitter.split(this.sql)).flatMap(sql -> {
+				if (this.generatedColumns == null) {
+					return execute(this.client, sql, this.bindings, this.codecs, this.allGeneratedColumns,
+							this.fetchSize, this.scheduler, this.metricsListener, lobRelease);
+				}
+				return execute(this.client, sql, this.bindings, this.codecs, this.generatedColumns, this.fetchSize,
+						this.scheduler, this.metricsListener, lobRelease);
+			}).doFinally(signal -> lobRelease.release());
+		}).subscribeOn(this.scheduler);
+	}
+
+	/**
+	 * Configure the number of rows fetched per round trip for remote databases,
+	 * including the first page that is transferred with the execution. Further
+	 * rows are fetched as the subscriber requests them. Embedded databases ignore
+	 * the fetch size.
+	 *
+	 * @param rows the number of rows to fetch, {@code 0} to use H2's default
+	 * @return this {@link H2Statement}
+	 * @throws IllegalArgumentException if {@code rows} is negative
+	 */
+	@Override
+	public H2Statement fetchSize(final int rows) {
+		Assert.requireTrue(rows >= 0, "Fetch size must be greater or equal zero");
+
+		this.fetchSize = rows;
+		return this;
 	}
 
 	@Override
@@ -137,31 +192,109 @@ public final class H2Statement implements Statement {
 	}
 
 	private static Flux<H2Result> execute(final Client client, final String sql, final Bindings bindings,
-			final Codecs codecs, final Object generatedColumns) {
-		return Flux.fromIterable(() -> client.prepareCommand(sql, bindings.bindings)).map(command -> {
-
-			try {
-				if (command.isQuery()) {
-					final ResultInterface result = client.query(command);
-					CommandUtil.clearForReuse(command);
-					return H2Result.toResult(codecs, result, null);
-				} else {
-
-					final ResultWithGeneratedKeys result = client.update(command, generatedColumns);
-					CommandUtil.clearForReuse(command);
-					if (GeneratedKeysMode.valueOf(generatedColumns) == GeneratedKeysMode.NONE) {
-						return H2Result.toResult(codecs, result.getUpdateCount());
+			final Codecs codecs, final Object generatedColumns, final int fetchSize, final Scheduler scheduler,
+			final H2MetricsListener metricsListener, final TemporaryLobRelease lobRelease) {
+		return Flux.defer(() -> {
+			// the command that is executing, to abort it if the subscriber cancels
+			final AtomicReference<RunningCommand> running = new AtomicReference<>();
+
+			final Iterable<CommandInterface> commands = () -> CommandUtil.prepare(client, sql, bindings.bindings,
+					fetchSize, metricsListener);
+
+			return Flux.fromIterable(commands).map(command -> {
+				final RunningCommand runningCommand = new RunningCommand(client, command);
+
+				try {
+					running.set(runningCommand);
+					runningCommand.enter();
+
+					if (command.isQuery()) {
+						final long start = System.nanoTime();
+						final ResultInterface result = CommandUtil.query(client, command, metricsListener);
+
+						if (result.isLazy()) {
+							// a lazy result reads through the command and its parameters, so release both only
+							// once the result is closed
+							lobRelease.retain();
+							return H2Result.toResult(codecs, result, null, scheduler, () -> {
+								CommandUtil.clearForReuse(command);
+								lobRelease.release();
+							}, runningCommand, metricsListener, start);
+						}
+
+						CommandUtil.clearForReuse(command);
+						return H2Result.toResult(codecs, result, null, scheduler, null, null, metricsListener, start);
 					} else {
-						return H2Result.toResult(codecs, result.getGeneratedKeys(), result.getUpdateCount());
+
+						final ResultWithGeneratedKeys result = CommandUtil.update(client, command, generatedColumns,
+								metricsListener);
+						CommandUtil.clearForReuse(command);
+						if (GeneratedKeysMode.valueOf(generatedColumns) == GeneratedKeysMode.NONE) {
+							return H2Result.toResult(codecs, result.getUpdateCount());
+						} else {
+							return H2Result.toResult(codecs, result.getGeneratedKeys(), result.getUpdateCount());
+						}
 					}
+				} catch (final DbException e) {
+					throw H2DatabaseExceptionFactory.convert(e);
+				} finally {
+					runningCommand.exit();
+					running.set(null);
 				}
-			} catch (final DbException e) {
-				throw H2DatabaseExceptionFactory.convert(e);
-			}
+			}).doOnCancel(() -> {
+				final RunningCommand runningCommand = running.get();
+
+				if (runningCommand != null) {
+					runningCommand.cancel();
+				}
+			}).doOnError(e -> metricsListener.onError(e.getClass()));
 		});
 	}
 
 	private int getIndex(final String identifier) {
+		final int index = getCanonicalIndex(identifier);
+
+		if (index != NO_INDEX) {
+			return index;
+		}
+
+		if (this.bindMarkers == null) {
+			this.bindMarkers = new HashMap<>();
+		}
+
+		return this.bindMarkers.computeIfAbsent(identifier, H2Statement::matchIndex);
+	}
+
+	// fast path for $n and ?n, at most 9 digits so the position can't overflow
+	private static int getCanonicalIndex(final String identifier) {
+		final int length = identifier.length();
+
+		if (length < 2 || length > 10) {
+			return NO_INDEX;
+		}
+
+		final char symbol = identifier.charAt(0);
+
+		if (symbol != '$' && symbol != '?') {
+			return NO_INDEX;
+		}
+
+		int position = 0;
+
+		for (int i = 1; i < length; i++) {
+			final char digit = identifier.charAt(i);
+
+			if (digit < '0' || digit > '9') {
+				return NO_INDEX;
+			}
+
+			position = position * 10 + (digit - '0');
+		}
+
+		return position - 1;
+	}
+
+	private static int matchIndex(final String identifier) {
 		final Matcher matcher = PARAMETER_SYMBOLS.matcher(identifier);
 
 		if (!matcher.find()) {
@@ -173,6 +306,39 @@ public final class H2Statement implements Statement {
 		return Integer.parseInt(matcher.group(BIND_POSITION_NUMBER_GROUP)) - 1;
 	}
 
+	/**
+	 * Releases the temporary LOBs bound to a statement once its execution
+	 * terminated and all of its lazy results are closed. Materialized results hold
+	 * copies of LOB parameters and don't delay the release.
+	 */
+	private static final class TemporaryLobRelease {
+
+		private final TemporaryLobs temporaryLobs;
+
+		private final List<Binding> bindings;
+
+		private final AtomicInteger references = new AtomicInteger(1);
+
+		private TemporaryLobRelease(final TemporaryLobs temporaryLobs, final List<Binding> bindings) {
+			this.temporaryLobs = temporaryLobs;
+			this.bindings = bindings;
+		}
+
+		private void retain() {
+			this.references.incrementAndGet();
+		}
+
+		private void release() {
+			if (this.references.decrementAndGet() != 0 || this.temporaryLobs.size() == 0) {
+				return;
+			}
+
+			for (final Binding binding : this.bindings) {
+				this.temporaryLobs.release(binding);
+			}
+		}
+	}
+
 	private static final class Bindings {
 
 		private final List<Binding> bindings = new ArrayList<>();
@@ -193,7 +359,9 @@ public final class H2Statement implements Statement {
 
 		private Binding getCurrent() {
 			if (this.current == null) {
-				this.current = new Binding();
+				// every binding of a statement binds the same parameters, so size it like the previous one
+				this.current = this.bindings.isEmpty() ? new Binding()
+						: new Binding(this.bindings.get(this.bindings.size() - 1).length());
 				this.bindings.add(this.current);
 			}
 
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.evaggelos99.r2dbc.h2;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.h2.command.CommandInterface;
+import org.h2.engine.Session;
+import org.h2.result.ResultInterface;
+import org.h2.result.ResultWithGeneratedKeys;
+
+import io.github.evaggelos99.r2dbc.h2.H2DatabaseExceptionFactory.H2R2dbcNonTransientResourceException;
+import io.github.evaggelos99.r2dbc.h2.client.Binding;
+import io.github.evaggelos99.r2dbc.h2.client.Client;
+import io.github.evaggelos99.r2dbc.h2.client.CommandCache;
+import io.github.evaggelos99.r2dbc.h2.client.TemporaryLobs;
+import io.github.evaggelos99.r2dbc.h2.util.Assert;
+import reactor.core.publisher.Mono;
+
+/**
+ * A {@link Client} through which a lease of a pooled session drives the
+ * session, see {@link H2Connection#lease(java.util.function.Function)}. Once
+ * the lease is released, every call that uses the session fails with an
+ * {@link H2R2dbcNonTransientResourceException}, so that a closed lease cannot
+ * interfere with the next lease of the same session. The counters of the
+ * {@link CommandCache} and {@link TemporaryLobs} remain accessible.
+ */
+final class LeasedClient implements Client {
+
+	private final Client delegate;
+
+	private final AtomicBoolean released = new AtomicBoolean();
+
+	LeasedClient(Client delegate) {
+		this.delegate = Assert.requireNonNull(delegate, "delegate must not be null");
+	}
+
+	/**
+	 * Invalidates this client.
+	 *
+	 * @return {@code true} if this client was not released before
+	 */
+	boolean release() {
+		return this.released.compareAndSet(false, true);
+	}
+
+	/**
+	 * Releases this client instead of closing the pooled session.
+	 */
+	@Override
+	public Mono<Void> close() {
+		return Mono.fromRunnable(this::release);
+	}
+
+	@Override
+	public void disableAutoCommit() {
+		checkNotReleased();
+		this.delegate.disableAutoCommit();
+	}
+
+	@Override
+	public void enableAutoCommit() {
+		checkNotReleased();
+		this.delegate.enableAutoCommit();
+	}
+
+	@Override
+	public boolean inTransaction() {
+		checkNotReleased();
+		return this.delegate.inTransaction();
+	}
+
+	@Override
+	public Iterator<CommandInterface> prepareCommand(String sql, List<Binding> bindings) {
+		checkNotReleased();
+		return this.delegate.prepareCommand(sql, bindings);
+	}
+
+	@Override
+	public Iterator<CommandInterface> prepareCommand(String sql, List<Binding> bindings, int fetchSize) {
+		checkNotReleased();
+		return this.delegate.prepareCommand(sql, bindings, fetchSize);
+	}
+
+	@Override
+	public ResultInterface query(CommandInterface command) {
+		checkNotReleased();
+		return this.delegate.query(command);
+	}
+
+	@Override
+	public ResultWithGeneratedKeys update(CommandInterface command, Object generatedColumns) {
+		checkNotReleased();
+		return this.delegate.update(command, generatedColumns);
+	}
+
+	@Override
+	public Session getSession() {
+		checkNotReleased();
+		return this.delegate.getSession();
+	}
+
+	@Override
+	public CommandCache getCommandCache() {
+		return this.delegate.getCommandCache();
+	}
+
+	@Override
+	public TemporaryLobs getTemporaryLobs() {
+		return this.delegate.getTemporaryLobs();
+	}
+
+	@Override
+	public String toString() {
+		return "LeasedClient{" + "delegate=" + this.delegate + ", released=" + this.released + '}';
+	}
+
+	/**
+	 * Fails if this client was released.
+	 *
+	 * @throws H2R2dbcNonTransientResourceException if this client was released
+	 */
+	void checkNotReleased() {
+		if (this.released.get()) {
+			throw new H2R2dbcNonTransientResourceException("Connection is closed");
+		}
+	}
+
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.evaggelos99.r2dbc.h2;
+
+import org.h2.command.CommandInterface;
+
+import io.github.evaggelos99.r2dbc.h2.client.Client;
+import io.github.evaggelos99.r2dbc.h2.util.Assert;
+
+/**
+ * Tracks when the engine works on a command, so that a subscriber's
+ * cancellation only aborts work that is actually in flight. The work on the
+ * command, executing it or fetching a row of its lazy result, is wrapped in
+ * {@link #enter()} and {@link #exit()}. A cancellation that arrives while the
+ * command is idle is left to the caller closing its result, and one that the
+ * engine did not act upon is withdrawn on {@link #exit()} before the session
+ * runs its next command.
+ */
+final class RunningCommand {
+
+	private final Client client;
+
+	private final CommandInterface command;
+
+	private boolean running;
+
+	private boolean cancelled;
+
+	RunningCommand(Client client, CommandInterface command) {
+		this.client = Assert.requireNonNull(client, "client must not be null");
+		this.command = Assert.requireNonNull(command, "command must not be null");
+	}
+
+	/**
+	 * Marks the command as running on the calling thread.
+	 */
+	synchronized void enter() {
+		this.running = true;
+	}
+
+	/**
+	 * Marks the command as idle and withdraws a cancellation that was signalled
+	 * while it was running.
+	 */
+	synchronized void exit() {
+		this.running = false;
+
+		if (this.cancelled) {
+			this.cancelled = false;
+			CommandUtil.clearCancel(this.client, this.command);
+		}
+	}
+
+	/**
+	 * Aborts the command if it is running, see
+	 * {@link CommandUtil#cancel(Client, CommandInterface)}.
+	 */
+	synchronized void cancel() {
+		if (this.running && !this.cancelled) {
+			this.cancelled = true;
+			CommandUtil.cancel(this.client, this.command);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "RunningCommand{" + "command=" + this.command + ", running=" + this.running + '}';
+	}
+
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.evaggelos99.r2dbc.h2;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.github.evaggelos99.r2dbc.h2.util.Assert;
+import reactor.core.scheduler.Scheduler;
+import reactor.util.Logger;
+import reactor.util.Loggers;
+
+/**
+ * An {@link Executor} that runs its tasks one at a time, in submission order,
+ * on a shared {@link Scheduler}. Used to keep the blocking work of a single
+ * connection serialized while connections share the scheduler's threads.
+ */
+final class SerialExecutor implements Executor {
+
+	private static final Logger LOGGER = Loggers.getLogger(SerialExecutor.class);
+
+	private final Scheduler scheduler;
+
+	private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+
+	private final AtomicInteger pending = new AtomicInteger();
+
+	SerialExecutor(Scheduler scheduler) {
+		this.scheduler = Assert.requireNonNull(scheduler, "scheduler must not be null");
+	}
+
+	@Override
+	public void execute(Runnable task) {
+		Assert.requireNonNull(task, "task must not be null");
+
+		this.tasks.offer(task);
+
+		if (this.pending.getAndIncrement() == 0) {
+			this.scheduler.schedule(this::drain);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "SerialExecutor{" + "scheduler=" + this.scheduler + ", pending=" + this.pending + '}';
+	}
+
+	private void drain() {
+		do {
+			try {
+				this.tasks.poll().run();
+			} catch (Throwable e) {
+				LOGGER.error("Task failed on connection scheduler", e);
+			}
+		} while (this.pending.decrementAndGet() != 0);
+	}
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.evaggelos99.r2dbc.h2;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.github.evaggelos99.r2dbc.h2.util.Assert;
+
+/**
+ * Splits SQL text into its individual {@code ;}-separated statements.
+ * Semicolons inside string literals, quoted identifiers, {@code $$} quoted
+ * strings and comments do not separate statements. Split results are kept in a
+ * global, bounded, least-recently-used cache keyed by the SQL text.
+ */
+final class StatementSplitter {
+
+	/**
+	 * The maximum number of cached split results.
+	 */
+	static final int CACHE_SIZE = 256;
+
+	private static final Map<String, List<String>> CACHE = new LinkedHashMap<String, List<String>>(16, 0.75f, true) {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(final Map.Entry<String, List<String>> eldest) {
+			return size() > CACHE_SIZE;
+		}
+	};
+
+	private StatementSplitter() {
+	}
+
+	/**
+	 * Returns the trimmed, non-empty statements of {@code sql}. SQL without any
+	 * statement is returned as a single, trimmed statement.
+	 *
+	 * @param sql the SQL text
+	 * @return the statements of {@code sql}
+	 * @throws IllegalArgumentException if {@code sql} is {@code null}
+	 */
+	static List<String> split(final String sql) {
+		Assert.requireNonNull(sql, "sql must not be null");
+
+		if (sql.indexOf(';') == -1) {
+			return Collections.singletonList(sql.trim());
+		}
+
+		synchronized (CACHE) {
+			final List<String> statements = CACHE.get(sql);
+
+			if (statements != null) {
+				return statements;
+			}
+		}
+
+		final List<String> statements = tokenize(sql);
+
+		synchronized (CACHE) {
+			CACHE.put(sql, statements);
+		}
+
+		return statements;
+	}
+
+	static int cacheSize() {
+		synchronized (CACHE) {
+			return CACHE.size();
+		}
+	}
+
+	private static List<String> tokenize(final String sql) {
+		final List<String> statements = new ArrayList<>();
+		final int length = sql.length();
+		int start = 0;
+		int i = 0;
+
+		while (i < length) {
+			final char c = sql.charAt(i);
+
+			switch (c) {
+			case '\'':
+			case '"':
+				i = skipQuoted(sql, i, c);
+				break;
+			case '$':
+				// identifiers may contain $, so only a $$ that starts a token opens a quoted string
+				if (i + 1 < length && sql.charAt(i + 1) == '$'
+						&& (i == 0 || !Character.isJavaIdentifierPart(sql.charAt(i - 1)))) {
+					i = skipDollarQuoted(sql, i);
+				} else {
+					i++;
+				}
+				break;
+			case '-':
+				i = i + 1 < length && sql.charAt(i + 1) == '-' ? skipLineComment(sql, i) : i + 1;
+				break;
+			case '/':
+				if (i + 1 < length && sql.charAt(i + 1) == '/') {
+					i = skipLineComment(sql, i);
+				} else if (i + 1 < length && sql.charAt(i + 1) == '*') {
+					i = skipBlockComment(sql, i);
+				} else {
+					i++;
+				}
+				break;
+			case ';':
+				addStatement(statements, sql.substring(start, i));
+				start = ++i;
+				break;
+			default:
+				i++;
+			}
+		}
+
+		addStatement(statements, sql.substring(start));
+
+		if (statements.isEmpty()) {
+			return Collections.singletonList(sql.trim());
+		}
+
+		return Collections.unmodifiableList(statements);
+	}
+
+	private static void addStatement(final List<String> statements, final String statement) {
+		final String trimmed = statement.trim();
+
+		if (!trimmed.isEmpty()) {
+			statements.add(trimmed);
+		}
+	}
+
+	// a doubled quote character is an escaped quote and keeps the literal open
+	private static int skipQuoted(final String sql, final int start, final char quote) {
+		int i = start + 1;
+
+		while (i < sql.length()) {
+			if (sql.charAt(i++) == quote) {
+				if (i < sql.length() && sql.charAt(i) == quote) {
+					i++;
+				} else {
+					return i;
+				}
+			}
+		}
+
+		return i;
+	}
+
+	private static int skipDollarQuoted(final String sql, final int start) {
+		final int end = sql.indexOf("$$", start + 2);
+		return end == -1 ? sql.length() : end + 2;
+	}
+
+	private static int skipLineComment(final String sql, final int start) {
+		int i = start + 2;
+
+		while (i < sql.length() && sql.charAt(i) != '\n' && sql.charAt(i) != '\r') {
+			i++;
+		}
+
+		return i;
+	}
+
+	private static int skipBlockComment(final String sql, final int start) {
+		final int end = sql.indexOf("*/", start + 2);
+		return end == -1 ? sql.length() : end + 2;
+	}
+}
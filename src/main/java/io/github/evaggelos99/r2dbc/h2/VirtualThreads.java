@@ -0,0 +1,50 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.evaggelos99.r2dbc.h2;
+
+import java.util.Optional;
+
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * Access to a virtual-thread backed {@link Scheduler}. This is the variant for
+ * Java versions before 21, which do not provide virtual threads. The
+ * multi-release jar ships a Java 21 variant under {@code src/main/java21}.
+ */
+final class VirtualThreads {
+
+	private VirtualThreads() {
+	}
+
+	/**
+	 * Returns whether virtual threads are available on the running JVM.
+	 *
+	 * @return {@code false}
+	 */
+	static boolean isSupported() {
+		return false;
+	}
+
+	/**
+	 * Returns the shared virtual-thread backed {@link Scheduler}.
+	 *
+	 * @return {@link Optional#empty()}
+	 */
+	static Optional<Scheduler> scheduler() {
+		return Optional.empty();
+	}
+}
@@ -19,20 +19,50 @@ package io.github.evaggelos99.r2dbc.h2.client;
 import org.h2.value.Value;
 
 import io.github.evaggelos99.r2dbc.h2.util.Assert;
+import reactor.util.annotation.Nullable;
 
-import java.util.Objects;
-import java.util.SortedMap;
-import java.util.TreeMap;
+import java.util.Arrays;
+import java.util.BitSet;
 
 /**
  * A collection of {@link Value}s for a single bind invocation of an
  * {@link Client}.
+ * <p>
+ * Values are kept in a dense array indexed by parameter position, with a
+ * {@link BitSet} tracking which positions are bound.
  */
 public final class Binding {
 
 	static final Binding EMPTY = new Binding();
 
-	private final SortedMap<Integer, Value> parameters = new TreeMap<>();
+	private static final int DEFAULT_CAPACITY = 8;
+
+	private Value[] values;
+
+	private final BitSet bound;
+
+	private int count;
+
+	/**
+	 * Creates a new, empty {@link Binding}.
+	 */
+	public Binding() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Creates a new, empty {@link Binding} sized for {@code capacity} parameters.
+	 * It grows if more parameters get bound.
+	 *
+	 * @param capacity the expected number of parameters
+	 * @throws IllegalArgumentException if {@code capacity} is negative
+	 */
+	public Binding(int capacity) {
+		Assert.requireTrue(capacity >= 0, "capacity must not be negative");
+
+		this.values = new Value[capacity];
+		this.bound = new BitSet(capacity);
+	}
 
 	/**
 	 * Add a {@link Value} to the binding.
@@ -45,9 +75,33 @@ public final class Binding {
 	 */
 	public Binding add(Integer index, Value value) {
 		Assert.requireNonNull(index, "index must not be null");
+
+		return add(index.intValue(), value);
+	}
+
+	/**
+	 * Add a {@link Value} to the binding.
+	 *
+	 * @param index the index of the {@link Value}
+	 * @param value the {@link Value}
+	 * @return this {@link Binding}
+	 * @throws IllegalArgumentException if {@code index} is negative or
+	 *                                  {@code value} is {@code null}
+	 */
+	public Binding add(int index, Value value) {
 		Assert.requireNonNull(value, "value must not be null");
+		Assert.requireTrue(index >= 0, "index must not be negative");
+
+		if (index >= this.values.length) {
+			this.values = Arrays.copyOf(this.values, Math.max(index + 1, this.values.length * 2));
+		}
 
-		this.parameters.put(index, value);
+		if (!this.bound.get(index)) {
+			this.bound.set(index);
+			this.count++;
+		}
+
+		this.values[index] = value;
 
 		return this;
 	}
@@ -61,20 +115,97 @@ public final class Binding {
 			return false;
 		}
 		Binding that = (Binding) o;
-		return Objects.equals(this.parameters, that.parameters);
+
+		if (this.count != that.count || !this.bound.equals(that.bound)) {
+			return false;
+		}
+
+		for (int i = this.bound.nextSetBit(0); i >= 0; i = this.bound.nextSetBit(i + 1)) {
+			if (!this.values[i].equals(that.values[i])) {
+				return false;
+			}
+		}
+
+		return true;
 	}
 
+	/**
+	 * Same hash code as {@code Objects.hash(parameters)} of the {@code index} to
+	 * {@link Value} map this class used to be backed by.
+	 */
 	@Override
 	public int hashCode() {
-		return Objects.hash(this.parameters);
+		int hash = 0;
+
+		for (int i = this.bound.nextSetBit(0); i >= 0; i = this.bound.nextSetBit(i + 1)) {
+			hash += Integer.hashCode(i) ^ this.values[i].hashCode();
+		}
+
+		return 31 + hash;
 	}
 
 	@Override
 	public String toString() {
-		return "Binding{" + "parameters=" + this.parameters + '}';
+		StringBuilder parameters = new StringBuilder("{");
+
+		for (int i = this.bound.nextSetBit(0); i >= 0; i = this.bound.nextSetBit(i + 1)) {
+			if (parameters.length() > 1) {
+				parameters.append(", ");
+			}
+
+			parameters.append(i).append('=').append(this.values[i]);
+		}
+
+		return "Binding{" + "parameters=" + parameters.append('}') + '}';
+	}
+
+	/**
+	 * Returns the number of bound parameters.
+	 *
+	 * @return the number of bound parameters
+	 */
+	int size() {
+		return this.count;
+	}
+
+	/**
+	 * Returns whether no parameter is bound.
+	 *
+	 * @return {@code true} if no parameter is bound
+	 */
+	boolean isEmpty() {
+		return this.count == 0;
+	}
+
+	/**
+	 * Returns whether exactly the parameters {@code 0} to
+	 * {@code parameterCount - 1} are bound.
+	 *
+	 * @param parameterCount the number of parameters of the command
+	 * @return {@code true} if every parameter is bound
+	 */
+	boolean isComplete(int parameterCount) {
+		return this.count == parameterCount && this.bound.length() == parameterCount;
 	}
 
-	SortedMap<Integer, Value> getParameters() {
-		return this.parameters;
+	/**
+	 * Returns the length of the parameter slots, i.e. the highest bound index plus
+	 * one.
+	 *
+	 * @return the length of the parameter slots
+	 */
+	public int length() {
+		return this.bound.length();
+	}
+
+	/**
+	 * Returns the {@link Value} bound at {@code index}.
+	 *
+	 * @param index the index of the parameter
+	 * @return the bound {@link Value} or {@code null} if unbound
+	 */
+	@Nullable
+	Value get(int index) {
+		return index < this.values.length ? this.values[index] : null;
 	}
 }
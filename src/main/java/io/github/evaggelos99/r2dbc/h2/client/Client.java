@@ -93,6 +93,19 @@ public interface Client {
 	 */
 	Iterator<CommandInterface> prepareCommand(String sql, List<Binding> bindings);
 
+	/**
+	 * Transform a SQL statement and a set of {@link Binding}s into a
+	 * {@link CommandInterface} whose remote results are transferred in pages of
+	 * {@code fetchSize} rows, including the first page that is transferred with
+	 * the execution. Embedded results are not paged.
+	 *
+	 * @param sql       to either query or update
+	 * @param bindings  the parameter bindings to use
+	 * @param fetchSize the number of rows per page, {@code 0} for H2's default
+	 * @return {@link CommandInterface} to be flat mapped over
+	 */
+	Iterator<CommandInterface> prepareCommand(String sql, List<Binding> bindings, int fetchSize);
+
 	/**
 	 * Execute a query.
 	 *
@@ -121,4 +134,20 @@ public interface Client {
 	 * @return the current {@link Session} to the database.
 	 */
 	Session getSession();
+
+	/**
+	 * Return the {@link CommandCache} holding the prepared commands of this
+	 * {@link Client}.
+	 *
+	 * @return the {@link CommandCache} of this {@link Client}
+	 */
+	CommandCache getCommandCache();
+
+	/**
+	 * Return the {@link TemporaryLobs} created for parameters of this
+	 * {@link Client}.
+	 *
+	 * @return the {@link TemporaryLobs} of this {@link Client}
+	 */
+	TemporaryLobs getTemporaryLobs();
 }
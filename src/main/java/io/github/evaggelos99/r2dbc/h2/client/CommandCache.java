@@ -0,0 +1,268 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.evaggelos99.r2dbc.h2.client;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.h2.command.Command;
+import org.h2.command.CommandInterface;
+import org.h2.expression.ParameterInterface;
+
+import io.github.evaggelos99.r2dbc.h2.util.Assert;
+import reactor.util.annotation.Nullable;
+
+/**
+ * A bounded, least-recently-used cache of prepared {@link CommandInterface}s
+ * keyed by their SQL text and, for remote commands, the fetch size they were
+ * prepared with.
+ * <p>
+ * Embedded {@link Command}s are only handed out again once they were released
+ * through {@link Command#setCanReuse(boolean)}. Remote commands are closed when
+ * they get evicted.
+ */
+public final class CommandCache {
+
+	/**
+	 * The default maximum number of cached commands per connection.
+	 */
+	public static final int DEFAULT_SIZE = 32;
+
+	private final int maxSize;
+
+	// the SQL text for commands with the default fetch size, a FetchSizeKey otherwise
+	private final Map<Object, CommandInterface> commands;
+
+	private long hits;
+
+	private long misses;
+
+	CommandCache(final int maxSize) {
+		Assert.requireTrue(maxSize >= 0, "maxSize must not be negative");
+
+		this.maxSize = maxSize;
+		this.commands = new LinkedHashMap<Object, CommandInterface>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<Object, CommandInterface> eldest) {
+				if (size() > CommandCache.this.maxSize) {
+					discard(eldest.getValue());
+					return true;
+				}
+
+				return false;
+			}
+		};
+	}
+
+	/**
+	 * Returns the number of lookups that were served by a cached command.
+	 *
+	 * @return the number of cache hits
+	 */
+	public synchronized long getHitCount() {
+		return this.hits;
+	}
+
+	/**
+	 * Returns the number of lookups that required a new command to be prepared.
+	 *
+	 * @return the number of cache misses
+	 */
+	public synchronized long getMissCount() {
+		return this.misses;
+	}
+
+	/**
+	 * Returns the maximum number of cached commands. {@code 0} means caching is
+	 * disabled.
+	 *
+	 * @return the maximum number of cached commands
+	 */
+	public int getMaxSize() {
+		return this.maxSize;
+	}
+
+	/**
+	 * Returns the number of currently cached commands.
+	 *
+	 * @return the number of currently cached commands
+	 */
+	public synchronized int size() {
+		return this.commands.size();
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "CommandCache{" + "maxSize=" + this.maxSize + ", size=" + this.commands.size() + ", hits=" + this.hits
+				+ ", misses=" + this.misses + '}';
+	}
+
+	/**
+	 * Lookup a reusable command for {@code sql}. A returned command has its
+	 * parameters cleared.
+	 *
+	 * @param sql the SQL text
+	 * @return the cached command or {@code null} if none is available
+	 */
+	@Nullable
+	CommandInterface get(final String sql) {
+		return get(sql, 0);
+	}
+
+	/**
+	 * Lookup a reusable command for {@code sql} that was prepared with
+	 * {@code fetchSize}. A returned command has its parameters cleared.
+	 *
+	 * @param sql       the SQL text
+	 * @param fetchSize the fetch size of the command, {@code 0} for the default
+	 * @return the cached command or {@code null} if none is available
+	 */
+	@Nullable
+	synchronized CommandInterface get(final String sql, final int fetchSize) {
+		if (this.maxSize == 0) {
+			return null;
+		}
+
+		final CommandInterface command = this.commands.get(key(sql, fetchSize));
+
+		if (command == null || !isReusable(command)) {
+			this.misses++;
+			return null;
+		}
+
+		this.hits++;
+		reuse(command);
+
+		return command;
+	}
+
+	/**
+	 * Cache a freshly prepared command for {@code sql}. Commands that H2 considers
+	 * not cacheable (e.g. DDL) are ignored.
+	 *
+	 * @param sql     the SQL text
+	 * @param command the prepared command
+	 */
+	void put(final String sql, final CommandInterface command) {
+		put(sql, 0, command);
+	}
+
+	/**
+	 * Cache a freshly prepared command for {@code sql} that was prepared with
+	 * {@code fetchSize}. Commands that H2 considers not cacheable (e.g. DDL) are
+	 * ignored.
+	 *
+	 * @param sql       the SQL text
+	 * @param fetchSize the fetch size of the command, {@code 0} for the default
+	 * @param command   the prepared command
+	 */
+	synchronized void put(final String sql, final int fetchSize, final CommandInterface command) {
+		if (this.maxSize == 0 || !isCacheable(command)) {
+			return;
+		}
+
+		final CommandInterface previous = this.commands.put(key(sql, fetchSize), command);
+
+		if (previous != null && previous != command) {
+			discard(previous);
+		}
+	}
+
+	/**
+	 * Drop all cached commands without closing them. Used when the underlying
+	 * session is closed anyway.
+	 */
+	synchronized void clear() {
+		this.commands.clear();
+	}
+
+	private static Object key(final String sql, final int fetchSize) {
+		return fetchSize == 0 ? sql : new FetchSizeKey(sql, fetchSize);
+	}
+
+	private static boolean isCacheable(final CommandInterface command) {
+		return !(command instanceof Command) || ((Command) command).isCacheable();
+	}
+
+	/**
+	 * Whether {@code command} may be executed again. Embedded commands are only
+	 * reusable once released, e.g. after their lazy result was closed.
+	 *
+	 * @param command the command
+	 * @return {@code true} if {@code command} may be executed again
+	 */
+	static boolean isReusable(final CommandInterface command) {
+		return !(command instanceof Command) || ((Command) command).canReuse();
+	}
+
+	/**
+	 * Prepare {@code command} for another execution by clearing its parameters.
+	 *
+	 * @param command the command to reuse
+	 */
+	static void reuse(final CommandInterface command) {
+		if (command instanceof Command) {
+			((Command) command).reuse();
+			return;
+		}
+
+		for (final ParameterInterface parameter : command.getParameters()) {
+			parameter.setValue(null, false);
+		}
+	}
+
+	private static void discard(final CommandInterface command) {
+		// embedded commands are owned by the session's own query cache
+		if (!(command instanceof Command)) {
+			command.close();
+		}
+	}
+
+	private static final class FetchSizeKey {
+
+		private final String sql;
+
+		private final int fetchSize;
+
+		private FetchSizeKey(final String sql, final int fetchSize) {
+			this.sql = sql;
+			this.fetchSize = fetchSize;
+		}
+
+		@Override
+		public boolean equals(final Object o) {
+			if (this == o) {
+				return true;
+			}
+
+			if (!(o instanceof FetchSizeKey)) {
+				return false;
+			}
+
+			final FetchSizeKey that = (FetchSizeKey) o;
+			return this.fetchSize == that.fetchSize && this.sql.equals(that.sql);
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * this.sql.hashCode() + this.fetchSize;
+		}
+	}
+}
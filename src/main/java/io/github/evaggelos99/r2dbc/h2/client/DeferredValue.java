@@ -0,0 +1,92 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.evaggelos99.r2dbc.h2.client;
+
+import org.h2.engine.CastDataProvider;
+import org.h2.message.DbException;
+import org.h2.value.CompareMode;
+import org.h2.value.TypeInfo;
+import org.h2.value.Value;
+
+/**
+ * A placeholder for a parameter {@link Value} that is only created when a
+ * command is bound to it, on the thread that executes the command. Used for
+ * values whose creation blocks, such as LOBs that are streamed into the LOB
+ * storage of the session, so that binding them does not block the caller.
+ * <p>
+ * {@link Client#prepareCommand(String, java.util.List) Preparing} a command
+ * resolves the placeholders of a {@link Binding} and replaces them with the
+ * created values. A placeholder cannot be used in place of the value it
+ * stands for.
+ */
+public abstract class DeferredValue extends Value {
+
+	private final int valueType;
+
+	/**
+	 * Creates a new placeholder for a value of {@code valueType}.
+	 *
+	 * @param valueType the type of the value, one of the type constants of
+	 *                  {@link Value}
+	 */
+	protected DeferredValue(int valueType) {
+		this.valueType = valueType;
+	}
+
+	/**
+	 * Creates the value this placeholder stands for. Called at most once, on the
+	 * thread that executes the command.
+	 *
+	 * @return the created value
+	 */
+	public abstract Value resolve();
+
+	@Override
+	public TypeInfo getType() {
+		return TypeInfo.getTypeInfo(this.valueType);
+	}
+
+	@Override
+	public int getValueType() {
+		return this.valueType;
+	}
+
+	@Override
+	public String getString() {
+		throw DbException.getUnsupportedException("getString() of an unresolved parameter");
+	}
+
+	@Override
+	public StringBuilder getSQL(StringBuilder builder, int sqlFlags) {
+		return builder.append("<deferred ").append(getTypeName(this.valueType)).append('>');
+	}
+
+	@Override
+	public int compareTypeSafe(Value v, CompareMode mode, CastDataProvider provider) {
+		throw DbException.getUnsupportedException("compare() of an unresolved parameter");
+	}
+
+	@Override
+	public int hashCode() {
+		return System.identityHashCode(this);
+	}
+
+	@Override
+	public boolean equals(Object other) {
+		return this == other;
+	}
+}
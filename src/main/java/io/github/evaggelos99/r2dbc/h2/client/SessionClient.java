@@ -20,12 +20,13 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 
+import org.h2.api.ErrorCode;
 import org.h2.command.CommandInterface;
 import org.h2.engine.ConnectionInfo;
 import org.h2.engine.Session;
 import org.h2.engine.SessionRemote;
+import org.h2.engine.SysProperties;
 import org.h2.expression.ParameterInterface;
 import org.h2.message.DbException;
 import org.h2.result.ResultInterface;
@@ -51,6 +52,10 @@ public final class SessionClient implements Client {
 
 	private final boolean shutdownDatabaseOnClose;
 
+	private final CommandCache commandCache;
+
+	private final TemporaryLobs temporaryLobs = new TemporaryLobs();
+
 	/**
 	 * Creates a new instance.
 	 *
@@ -59,10 +64,26 @@ public final class SessionClient implements Client {
 	 *                                be closed on shutdown
 	 * @throws NullPointerException if {@code connectionInfo} is {@code null}
 	 */
-	@SuppressWarnings("resource")
 	public SessionClient(final ConnectionInfo connectionInfo, final boolean shutdownDatabaseOnClose) {
+		this(connectionInfo, shutdownDatabaseOnClose, CommandCache.DEFAULT_SIZE);
+	}
+
+	/**
+	 * Creates a new instance.
+	 *
+	 * @param connectionInfo          the connection info to use
+	 * @param shutdownDatabaseOnClose the flag that determines if the database will
+	 *                                be closed on shutdown
+	 * @param commandCacheSize        the maximum number of prepared commands to
+	 *                                cache, {@code 0} to disable caching
+	 * @throws NullPointerException if {@code connectionInfo} is {@code null}
+	 */
+	@SuppressWarnings("resource")
+	public SessionClient(final ConnectionInfo connectionInfo, final boolean shutdownDatabaseOnClose,
+			final int commandCacheSize) {
 		Assert.requireNonNull(connectionInfo, "connectionInfo must not be null");
 
+		this.commandCache = new CommandCache(commandCacheSize);
 		this.session = new SessionRemote(connectionInfo).connectEmbeddedOrServer(false);
 		this.shutdownDatabaseOnClose = shutdownDatabaseOnClose;
 	}
@@ -70,6 +91,7 @@ public final class SessionClient implements Client {
 	@Override
 	public Mono<Void> close() {
 		return Mono.defer(() -> {
+			this.temporaryLobs.releaseAll();
 
 			if (this.shutdownDatabaseOnClose) {
 				try {
@@ -79,6 +101,7 @@ public final class SessionClient implements Client {
 					return Mono.error(H2DatabaseExceptionFactory.convert(e));
 				}
 			}
+			this.commandCache.clear();
 			this.session.close();
 			return Mono.empty();
 		});
@@ -101,12 +124,19 @@ public final class SessionClient implements Client {
 
 	@Override
 	public Iterator<CommandInterface> prepareCommand(final String sql, final List<Binding> bindings) {
+		return prepareCommand(sql, bindings, 0);
+	}
+
+	@Override
+	public Iterator<CommandInterface> prepareCommand(final String sql, final List<Binding> bindings,
+			final int fetchSize) {
 		Assert.requireNonNull(sql, "sql must not be null");
 		Assert.requireNonNull(bindings, "bindings must not be null");
+		Assert.requireTrue(fetchSize >= 0, "fetchSize must not be negative");
 
 		if (!bindings.isEmpty()) {
 			final Binding binding = bindings.get(bindings.size() - 1);
-			if (binding.getParameters().isEmpty()) {
+			if (binding.isEmpty()) {
 				throw new IllegalStateException("You got an unbound binder!");
 			}
 		}
@@ -115,6 +145,8 @@ public final class SessionClient implements Client {
 
 		return new Iterator<CommandInterface>() {
 
+			private CommandInterface command;
+
 			@Override
 			public boolean hasNext() {
 				return bindingIterator.hasNext();
@@ -125,9 +157,21 @@ public final class SessionClient implements Client {
 				final Binding binding = bindingIterator.next();
 
 				try {
-					final CommandInterface command = createCommand(sql, binding);
-					logger.debug("Request:  {}", command);
-					return command;
+					// prepare once, then only rebind the parameters for every further binding as long as
+					// the previous execution released the command
+					if (this.command != null && CommandCache.isReusable(this.command)) {
+						CommandCache.reuse(this.command);
+					} else {
+						this.command = createCommand(sql, fetchSize);
+					}
+
+					bind(this.command, binding);
+
+					if (logger.isDebugEnabled()) {
+						logger.debug("Request:  {}", this.command);
+					}
+
+					return this.command;
 				} catch (final DbException e) {
 					throw H2DatabaseExceptionFactory.convert(e);
 				}
@@ -139,8 +183,12 @@ public final class SessionClient implements Client {
 	public ResultInterface query(final CommandInterface command) {
 
 		try {
-			final ResultInterface result = command.executeQuery(Integer.MAX_VALUE, false);
-			this.logger.debug("Response: {}", result);
+			final ResultInterface result = command.executeQuery(0, false);
+
+			if (this.logger.isDebugEnabled()) {
+				this.logger.debug("Response: {}", result);
+			}
+
 			return result;
 		} catch (final DbException e) {
 			throw H2DatabaseExceptionFactory.convert(e);
@@ -160,18 +208,60 @@ public final class SessionClient implements Client {
 		return this.session;
 	}
 
-	private CommandInterface createCommand(final String sql, final Binding binding) {
-		try {
-			final CommandInterface command = this.session.prepareCommand(sql, Integer.MAX_VALUE);
+	@Override
+	public CommandCache getCommandCache() {
+		return this.commandCache;
+	}
+
+	@Override
+	public TemporaryLobs getTemporaryLobs() {
+		return this.temporaryLobs;
+	}
+
+	private CommandInterface createCommand(final String sql, final int fetchSize) {
+		// embedded results are not paged, so the fetch size only tells remote commands apart
+		final int pageSize = this.session.isRemote() ? fetchSize : 0;
+		CommandInterface command = this.commandCache.get(sql, pageSize);
+
+		if (command == null) {
+			// remote results transfer their first page with the execution and fetch further pages of this size
+			// as they are read
+			command = this.session.prepareCommand(sql,
+					pageSize > 0 ? pageSize : SysProperties.SERVER_RESULT_SET_FETCH_SIZE);
+			this.commandCache.put(sql, pageSize, command);
+		}
+
+		return command;
+	}
 
-			final List<? extends ParameterInterface> parameters = command.getParameters();
-			for (final Map.Entry<Integer, Value> entry : binding.getParameters().entrySet()) {
-				parameters.get(entry.getKey()).setValue(entry.getValue(), false);
+	private static void bind(final CommandInterface command, final Binding binding) {
+		final List<? extends ParameterInterface> parameters = command.getParameters();
+		final int parameterCount = parameters.size();
+
+		if (!binding.isComplete(parameterCount)) {
+			throw getIncompleteBindingException(binding, parameterCount);
+		}
+
+		for (int i = 0; i < parameterCount; i++) {
+			Value value = binding.get(i);
+
+			if (value instanceof DeferredValue) {
+				// keep the created value in the binding, so that its temporary LOBs are released with it
+				value = ((DeferredValue) value).resolve();
+				binding.add(i, value);
 			}
 
-			return command;
-		} catch (final DbException e) {
-			throw H2DatabaseExceptionFactory.convert(e);
+			parameters.get(i).setValue(value, false);
 		}
 	}
+
+	private static DbException getIncompleteBindingException(final Binding binding, final int parameterCount) {
+		for (int i = 0; i < parameterCount; i++) {
+			if (binding.get(i) == null) {
+				return DbException.get(ErrorCode.PARAMETER_NOT_SET_1, "#" + (i + 1));
+			}
+		}
+
+		return DbException.getInvalidValueException("parameterIndex", binding.length());
+	}
 }
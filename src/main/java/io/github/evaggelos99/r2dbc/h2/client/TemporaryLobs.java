@@ -0,0 +1,185 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.evaggelos99.r2dbc.h2.client;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.h2.value.Value;
+import org.h2.value.ValueCollectionBase;
+import org.h2.value.ValueLob;
+
+import io.github.evaggelos99.r2dbc.h2.util.Assert;
+
+/**
+ * The temporary LOBs created for parameters of a {@link Client}.
+ * <p>
+ * A temporary LOB lives as long as the statement it was bound to: it is
+ * released when the statement completed, failed or was cancelled, when it is
+ * discarded explicitly, and at the latest when the session is reset or closed.
+ * Releasing a LOB removes it from the LOB storage of the session.
+ */
+public final class TemporaryLobs {
+
+	private final Map<ValueLob, Long> lobs = new IdentityHashMap<>();
+
+	private long bytes;
+
+	/**
+	 * Creates a new, empty {@link TemporaryLobs}.
+	 */
+	public TemporaryLobs() {
+	}
+
+	/**
+	 * Track a temporary LOB until it is released.
+	 *
+	 * @param lob the temporary LOB
+	 * @param <T> the type of the LOB
+	 * @return {@code lob}
+	 * @throws IllegalArgumentException if {@code lob} is {@code null}
+	 */
+	public <T extends ValueLob> T add(T lob) {
+		Assert.requireNonNull(lob, "lob must not be null");
+
+		long length = lob.octetLength();
+
+		synchronized (this) {
+			if (this.lobs.put(lob, length) == null) {
+				this.bytes += length;
+			}
+		}
+
+		return lob;
+	}
+
+	/**
+	 * Release the temporary LOBs bound to the parameters of {@code binding}.
+	 *
+	 * @param binding the parameters of a statement
+	 * @throws IllegalArgumentException if {@code binding} is {@code null}
+	 */
+	public void release(Binding binding) {
+		Assert.requireNonNull(binding, "binding must not be null");
+
+		for (int i = 0; i < binding.length(); i++) {
+			Value value = binding.get(i);
+
+			if (value != null) {
+				release(value);
+			}
+		}
+	}
+
+	/**
+	 * Release {@code value} if it is a tracked temporary LOB, or the tracked
+	 * temporary LOBs it contains if it is an array or a row. Other values are
+	 * ignored.
+	 *
+	 * @param value the value to release
+	 * @return {@code true} if a temporary LOB was released
+	 * @throws IllegalArgumentException if {@code value} is {@code null}
+	 */
+	public boolean release(Value value) {
+		Assert.requireNonNull(value, "value must not be null");
+
+		if (value instanceof ValueCollectionBase) {
+			boolean released = false;
+
+			for (Value element : ((ValueCollectionBase) value).getList()) {
+				released |= release(element);
+			}
+
+			return released;
+		}
+
+		if (!(value instanceof ValueLob)) {
+			return false;
+		}
+
+		synchronized (this) {
+			Long length = this.lobs.remove(value);
+
+			if (length == null) {
+				return false;
+			}
+
+			this.bytes -= length;
+		}
+
+		((ValueLob) value).remove();
+
+		return true;
+	}
+
+	/**
+	 * Discard a LOB that was handed out to the application. A tracked temporary
+	 * LOB is released, any other LOB is removed from the LOB storage unless it is
+	 * stored in a table.
+	 *
+	 * @param value the LOB to discard
+	 * @throws IllegalArgumentException if {@code value} is {@code null}
+	 */
+	public void discard(Value value) {
+		if (!release(value) && value instanceof ValueLob && !((ValueLob) value).isLinkedToTable()) {
+			((ValueLob) value).remove();
+		}
+	}
+
+	/**
+	 * Release all tracked temporary LOBs.
+	 */
+	public void releaseAll() {
+		List<ValueLob> released;
+
+		synchronized (this) {
+			released = new ArrayList<>(this.lobs.keySet());
+			this.lobs.clear();
+			this.bytes = 0;
+		}
+
+		for (ValueLob lob : released) {
+			lob.remove();
+		}
+	}
+
+	/**
+	 * Returns the number of bytes held by temporary LOBs that are not released
+	 * yet.
+	 *
+	 * @return the number of bytes of live temporary LOBs
+	 */
+	public synchronized long getBytes() {
+		return this.bytes;
+	}
+
+	/**
+	 * Returns the number of temporary LOBs that are not released yet.
+	 *
+	 * @return the number of live temporary LOBs
+	 */
+	public synchronized int size() {
+		return this.lobs.size();
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "TemporaryLobs{" + "size=" + this.lobs.size() + ", bytes=" + this.bytes + '}';
+	}
+}
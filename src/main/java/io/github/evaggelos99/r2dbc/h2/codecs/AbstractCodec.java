@@ -61,6 +61,16 @@ abstract class AbstractCodec<T> implements Codec<T> {
 		return doDecode(value, type);
 	}
 
+	@Nullable
+	@Override
+	public T decode(final Value value, final Class<? extends T> type, final CodecContext context) {
+		if (value == null || value == ValueNull.INSTANCE) {
+			return null;
+		}
+
+		return doDecode(value, type, context);
+	}
+
 	@Override
 	@SuppressWarnings("unchecked")
 	public Value encode(final Object value) {
@@ -69,6 +79,14 @@ abstract class AbstractCodec<T> implements Codec<T> {
 		return doEncode((T) value);
 	}
 
+	@Override
+	@SuppressWarnings("unchecked")
+	public Value encode(final Object value, final CodecContext context) {
+		Assert.requireNonNull(value, "value must not be null");
+
+		return doEncode((T) value, context);
+	}
+
 	@Override
 	public Value encodeNull() {
 		return ValueNull.INSTANCE;
@@ -83,5 +101,21 @@ abstract class AbstractCodec<T> implements Codec<T> {
 
 	abstract T doDecode(Value value, Class<? extends T> type);
 
+	/**
+	 * Decode {@code value} for the connection of {@code context}. Codecs that
+	 * depend on the session override this method.
+	 */
+	T doDecode(final Value value, final Class<? extends T> type, final CodecContext context) {
+		return doDecode(value, type);
+	}
+
 	abstract Value doEncode(T value);
+
+	/**
+	 * Encode {@code value} for the connection of {@code context}. Codecs that
+	 * depend on the session override this method.
+	 */
+	Value doEncode(final T value, final CodecContext context) {
+		return doEncode(value);
+	}
 }
@@ -25,11 +25,15 @@ import io.github.evaggelos99.r2dbc.h2.util.Assert;
 
 final class ArrayCodec extends AbstractCodec<Object[]> {
 
-	private final Codecs codecs;
+	private final CodecContext context;
+
+	ArrayCodec() {
+		this(null);
+	}
 
 	ArrayCodec(final Codecs codecs) {
 		super(Object[].class);
-		this.codecs = codecs;
+		this.context = new CodecContext(null, codecs);
 	}
 
 	@Override
@@ -39,6 +43,12 @@ final class ArrayCodec extends AbstractCodec<Object[]> {
 
 	@Override
 	Object[] doDecode(final Value value, final Class<? extends Object[]> type) {
+		return doDecode(value, type, this.context);
+	}
+
+	@Override
+	Object[] doDecode(final Value value, final Class<? extends Object[]> type, final CodecContext context) {
+		final Codecs codecs = context.getCodecs();
 		final ValueArray valueArray = (ValueArray) value.convertTo(Value.ARRAY);
 		return Arrays.stream(valueArray.getList()).map(val -> codecs.decode(val, val.getValueType(), Object.class))
 				.toArray();
@@ -46,6 +56,12 @@ final class ArrayCodec extends AbstractCodec<Object[]> {
 
 	@Override
 	Value doEncode(final Object[] value) {
+		return doEncode(value, this.context);
+	}
+
+	@Override
+	Value doEncode(final Object[] value, final CodecContext context) {
+		final Codecs codecs = context.getCodecs();
 		return ValueArray.get(Arrays.stream(Assert.requireNonNull(value, "value must not be null")).map(codecs::encode)
 				.toArray(Value[]::new), null);
 	}
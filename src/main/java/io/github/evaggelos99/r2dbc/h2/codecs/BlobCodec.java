@@ -16,7 +16,9 @@
 
 package io.github.evaggelos99.r2dbc.h2.codecs;
 
+import io.github.evaggelos99.r2dbc.h2.H2Blob;
 import io.github.evaggelos99.r2dbc.h2.client.Client;
+import io.github.evaggelos99.r2dbc.h2.client.DeferredValue;
 import io.github.evaggelos99.r2dbc.h2.util.Assert;
 import io.r2dbc.spi.Blob;
 import org.h2.value.Value;
@@ -24,19 +26,35 @@ import org.h2.value.ValueBlob;
 import org.h2.value.ValueNull;
 import reactor.core.publisher.Flux;
 import reactor.core.scheduler.Schedulers;
+import reactor.util.annotation.Nullable;
 
 import java.io.InputStream;
-import java.io.SequenceInputStream;
-import java.util.Enumeration;
+import java.nio.ByteBuffer;
 import java.util.Iterator;
+import java.util.stream.Stream;
 
 final class BlobCodec extends AbstractCodec<Blob> {
 
-	private final Client client;
+	private final CodecContext context;
+
+	BlobCodec() {
+		this(null);
+	}
 
 	BlobCodec(Client client) {
 		super(Blob.class);
-		this.client = client;
+		this.context = new CodecContext(client, null);
+	}
+
+	/**
+	 * Decode into {@link H2Blob} as well, the interface of the {@link Blob}s that
+	 * this codec decodes.
+	 */
+	@Override
+	public boolean canDecode(int dataType, Class<?> type) {
+		Assert.requireNonNull(type, "type must not be null");
+
+		return type.isAssignableFrom(H2Blob.class) && doCanDecode(dataType);
 	}
 
 	@Override
@@ -53,41 +71,117 @@ final class BlobCodec extends AbstractCodec<Blob> {
 		return new ValueLobBlob(value);
 	}
 
+	@Override
+	Blob doDecode(Value value, Class<? extends Blob> type, CodecContext context) {
+		return new ValueLobBlob(value, context.getMetricsListener(), context.findTemporaryLobs(),
+				context.getLobChunkSize());
+	}
+
 	@Override
 	Value doEncode(Blob value) {
+		return doEncode(value, this.context);
+	}
+
+	/**
+	 * Binds a placeholder that streams {@code value} into the LOB storage of the
+	 * session once the command is executed, on the thread that executes it, see
+	 * {@link DeferredValue}.
+	 */
+	@Override
+	Value doEncode(Blob value, CodecContext context) {
 		Assert.requireNonNull(value, "value must not be null");
 
-		ValueBlob blob = this.client.getSession().getDataHandler().getLobStorage()
-				.createBlob(new SequenceInputStream(new BlobInputStreamEnumeration(value)), -1);
+		return new DeferredBlob(value, context);
+	}
+
+	private static final class DeferredBlob extends DeferredValue {
 
-		this.client.getSession().addTemporaryLob(blob);
+		private final Blob value;
 
-		return blob;
+		private final CodecContext context;
+
+		private DeferredBlob(Blob value, CodecContext context) {
+			super(Value.BLOB);
+			this.value = value;
+			this.context = context;
+		}
+
+		@Override
+		public Value resolve() {
+			try (BlobInputStream in = new BlobInputStream(this.value)) {
+				ValueBlob blob = this.context.getSession().getDataHandler().getLobStorage().createBlob(in, -1);
+
+				return this.context.getTemporaryLobs().add(blob);
+			}
+		}
 	}
 
 	/**
-	 * Converts a {@link Flux} of {@link Blob}s into an {@link Enumeration} of
-	 * {@link InputStream}s.
+	 * Reads the chunks of a {@link Blob} as they are written into the LOB storage.
+	 * At most {@link CodecRegistry#LOB_INGEST_PREFETCH} chunks are requested ahead
+	 * of the storage, and each chunk is copied once, directly into the buffer of
+	 * the storage.
 	 */
-	private final class BlobInputStreamEnumeration implements Enumeration<InputStream> {
+	private static final class BlobInputStream extends InputStream {
+
+		private final Stream<ByteBuffer> chunks;
 
-		private final Iterator<ByteBufferInputStream> inputStreams;
+		private final Iterator<ByteBuffer> iterator;
 
-		BlobInputStreamEnumeration(Blob value) {
-			this.inputStreams = Flux.from(value.stream()).map(ByteBufferInputStream::new)
-					.subscribeOn(Schedulers.boundedElastic()).cancelOn(Schedulers.boundedElastic()).toIterable()
-					.iterator();
+		@Nullable
+		private ByteBuffer current;
+
+		private BlobInputStream(Blob value) {
+			this.chunks = Flux.from(value.stream()).subscribeOn(Schedulers.boundedElastic())
+					.cancelOn(Schedulers.boundedElastic()).toStream(CodecRegistry.LOB_INGEST_PREFETCH);
+			this.iterator = this.chunks.iterator();
 		}
 
 		@Override
-		public boolean hasMoreElements() {
-			return inputStreams.hasNext();
+		public int read() {
+			ByteBuffer chunk = nextChunk();
+
+			return chunk == null ? -1 : chunk.get() & 0xFF;
 		}
 
 		@Override
-		public InputStream nextElement() {
-			return inputStreams.next();
+		public int read(byte[] b, int off, int len) {
+			if (len == 0) {
+				return 0;
+			}
+
+			ByteBuffer chunk = nextChunk();
+
+			if (chunk == null) {
+				return -1;
+			}
+
+			int length = Math.min(len, chunk.remaining());
+			chunk.get(b, off, length);
+
+			return length;
+		}
+
+		/**
+		 * Cancels the {@link Blob} if the storage stops reading before its end.
+		 */
+		@Override
+		public void close() {
+			this.chunks.close();
 		}
-	}
 
+		@Nullable
+		private ByteBuffer nextChunk() {
+			while (this.current == null || !this.current.hasRemaining()) {
+				if (!this.iterator.hasNext()) {
+					return null;
+				}
+
+				// read from a view so that the caller's buffer keeps its position
+				this.current = this.iterator.next().duplicate();
+			}
+
+			return this.current;
+		}
+	}
 }
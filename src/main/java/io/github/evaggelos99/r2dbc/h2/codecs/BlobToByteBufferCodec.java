@@ -18,26 +18,21 @@ package io.github.evaggelos99.r2dbc.h2.codecs;
 
 import io.github.evaggelos99.r2dbc.h2.client.Client;
 import io.github.evaggelos99.r2dbc.h2.util.Assert;
-import io.r2dbc.spi.Blob;
 import org.h2.value.Value;
 import org.h2.value.ValueBlob;
 import org.h2.value.ValueNull;
-import reactor.core.publisher.Flux;
-import reactor.core.scheduler.Schedulers;
+import org.h2.value.ValueVarbinary;
 
-import java.io.InputStream;
-import java.io.SequenceInputStream;
 import java.nio.ByteBuffer;
-import java.util.Enumeration;
-import java.util.Iterator;
 
 final class BlobToByteBufferCodec extends AbstractCodec<ByteBuffer> {
 
-	private final Client client;
+	BlobToByteBufferCodec() {
+		this(null);
+	}
 
 	BlobToByteBufferCodec(Client client) {
 		super(ByteBuffer.class);
-		this.client = client;
 	}
 
 	@Override
@@ -59,40 +54,35 @@ final class BlobToByteBufferCodec extends AbstractCodec<ByteBuffer> {
 		return buffer;
 	}
 
+	/**
+	 * Encodes {@code value} as {@code VARBINARY}, which H2 converts if the target
+	 * is a {@code BLOB}. The position of {@code value} is not changed.
+	 */
 	@Override
 	Value doEncode(ByteBuffer value) {
 		Assert.requireNonNull(value, "value must not be null");
 
-		ValueBlob blob = this.client.getSession().getDataHandler().getLobStorage()
-				.createBlob(new SequenceInputStream(new BlobInputStreamEnumeration(value)), -1);
+		byte[] bytes = new byte[value.remaining()];
+		value.duplicate().get(bytes);
 
-		this.client.getSession().addTemporaryLob(blob);
-
-		return blob;
+		return ValueVarbinary.getNoCopy(bytes);
 	}
 
 	/**
-	 * Converts a {@link Flux} of {@link Blob}s into an {@link Enumeration} of
-	 * {@link InputStream}s.
+	 * Creates a temporary {@code BLOB} of the remaining bytes of {@code value} in
+	 * the LOB storage of the session. The position of {@code value} is not
+	 * changed.
+	 *
+	 * @param value   the bytes of the {@code BLOB}
+	 * @param context the connection to create the {@code BLOB} for
+	 * @return the {@code BLOB}
 	 */
-	private final class BlobInputStreamEnumeration implements Enumeration<InputStream> {
-
-		private final Iterator<ByteBufferInputStream> inputStreams;
+	static ValueBlob createBlob(ByteBuffer value, CodecContext context) {
+		Assert.requireNonNull(value, "value must not be null");
 
-		BlobInputStreamEnumeration(ByteBuffer value) {
-			this.inputStreams = Flux.just(value).map(ByteBufferInputStream::new)
-					.subscribeOn(Schedulers.boundedElastic()).cancelOn(Schedulers.boundedElastic()).toIterable()
-					.iterator();
-		}
+		ValueBlob blob = context.getSession().getDataHandler().getLobStorage()
+				.createBlob(new ByteBufferInputStream(value.duplicate()), value.remaining());
 
-		@Override
-		public boolean hasMoreElements() {
-			return inputStreams.hasNext();
-		}
-
-		@Override
-		public InputStream nextElement() {
-			return inputStreams.next();
-		}
+		return context.getTemporaryLobs().add(blob);
 	}
 }
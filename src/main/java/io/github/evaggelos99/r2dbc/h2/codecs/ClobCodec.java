@@ -16,27 +16,45 @@
 
 package io.github.evaggelos99.r2dbc.h2.codecs;
 
+import io.github.evaggelos99.r2dbc.h2.H2Clob;
 import io.github.evaggelos99.r2dbc.h2.client.Client;
+import io.github.evaggelos99.r2dbc.h2.client.DeferredValue;
 import io.github.evaggelos99.r2dbc.h2.util.Assert;
 import io.r2dbc.spi.Clob;
 import org.h2.value.Value;
 import org.h2.value.ValueClob;
 import org.h2.value.ValueNull;
 import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.annotation.Nullable;
 
-import java.io.CharArrayReader;
-import java.io.IOException;
 import java.io.Reader;
 import java.nio.CharBuffer;
 import java.util.Iterator;
+import java.util.stream.Stream;
 
 final class ClobCodec extends AbstractCodec<Clob> {
 
-	private final Client client;
+	private final CodecContext context;
+
+	ClobCodec() {
+		this(null);
+	}
 
 	ClobCodec(Client client) {
 		super(Clob.class);
-		this.client = client;
+		this.context = new CodecContext(client, null);
+	}
+
+	/**
+	 * Decode into {@link H2Clob} as well, the interface of the {@link Clob}s that
+	 * this codec decodes.
+	 */
+	@Override
+	public boolean canDecode(int dataType, Class<?> type) {
+		Assert.requireNonNull(type, "type must not be null");
+
+		return type.isAssignableFrom(H2Clob.class) && doCanDecode(dataType);
 	}
 
 	@Override
@@ -53,60 +71,128 @@ final class ClobCodec extends AbstractCodec<Clob> {
 		return new ValueLobClob(value);
 	}
 
+	@Override
+	Clob doDecode(Value value, Class<? extends Clob> type, CodecContext context) {
+		return new ValueLobClob(value, context.getMetricsListener(), context.findTemporaryLobs(),
+				context.getLobChunkSize());
+	}
+
 	@Override
 	Value doEncode(Clob value) {
+		return doEncode(value, this.context);
+	}
+
+	/**
+	 * Binds a placeholder that streams {@code value} into the LOB storage of the
+	 * session once the command is executed, on the thread that executes it, see
+	 * {@link DeferredValue}.
+	 */
+	@Override
+	Value doEncode(Clob value, CodecContext context) {
 		Assert.requireNonNull(value, "value must not be null");
 
-		ValueClob clob = this.client.getSession().getDataHandler().getLobStorage()
-				.createClob(new AggregateCharArrayReader(value), -1);
+		return new DeferredClob(value, context);
+	}
+
+	private static final class DeferredClob extends DeferredValue {
+
+		private final Clob value;
 
-		this.client.getSession().addTemporaryLob(clob);
+		private final CodecContext context;
 
-		return clob;
+		private DeferredClob(Clob value, CodecContext context) {
+			super(Value.CLOB);
+			this.value = value;
+			this.context = context;
+		}
+
+		@Override
+		public Value resolve() {
+			try (ClobReader reader = new ClobReader(this.value)) {
+				ValueClob clob = this.context.getSession().getDataHandler().getLobStorage().createClob(reader, -1);
+
+				return this.context.getTemporaryLobs().add(clob);
+			}
+		}
 	}
 
 	/**
-	 * Converts a {@link Flux} of {@link Clob}s into a {@link Reader} of
-	 * {@link CharArrayReader}s.
+	 * Reads the chunks of a {@link Clob} as they are written into the LOB storage.
+	 * At most {@link CodecRegistry#LOB_INGEST_PREFETCH} chunks are requested ahead
+	 * of the storage, and the characters of each chunk are copied once, directly
+	 * into the buffer of the storage.
 	 */
-	private final class AggregateCharArrayReader extends Reader {
+	private static final class ClobReader extends Reader {
 
-		private final Iterator<CharArrayReader> readers;
+		private final Stream<CharSequence> chunks;
 
-		private CharArrayReader current;
+		private final Iterator<CharSequence> iterator;
 
-		private AggregateCharArrayReader(Clob value) {
-			this.readers = Flux.from(value.stream()).map(CharBuffer::wrap).map(charBuffer -> {
-				if (charBuffer.hasArray()) {
-					return charBuffer.array();
-				} else {
-					return charBuffer.toString().toCharArray();
-				}
-			}).map(CharArrayReader::new).toIterable().iterator();
+		@Nullable
+		private CharSequence current;
 
-			if (this.readers.hasNext()) {
-				this.current = this.readers.next();
-			}
+		private int position;
 
+		private ClobReader(Clob value) {
+			this.chunks = Flux.from(value.stream()).subscribeOn(Schedulers.boundedElastic())
+					.cancelOn(Schedulers.boundedElastic()).toStream(CodecRegistry.LOB_INGEST_PREFETCH);
+			this.iterator = this.chunks.iterator();
 		}
 
 		@Override
-		public int read(char[] cbuf, int off, int len) throws IOException {
-			int results = this.current.read(cbuf, off, len);
+		public int read(char[] cbuf, int off, int len) {
+			if (len == 0) {
+				return 0;
+			}
+
+			CharSequence chunk = nextChunk();
 
-			if (results == -1) {
-				if (this.readers.hasNext()) {
-					this.current = this.readers.next();
-					return read(cbuf, off, len);
+			if (chunk == null) {
+				return -1;
+			}
+
+			int end = this.position + Math.min(len, chunk.length() - this.position);
+
+			if (chunk instanceof String) {
+				((String) chunk).getChars(this.position, end, cbuf, off);
+			} else if (chunk instanceof StringBuilder) {
+				((StringBuilder) chunk).getChars(this.position, end, cbuf, off);
+			} else if (chunk instanceof CharBuffer) {
+				CharBuffer buffer = ((CharBuffer) chunk).duplicate();
+				buffer.position(buffer.position() + this.position);
+				buffer.get(cbuf, off, end - this.position);
+			} else {
+				for (int i = this.position; i < end; i++) {
+					cbuf[off + i - this.position] = chunk.charAt(i);
 				}
 			}
 
-			return results;
+			int length = end - this.position;
+			this.position = end;
+
+			return length;
 		}
 
+		/**
+		 * Cancels the {@link Clob} if the storage stops reading before its end.
+		 */
 		@Override
 		public void close() {
-			this.current.close();
+			this.chunks.close();
+		}
+
+		@Nullable
+		private CharSequence nextChunk() {
+			while (this.current == null || this.position == this.current.length()) {
+				if (!this.iterator.hasNext()) {
+					return null;
+				}
+
+				this.current = this.iterator.next();
+				this.position = 0;
+			}
+
+			return this.current;
 		}
 	}
 }
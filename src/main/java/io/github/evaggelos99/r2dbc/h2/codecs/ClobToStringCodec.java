@@ -27,11 +27,15 @@ import java.io.StringReader;
 
 final class ClobToStringCodec extends AbstractCodec<String> {
 
-	private final Client client;
+	private final CodecContext context;
+
+	ClobToStringCodec() {
+		this(null);
+	}
 
 	ClobToStringCodec(Client client) {
 		super(String.class);
-		this.client = client;
+		this.context = new CodecContext(client, null);
 	}
 
 	@Override
@@ -48,15 +52,43 @@ final class ClobToStringCodec extends AbstractCodec<String> {
 		return value.getString();
 	}
 
+	/**
+	 * Strings are encoded as {@code VARCHAR} by {@link StringCodec}, which H2
+	 * converts if the target is a {@code CLOB}. A temporary {@code CLOB} is only
+	 * created for a {@link io.r2dbc.spi.Parameter} of type
+	 * {@link io.r2dbc.spi.R2dbcType#CLOB}, see {@link #createClob(String, CodecContext)}.
+	 */
+	@Override
+	public boolean canEncode(Object value) {
+		Assert.requireNonNull(value, "value must not be null");
+
+		return false;
+	}
+
 	@Override
 	Value doEncode(String value) {
+		return doEncode(value, this.context);
+	}
+
+	@Override
+	Value doEncode(String value, CodecContext context) {
+		return createClob(value, context);
+	}
+
+	/**
+	 * Creates a temporary {@code CLOB} of {@code value} in the LOB storage of the
+	 * session.
+	 *
+	 * @param value   the characters of the {@code CLOB}
+	 * @param context the connection to create the {@code CLOB} for
+	 * @return the {@code CLOB}
+	 */
+	static ValueClob createClob(String value, CodecContext context) {
 		Assert.requireNonNull(value, "value must not be null");
 
-		ValueClob clob = this.client.getSession().getDataHandler().getLobStorage().createClob(new StringReader(value),
+		ValueClob clob = context.getSession().getDataHandler().getLobStorage().createClob(new StringReader(value),
 				value.length());
 
-		this.client.getSession().addTemporaryLob(clob);
-
-		return clob;
+		return context.getTemporaryLobs().add(clob);
 	}
 }
@@ -30,8 +30,13 @@ interface Codec<T> {
 	@Nullable
 	T decode(@Nullable Value value, Class<? extends T> type);
 
+	@Nullable
+	T decode(@Nullable Value value, Class<? extends T> type, CodecContext context);
+
 	Value encode(Object value);
 
+	Value encode(Object value, CodecContext context);
+
 	Value encodeNull();
 
 	Class<?> type();
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.evaggelos99.r2dbc.h2.codecs;
+
+import org.h2.engine.Session;
+
+import io.github.evaggelos99.r2dbc.h2.H2MetricsListener;
+import io.github.evaggelos99.r2dbc.h2.client.Client;
+import io.github.evaggelos99.r2dbc.h2.client.TemporaryLobs;
+import io.github.evaggelos99.r2dbc.h2.util.Assert;
+import reactor.util.annotation.Nullable;
+
+/**
+ * The connection a {@link Codec} encodes or decodes a value for. Codecs are
+ * shared by all connections of a connection factory and obtain the session of
+ * the current connection through this context.
+ */
+final class CodecContext {
+
+	@Nullable
+	private final Client client;
+
+	@Nullable
+	private final Codecs codecs;
+
+	private final H2MetricsListener metricsListener;
+
+	private final int lobChunkSize;
+
+	CodecContext(@Nullable Client client, @Nullable Codecs codecs) {
+		this(client, codecs, H2MetricsListener.NONE);
+	}
+
+	CodecContext(@Nullable Client client, @Nullable Codecs codecs, H2MetricsListener metricsListener) {
+		this(client, codecs, metricsListener, CodecRegistry.DEFAULT_LOB_CHUNK_SIZE);
+	}
+
+	CodecContext(@Nullable Client client, @Nullable Codecs codecs, H2MetricsListener metricsListener,
+			int lobChunkSize) {
+		this.client = client;
+		this.codecs = codecs;
+		this.metricsListener = Assert.requireNonNull(metricsListener, "metricsListener must not be null");
+		this.lobChunkSize = lobChunkSize;
+	}
+
+	/**
+	 * Returns the {@link Codecs} of the current connection, used by codecs that
+	 * delegate to other codecs.
+	 *
+	 * @return the {@link Codecs} of the current connection
+	 */
+	Codecs getCodecs() {
+		return Assert.requireNonNull(this.codecs, "codecs must not be null");
+	}
+
+	/**
+	 * Returns the {@link H2MetricsListener} of the current connection.
+	 *
+	 * @return the {@link H2MetricsListener} of the current connection
+	 */
+	H2MetricsListener getMetricsListener() {
+		return this.metricsListener;
+	}
+
+	/**
+	 * Returns the number of bytes or characters per chunk when streaming a LOB.
+	 *
+	 * @return the LOB chunk size
+	 */
+	int getLobChunkSize() {
+		return this.lobChunkSize;
+	}
+
+	/**
+	 * Returns the session of the current connection.
+	 *
+	 * @return the session of the current connection
+	 */
+	Session getSession() {
+		return Assert.requireNonNull(this.client, "client must not be null").getSession();
+	}
+
+	/**
+	 * Returns the {@link TemporaryLobs} of the current connection that temporary
+	 * LOBs created for parameters are registered with.
+	 *
+	 * @return the {@link TemporaryLobs} of the current connection
+	 */
+	TemporaryLobs getTemporaryLobs() {
+		return Assert.requireNonNull(this.client, "client must not be null").getTemporaryLobs();
+	}
+
+	/**
+	 * Returns the {@link TemporaryLobs} of the current connection, or
+	 * {@code null} if this context is not bound to a connection.
+	 *
+	 * @return the {@link TemporaryLobs} of the current connection or {@code null}
+	 */
+	@Nullable
+	TemporaryLobs findTemporaryLobs() {
+		return this.client != null ? this.client.getTemporaryLobs() : null;
+	}
+
+	@Override
+	public String toString() {
+		return "CodecContext{" + "client=" + this.client + '}';
+	}
+}
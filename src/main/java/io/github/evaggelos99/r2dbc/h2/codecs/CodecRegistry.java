@@ -0,0 +1,250 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.evaggelos99.r2dbc.h2.codecs;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Predicate;
+
+import org.h2.value.Value;
+
+import io.github.evaggelos99.r2dbc.h2.H2MetricsListener;
+import io.github.evaggelos99.r2dbc.h2.client.Client;
+import io.github.evaggelos99.r2dbc.h2.util.Assert;
+import reactor.util.annotation.Nullable;
+
+/**
+ * An immutable set of the default {@link Codec}s in priority order. A registry
+ * is built once, e.g. per connection factory, and shared by all connections
+ * that {@link #bind(Client) bind} it to their session.
+ * <p>
+ * Codec selection only depends on the H2 value type and the Java class
+ * involved. The first matching codec in priority order is therefore remembered
+ * per value type and class so that later lookups avoid scanning the codec list.
+ */
+public final class CodecRegistry {
+
+	/**
+	 * The default number of bytes or characters per chunk when streaming a LOB.
+	 */
+	public static final int DEFAULT_LOB_CHUNK_SIZE = 8192;
+
+	/**
+	 * The number of chunks of a {@link io.r2dbc.spi.Blob} or
+	 * {@link io.r2dbc.spi.Clob} parameter that are requested ahead of the LOB
+	 * storage.
+	 */
+	static final int LOB_INGEST_PREFETCH = 2;
+
+	private static final int DATA_TYPE_COUNT = Value.TYPE_COUNT + 1;
+
+	private final List<Codec<?>> codecs;
+
+	private final int lobChunkSize;
+
+	private final ConcurrentMap<Class<?>, AtomicReferenceArray<Codec<?>>> decoders = new ConcurrentHashMap<>();
+
+	private final ConcurrentMap<Class<?>, Codec<?>> encoders = new ConcurrentHashMap<>();
+
+	private final ConcurrentMap<Class<?>, Codec<?>> nullEncoders = new ConcurrentHashMap<>();
+
+	private final AtomicReferenceArray<Class<?>> preferredTypes = new AtomicReferenceArray<>(DATA_TYPE_COUNT);
+
+	/**
+	 * Creates a new registry that searches for optional {@link Codec}s with the
+	 * class loader of this driver.
+	 */
+	public CodecRegistry() {
+		this(CodecRegistry.class.getClassLoader());
+	}
+
+	/**
+	 * Creates a new registry.
+	 *
+	 * @param classLoader used to search for optional {@link Codec}s
+	 */
+	public CodecRegistry(final ClassLoader classLoader) {
+		this(classLoader, DEFAULT_LOB_CHUNK_SIZE);
+	}
+
+	/**
+	 * Creates a new registry.
+	 *
+	 * @param classLoader  used to search for optional {@link Codec}s
+	 * @param lobChunkSize the number of bytes or characters per chunk when
+	 *                     streaming a {@link io.r2dbc.spi.Blob} or
+	 *                     {@link io.r2dbc.spi.Clob}
+	 * @throws IllegalArgumentException if {@code lobChunkSize} is not positive
+	 */
+	public CodecRegistry(final ClassLoader classLoader, final int lobChunkSize) {
+		Assert.requireTrue(lobChunkSize > 0, "lobChunkSize must be greater than zero");
+
+		this.codecs = DefaultCodecs.createCodecs(Assert.requireNonNull(classLoader, "classLoader must not be null"));
+		this.lobChunkSize = lobChunkSize;
+	}
+
+	/**
+	 * Returns the {@link Codecs} of a connection that use this registry with the
+	 * session of {@code client}.
+	 *
+	 * @param client the client of the connection
+	 * @return the {@link Codecs} of the connection
+	 */
+	public DefaultCodecs bind(final Client client) {
+		return bind(client, H2MetricsListener.NONE);
+	}
+
+	/**
+	 * Returns the {@link Codecs} of a connection that use this registry with the
+	 * session of {@code client} and report streamed LOBs to
+	 * {@code metricsListener}.
+	 *
+	 * @param client          the client of the connection
+	 * @param metricsListener the {@link H2MetricsListener} of the connection
+	 * @return the {@link Codecs} of the connection
+	 */
+	public DefaultCodecs bind(final Client client, final H2MetricsListener metricsListener) {
+		return new DefaultCodecs(this, client, metricsListener);
+	}
+
+	@Override
+	public String toString() {
+		return "CodecRegistry{" + "codecs=" + this.codecs.size() + ", lobChunkSize=" + this.lobChunkSize + '}';
+	}
+
+	int getLobChunkSize() {
+		return this.lobChunkSize;
+	}
+
+	@Nullable
+	Codec<?> findDecoder(final int dataType, final Class<?> type) {
+
+		if (!isCacheable(dataType)) {
+
+			return scan(c -> c.canDecode(dataType, type));
+		}
+
+		AtomicReferenceArray<Codec<?>> byDataType = this.decoders.get(type);
+
+		if (byDataType == null) {
+
+			byDataType = this.decoders.computeIfAbsent(type, t -> new AtomicReferenceArray<>(DATA_TYPE_COUNT));
+		}
+
+		Codec<?> codec = byDataType.get(dataType + 1);
+
+		if (codec == null) {
+
+			codec = scan(c -> c.canDecode(dataType, type));
+
+			if (codec != null) {
+
+				byDataType.set(dataType + 1, codec);
+			}
+		}
+
+		return codec;
+	}
+
+	@Nullable
+	Codec<?> findEncoder(final Object value) {
+
+		Codec<?> codec = this.encoders.get(value.getClass());
+
+		if (codec == null) {
+
+			codec = scan(c -> c.canEncode(value));
+
+			if (codec != null) {
+
+				this.encoders.putIfAbsent(value.getClass(), codec);
+			}
+		}
+
+		return codec;
+	}
+
+	@Nullable
+	Codec<?> findNullEncoder(final Class<?> type) {
+
+		Codec<?> codec = this.nullEncoders.get(type);
+
+		if (codec == null) {
+
+			codec = scan(c -> c.canEncodeNull(type));
+
+			if (codec != null) {
+
+				this.nullEncoders.putIfAbsent(type, codec);
+			}
+		}
+
+		return codec;
+	}
+
+	@Nullable
+	Class<?> preferredType(final int dataType) {
+
+		if (!isCacheable(dataType)) {
+
+			final Codec<?> codec = scan(c -> c.canDecode(dataType, Object.class));
+
+			return codec != null ? codec.type() : null;
+		}
+
+		Class<?> preferredType = this.preferredTypes.get(dataType + 1);
+
+		if (preferredType == null) {
+
+			final Codec<?> codec = scan(c -> c.canDecode(dataType, Object.class));
+
+			if (codec == null) {
+
+				return null;
+			}
+
+			preferredType = codec.type();
+			this.preferredTypes.set(dataType + 1, preferredType);
+		}
+
+		return preferredType;
+	}
+
+	/**
+	 * Returns the first {@link Codec} in priority order that matches
+	 * {@code predicate}.
+	 */
+	@Nullable
+	private Codec<?> scan(final Predicate<Codec<?>> predicate) {
+
+		for (final Codec<?> codec : this.codecs) {
+
+			if (predicate.test(codec)) {
+
+				return codec;
+			}
+		}
+
+		return null;
+	}
+
+	private static boolean isCacheable(final int dataType) {
+		return dataType >= Value.UNKNOWN && dataType < Value.TYPE_COUNT;
+	}
+}
@@ -23,27 +23,48 @@ import java.util.stream.Stream;
 import org.h2.value.Value;
 import org.h2.value.ValueNull;
 
+import io.github.evaggelos99.r2dbc.h2.H2MetricsListener;
 import io.github.evaggelos99.r2dbc.h2.client.Client;
 import io.github.evaggelos99.r2dbc.h2.util.Assert;
 import reactor.util.annotation.Nullable;
 
 /**
  * The default {@link Codecs} implementation. Delegates to type-specific codec
- * implementations.
+ * implementations of a {@link CodecRegistry} that is bound to the session of a
+ * single connection.
  */
 public final class DefaultCodecs implements Codecs {
 
-	private final List<Codec<?>> codecs;
+	private final CodecRegistry registry;
+
+	private final CodecContext context;
 
 	/**
 	 * Constructs a new DefaultCodecs (The Default {@link Codec}s list).
+	 * <p>
+	 * Prefer {@link CodecRegistry#bind(Client)} to share the codecs between
+	 * connections.
 	 *
 	 * @param client for Lobs {@link Codec}s and whose class loader is used to
 	 *               search for optional {@link Codec}s.
 	 */
 	public DefaultCodecs(final Client client) {
 
-		this.codecs = createCodecs(client, client.getClass().getClassLoader(), this);
+		this(new CodecRegistry(client.getClass().getClassLoader()), client);
+
+	}
+
+	DefaultCodecs(final CodecRegistry registry, final Client client) {
+
+		this(registry, client, H2MetricsListener.NONE);
+
+	}
+
+	DefaultCodecs(final CodecRegistry registry, final Client client, final H2MetricsListener metricsListener) {
+
+		this.registry = Assert.requireNonNull(registry, "registry must not be null");
+		this.context = new CodecContext(Assert.requireNonNull(client, "client must not be null"), this,
+				metricsListener, registry.getLobChunkSize());
 
 	}
 
@@ -59,12 +80,11 @@ public final class DefaultCodecs implements Codecs {
 			return null;
 		}
 
-		for (final Codec<?> codec : this.codecs) {
+		final Codec<?> codec = this.registry.findDecoder(dataType, type);
 
-			if (codec.canDecode(dataType, type)) {
+		if (codec != null) {
 
-				return ((Codec<T>) codec).decode(value, type);
-			}
+			return ((Codec<T>) codec).decode(value, type, this.context);
 		}
 
 		throw new IllegalArgumentException(String.format("Cannot decode value of type %s", type.getName()));
@@ -76,12 +96,11 @@ public final class DefaultCodecs implements Codecs {
 
 		Assert.requireNonNull(value, "value must not be null");
 
-		for (final Codec<?> codec : this.codecs) {
+		final Codec<?> codec = this.registry.findEncoder(value);
 
-			if (codec.canEncode(value)) {
+		if (codec != null) {
 
-				return codec.encode(value);
-			}
+			return codec.encode(value, this.context);
 		}
 
 		throw new IllegalArgumentException(
@@ -93,12 +112,11 @@ public final class DefaultCodecs implements Codecs {
 
 		Assert.requireNonNull(type, "type must not be null");
 
-		for (final Codec<?> codec : this.codecs) {
+		final Codec<?> codec = this.registry.findNullEncoder(type);
 
-			if (codec.canEncodeNull(type)) {
+		if (codec != null) {
 
-				return codec.encodeNull();
-			}
+			return codec.encodeNull();
 		}
 
 		throw new IllegalArgumentException(String.format("Cannot encode null parameter of type %s", type.getName()));
@@ -113,41 +131,31 @@ public final class DefaultCodecs implements Codecs {
 			return Void.class;
 		}
 
-		for (final Codec<?> codec : this.codecs) {
-
-			if (codec.canDecode(dataType, Object.class)) {
-
-				return codec.type();
-			}
-		}
-
-		return null;
+		return this.registry.preferredType(dataType);
 
 	}
 
 	/**
-	 * Creates Default {@link Codec}s list
+	 * Creates Default {@link Codec}s list. Session-dependent codecs obtain the
+	 * session through the {@link CodecContext} they are invoked with.
 	 *
-	 * @param client      for Lobs {@link Codec}s
 	 * @param classLoader to scan for classes
-	 * @param codecs      for codecs that rely on other codecs
 	 * @return a {@link List} of default {@link Codec}s
 	 */
-	static List<Codec<?>> createCodecs(final Client client, final ClassLoader classLoader, final Codecs codecs) {
+	static List<Codec<?>> createCodecs(final ClassLoader classLoader) {
 
 		return Stream.concat(
-				Stream.concat(Stream.of(new BigDecimalCodec(), new BlobToByteBufferCodec(client), new BlobCodec(client),
-						new BooleanCodec(), new ByteCodec(), new BytesCodec(), new ClobToStringCodec(client),
-						new ClobCodec(client), new DoubleCodec(), new FloatCodec(), new IntegerCodec(), new JsonCodec(),
-						new LocalDateCodec(), new LocalDateTimeCodec(client), new LocalTimeCodec(), new LongCodec(),
-						new OffsetDateTimeCodec(client), new OffsetTimeCodec(client), new ShortCodec(),
-						new StringCodec(), new UuidCodec(), new ZonedDateTimeCodec(client), new InstantCodec(client),
-						new IntervalCodec(), new PeriodCodec(), new DurationCodec(), new EnumCodec(client)),
-						addOptionalCodecs(classLoader)),
+				Stream.concat(Stream.of(new BigDecimalCodec(), new BlobToByteBufferCodec(), new BlobCodec(),
+						new BooleanCodec(), new ByteCodec(), new BytesCodec(), new ClobToStringCodec(), new ClobCodec(),
+						new DoubleCodec(), new FloatCodec(), new IntegerCodec(), new JsonCodec(), new LocalDateCodec(),
+						new LocalDateTimeCodec(), new LocalTimeCodec(), new LongCodec(), new OffsetDateTimeCodec(),
+						new OffsetTimeCodec(), new ShortCodec(), new StringCodec(), new UuidCodec(),
+						new ZonedDateTimeCodec(), new InstantCodec(), new IntervalCodec(), new PeriodCodec(),
+						new DurationCodec(), new EnumCodec()), addOptionalCodecs(classLoader)),
 				Stream.of(
 						// De-prioritized codecs, must be added after optional codecs to avoid stack
 						// overflow
-						new ArrayCodec(codecs), new ParameterCodec(codecs)))
+						new ArrayCodec(), new ParameterCodec()))
 				.collect(Collectors.toList());
 
 	}
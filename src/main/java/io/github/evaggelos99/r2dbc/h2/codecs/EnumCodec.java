@@ -26,11 +26,15 @@ import io.github.evaggelos99.r2dbc.h2.client.Client;
 @SuppressWarnings("rawtypes")
 public final class EnumCodec extends AbstractCodec<Enum> {
 
-	private final Client client;
+	private final CodecContext context;
+
+	EnumCodec() {
+		this(null);
+	}
 
 	EnumCodec(final Client client) {
 		super(Enum.class);
-		this.client = client;
+		this.context = new CodecContext(client, null);
 	}
 
 	@Override
@@ -49,6 +53,12 @@ public final class EnumCodec extends AbstractCodec<Enum> {
 	@Override
 	Value doEncode(final Enum value) {
 
+		return doEncode(value, this.context);
+	}
+
+	@Override
+	Value doEncode(final Enum value, final CodecContext context) {
+
 		final Object[] enumConstants = value.getDeclaringClass().getEnumConstants();
 
 		final int length = enumConstants.length;
@@ -61,7 +71,7 @@ public final class EnumCodec extends AbstractCodec<Enum> {
 			enumStrings[i] = en.name();
 		}
 
-		return new ExtTypeInfoEnum(enumStrings).getValue(value.name(), client.getSession());
+		return new ExtTypeInfoEnum(enumStrings).getValue(value.name(), context.getSession());
 	}
 
 }
\ No newline at end of file
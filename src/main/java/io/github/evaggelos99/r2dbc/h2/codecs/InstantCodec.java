@@ -30,7 +30,11 @@ import io.github.evaggelos99.r2dbc.h2.util.Assert;
  */
 public class InstantCodec extends AbstractCodec<Instant> {
 
-	private final Client client;
+	private final CodecContext context;
+
+	InstantCodec() {
+		this(null);
+	}
 
 	/**
 	 * C-or
@@ -39,7 +43,7 @@ public class InstantCodec extends AbstractCodec<Instant> {
 	 */
 	public InstantCodec(final Client client) {
 		super(Instant.class);
-		this.client = client;
+		this.context = new CodecContext(client, null);
 	}
 
 	@Override
@@ -49,9 +53,13 @@ public class InstantCodec extends AbstractCodec<Instant> {
 
 	@Override
 	Instant doDecode(final Value value, final Class<? extends Instant> type) {
-		Assert.requireType(this.client.getSession(), CastDataProvider.class,
-				"The session must implement CastDataProvider.");
-		return JSR310Utils.valueToInstant(value, this.client.getSession());
+		return doDecode(value, type, this.context);
+	}
+
+	@Override
+	Instant doDecode(final Value value, final Class<? extends Instant> type, final CodecContext context) {
+		Assert.requireType(context.getSession(), CastDataProvider.class, "The session must implement CastDataProvider.");
+		return JSR310Utils.valueToInstant(value, context.getSession());
 	}
 
 	@Override
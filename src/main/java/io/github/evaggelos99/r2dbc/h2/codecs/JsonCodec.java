@@ -37,6 +37,17 @@ final class JsonCodec extends AbstractCodec<String> {
 		return value.getString();
 	}
 
+	/**
+	 * Strings are encoded as {@code VARCHAR} by {@link StringCodec}, this codec
+	 * only decodes {@code JSON} values.
+	 */
+	@Override
+	public boolean canEncode(Object value) {
+		Assert.requireNonNull(value, "value must not be null");
+
+		return false;
+	}
+
 	@Override
 	Value doEncode(String value) {
 		return ValueJson.fromJson(Assert.requireNonNull(value, "value must not be null"));
@@ -11,11 +11,15 @@ import java.time.LocalDateTime;
 
 final class LocalDateTimeCodec extends AbstractCodec<LocalDateTime> {
 
-	private final Client client;
+	private final CodecContext context;
+
+	LocalDateTimeCodec() {
+		this(null);
+	}
 
 	LocalDateTimeCodec(Client client) {
 		super(LocalDateTime.class);
-		this.client = client;
+		this.context = new CodecContext(client, null);
 	}
 
 	@Override
@@ -25,9 +29,14 @@ final class LocalDateTimeCodec extends AbstractCodec<LocalDateTime> {
 
 	@Override
 	LocalDateTime doDecode(Value value, Class<? extends LocalDateTime> type) {
-		Assert.requireType(this.client.getSession(), CastDataProvider.class,
+		return doDecode(value, type, this.context);
+	}
+
+	@Override
+	LocalDateTime doDecode(Value value, Class<? extends LocalDateTime> type, CodecContext context) {
+		Assert.requireType(context.getSession(), CastDataProvider.class,
 				"The session must implement CastDataProvider.");
-		return (LocalDateTime) JSR310Utils.valueToLocalDateTime(value, (CastDataProvider) this.client.getSession());
+		return (LocalDateTime) JSR310Utils.valueToLocalDateTime(value, (CastDataProvider) context.getSession());
 	}
 
 	@Override
@@ -11,11 +11,15 @@ import java.time.OffsetDateTime;
 
 final class OffsetDateTimeCodec extends AbstractCodec<OffsetDateTime> {
 
-	private final Client client;
+	private final CodecContext context;
+
+	OffsetDateTimeCodec() {
+		this(null);
+	}
 
 	OffsetDateTimeCodec(Client client) {
 		super(OffsetDateTime.class);
-		this.client = client;
+		this.context = new CodecContext(client, null);
 	}
 
 	@Override
@@ -25,9 +29,14 @@ final class OffsetDateTimeCodec extends AbstractCodec<OffsetDateTime> {
 
 	@Override
 	OffsetDateTime doDecode(Value value, Class<? extends OffsetDateTime> type) {
-		Assert.requireType(this.client.getSession(), CastDataProvider.class,
+		return doDecode(value, type, this.context);
+	}
+
+	@Override
+	OffsetDateTime doDecode(Value value, Class<? extends OffsetDateTime> type, CodecContext context) {
+		Assert.requireType(context.getSession(), CastDataProvider.class,
 				"The session must implement CastDataProvider.");
-		return (OffsetDateTime) JSR310Utils.valueToOffsetDateTime(value, (CastDataProvider) this.client.getSession());
+		return (OffsetDateTime) JSR310Utils.valueToOffsetDateTime(value, (CastDataProvider) context.getSession());
 	}
 
 	@Override
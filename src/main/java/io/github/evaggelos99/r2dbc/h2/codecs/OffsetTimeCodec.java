@@ -11,11 +11,15 @@ import java.time.OffsetTime;
 
 final class OffsetTimeCodec extends AbstractCodec<OffsetTime> {
 
-	private final Client client;
+	private final CodecContext context;
+
+	OffsetTimeCodec() {
+		this(null);
+	}
 
 	OffsetTimeCodec(Client client) {
 		super(OffsetTime.class);
-		this.client = client;
+		this.context = new CodecContext(client, null);
 	}
 
 	@Override
@@ -25,9 +29,14 @@ final class OffsetTimeCodec extends AbstractCodec<OffsetTime> {
 
 	@Override
 	OffsetTime doDecode(Value value, Class<? extends OffsetTime> type) {
-		Assert.requireType(this.client.getSession(), CastDataProvider.class,
+		return doDecode(value, type, this.context);
+	}
+
+	@Override
+	OffsetTime doDecode(Value value, Class<? extends OffsetTime> type, CodecContext context) {
+		Assert.requireType(context.getSession(), CastDataProvider.class,
 				"The session must implement CastDataProvider.");
-		return (OffsetTime) JSR310Utils.valueToOffsetTime(value, (CastDataProvider) this.client.getSession());
+		return (OffsetTime) JSR310Utils.valueToOffsetTime(value, (CastDataProvider) context.getSession());
 	}
 
 	@Override
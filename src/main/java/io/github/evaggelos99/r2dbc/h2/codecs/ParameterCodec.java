@@ -1,15 +1,23 @@
 package io.github.evaggelos99.r2dbc.h2.codecs;
 
 import io.r2dbc.spi.Parameter;
+import io.r2dbc.spi.R2dbcType;
+import io.r2dbc.spi.Type;
 import org.h2.value.Value;
 
+import java.nio.ByteBuffer;
+
 final class ParameterCodec extends AbstractCodec<Parameter> {
 
-	private final Codecs codecs;
+	private final CodecContext context;
+
+	ParameterCodec() {
+		this(null);
+	}
 
 	ParameterCodec(Codecs codecs) {
 		super(Parameter.class);
-		this.codecs = codecs;
+		this.context = new CodecContext(null, codecs);
 	}
 
 	@Override
@@ -19,15 +27,42 @@ final class ParameterCodec extends AbstractCodec<Parameter> {
 
 	@Override
 	Parameter doDecode(Value value, Class<? extends Parameter> type) {
-		return this.codecs.decode(value, value.getValueType(), type);
+		return doDecode(value, type, this.context);
+	}
+
+	@Override
+	Parameter doDecode(Value value, Class<? extends Parameter> type, CodecContext context) {
+		return context.getCodecs().decode(value, value.getValueType(), type);
 	}
 
 	@Override
 	Value doEncode(Parameter value) {
+		return doEncode(value, this.context);
+	}
+
+	@Override
+	Value doEncode(Parameter value, CodecContext context) {
 		if (value == null || value.getValue() == null) {
 			return this.encodeNull();
 		}
 
-		return this.codecs.encode(value.getValue());
+		Object parameter = value.getValue();
+		Type type = value.getType();
+
+		// plain values are encoded as VARCHAR and VARBINARY and converted by H2 if the target is a LOB, so a
+		// temporary LOB is only created if the parameter asks for one
+		if ((type == R2dbcType.CLOB || type == R2dbcType.NCLOB) && parameter instanceof String) {
+			return ClobToStringCodec.createClob((String) parameter, context);
+		}
+
+		if (type == R2dbcType.BLOB && parameter instanceof ByteBuffer) {
+			return BlobToByteBufferCodec.createBlob((ByteBuffer) parameter, context);
+		}
+
+		if (type == R2dbcType.BLOB && parameter instanceof byte[]) {
+			return BlobToByteBufferCodec.createBlob(ByteBuffer.wrap((byte[]) parameter), context);
+		}
+
+		return context.getCodecs().encode(parameter);
 	}
 }
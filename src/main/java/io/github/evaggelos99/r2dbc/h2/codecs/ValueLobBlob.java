@@ -16,83 +16,178 @@
 
 package io.github.evaggelos99.r2dbc.h2.codecs;
 
-import io.r2dbc.spi.Blob;
+import io.github.evaggelos99.r2dbc.h2.H2Blob;
+import io.github.evaggelos99.r2dbc.h2.H2MetricsListener;
+import io.github.evaggelos99.r2dbc.h2.client.TemporaryLobs;
+import io.github.evaggelos99.r2dbc.h2.util.Assert;
 import org.h2.value.Value;
 import org.reactivestreams.Publisher;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.publisher.SynchronousSink;
 import reactor.core.scheduler.Schedulers;
+import reactor.util.annotation.Nullable;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
-import java.util.Arrays;
 
 /**
- * Implement {@link Blob}.
+ * Implement {@link H2Blob}.
  */
-class ValueLobBlob implements Blob {
+class ValueLobBlob implements H2Blob {
 
 	private final Value lobDb;
 
-	private SynchronousSink<ByteBuffer> valueLobHandlerSink;
+	private final H2MetricsListener metricsListener;
+
+	private final TemporaryLobs temporaryLobs;
+
+	private final int chunkSize;
 
 	ValueLobBlob(Value value) {
+		this(value, H2MetricsListener.NONE);
+	}
+
+	ValueLobBlob(Value value, H2MetricsListener metricsListener) {
+		this(value, metricsListener, null, CodecRegistry.DEFAULT_LOB_CHUNK_SIZE);
+	}
+
+	ValueLobBlob(Value value, H2MetricsListener metricsListener, @Nullable TemporaryLobs temporaryLobs,
+			int chunkSize) {
 		this.lobDb = value;
+		this.metricsListener = metricsListener;
+		this.temporaryLobs = temporaryLobs != null ? temporaryLobs : new TemporaryLobs();
+		this.chunkSize = chunkSize;
+	}
+
+	@Override
+	public long length() {
+		return this.lobDb.octetLength();
 	}
 
 	/**
-	 * Open the {@link org.h2.value.ValueBlob}/{@link V}'s {@link InputStream} and
-	 * pipe the bytes into a {@link Flux}.
+	 * Open the {@link org.h2.value.ValueBlob}'s {@link InputStream} and pipe the
+	 * bytes into a {@link Flux} of chunks of up to the configured LOB chunk size.
+	 * The bytes are read directly into the buffer of each chunk. Every emitted
+	 * {@link ByteBuffer} is owned by the subscriber and not used by the driver
+	 * afterwards.
 	 */
 	@Override
 	public Flux<ByteBuffer> stream() {
-		return Flux.<ByteBuffer, InputStream>generate(this.lobDb::getInputStream, (source, sink) -> {
-			this.valueLobHandlerSink = sink;
-			try {
-				byte[] data = new byte[1024];
-				int readBytes = source.read(data);
-
-				// End of the source's data.
-				if (readBytes == -1) {
-					sink.complete();
+		return stream(0, length());
+	}
+
+	/**
+	 * Stream a range of the bytes like {@link #stream()}. The
+	 * {@link InputStream} of the range skips the LOB storage's blocks before
+	 * {@code offset} without reading them.
+	 */
+	@Override
+	public Flux<ByteBuffer> stream(long offset, long length) {
+		Assert.requireTrue(offset >= 0, "offset must not be negative");
+		Assert.requireTrue(length >= 0, "length must not be negative");
+
+		long octetLength = length();
+		Assert.requireTrue(offset <= octetLength, "offset must not be greater than the length of the Blob");
+
+		long rangeLength = Math.min(length, octetLength - offset);
+
+		if (rangeLength == 0) {
+			return Flux.empty();
+		}
+
+		Flux<ByteBuffer> stream = Flux.<ByteBuffer, Source>generate(() -> new Source(this.lobDb, offset, rangeLength),
+				(source, sink) -> {
+					try {
+						ByteBuffer chunk = source.read(this.chunkSize);
+
+						// End of the source's data.
+						if (chunk == null) {
+							sink.complete();
+							return source;
+						}
+
+						sink.next(chunk);
+					} catch (IOException e) {
+						sink.error(e);
+					}
+
 					return source;
-				}
+				}, source -> {
+					// When the Flux is terminated or cancelled
+					try {
+						source.in.close();
+					} catch (IOException e) {
+						throw new RuntimeException(e);
+					}
+				}).subscribeOn(Schedulers.boundedElastic()).cancelOn(Schedulers.boundedElastic());
 
-				// Wrap the data buffer into a ByteBuffer of proper length.
-				sink.next(wrap(data, readBytes));
-			} catch (IOException e) {
-				sink.error(e);
-			}
+		if (this.metricsListener == H2MetricsListener.NONE) {
+			return stream;
+		}
 
-			return source;
-		}, source -> {
-			// When the Flux is terminated or cancelled
-			try {
-				source.close();
-			} catch (IOException e) {
-				throw new RuntimeException(e);
-			}
-		}).subscribeOn(Schedulers.boundedElastic()).cancelOn(Schedulers.boundedElastic());
+		return stream.doOnNext(chunk -> this.metricsListener.onLobStreamed(chunk.remaining()));
 	}
 
+	/**
+	 * Removes the LOB from the LOB storage unless it is stored in a table. A
+	 * temporary LOB created for a parameter is released from the
+	 * {@link TemporaryLobs} of its connection.
+	 */
 	@Override
 	public Publisher<Void> discard() {
-		return Mono.fromRunnable(() -> this.valueLobHandlerSink.complete()).then();
+		return Mono.fromRunnable(() -> this.temporaryLobs.discard(this.lobDb));
 	}
 
 	/**
-	 * Transform a raw {@link byte[]} into a {@link ByteBuffer}.
-	 *
-	 * @param data
-	 * @param readBytes
+	 * The {@link InputStream} of a subscription to {@link #stream(long, long)} and
+	 * the number of bytes that are left to read from it.
 	 */
-	ByteBuffer wrap(byte[] data, int readBytes) {
-		if (readBytes < data.length) {
-			return ByteBuffer.wrap(Arrays.copyOfRange(data, 0, readBytes));
+	private static final class Source {
+
+		private final InputStream in;
+
+		private long remaining;
+
+		private Source(Value value, long offset, long length) {
+			// H2 positions are one-based
+			this.in = offset == 0 ? value.getInputStream() : value.getInputStream(offset + 1, length);
+			this.remaining = length;
 		}
 
-		return ByteBuffer.wrap(data, 0, readBytes);
+		/**
+		 * Read the next chunk, sized to the bytes that are left so that the last
+		 * chunk doesn't allocate a full buffer.
+		 *
+		 * @return the next chunk or {@code null} at the end of the data
+		 */
+		@Nullable
+		private ByteBuffer read(int chunkSize) throws IOException {
+			if (this.remaining <= 0) {
+				return null;
+			}
+
+			byte[] data = new byte[(int) Math.min(chunkSize, this.remaining)];
+			int length = 0;
+
+			while (length < data.length) {
+				int read = this.in.read(data, length, data.length - length);
+
+				if (read == -1) {
+					break;
+				}
+
+				length += read;
+			}
+
+			if (length == 0) {
+				this.remaining = 0;
+				return null;
+			}
+
+			this.remaining -= length;
+
+			return ByteBuffer.wrap(data, 0, length);
+		}
 	}
 }
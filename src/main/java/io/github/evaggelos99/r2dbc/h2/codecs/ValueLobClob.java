@@ -18,47 +18,95 @@ package io.github.evaggelos99.r2dbc.h2.codecs;
 
 import java.io.IOException;
 import java.io.InputStreamReader;
-import java.nio.charset.Charset;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 
-import io.r2dbc.spi.Clob;
+import io.github.evaggelos99.r2dbc.h2.H2Clob;
+import io.github.evaggelos99.r2dbc.h2.H2MetricsListener;
+import io.github.evaggelos99.r2dbc.h2.client.TemporaryLobs;
+import io.github.evaggelos99.r2dbc.h2.util.Assert;
 import org.h2.value.Value;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.publisher.SynchronousSink;
 import reactor.core.scheduler.Schedulers;
+import reactor.util.annotation.Nullable;
 
 /**
- * Implement {@link Clob}.
+ * Implement {@link H2Clob}.
  */
-class ValueLobClob implements Clob {
-
-	private static final Charset ENCODING = Charset.forName("UTF-8");
+class ValueLobClob implements H2Clob {
 
 	private final Value lobDb;
 
-	private SynchronousSink<CharSequence> valueLobHandlerSink;
+	private final H2MetricsListener metricsListener;
+
+	private final TemporaryLobs temporaryLobs;
+
+	private final int chunkSize;
 
 	ValueLobClob(Value value) {
+		this(value, H2MetricsListener.NONE);
+	}
+
+	ValueLobClob(Value value, H2MetricsListener metricsListener) {
+		this(value, metricsListener, null, CodecRegistry.DEFAULT_LOB_CHUNK_SIZE);
+	}
+
+	ValueLobClob(Value value, H2MetricsListener metricsListener, @Nullable TemporaryLobs temporaryLobs,
+			int chunkSize) {
 		this.lobDb = value;
+		this.metricsListener = metricsListener;
+		this.temporaryLobs = temporaryLobs != null ? temporaryLobs : new TemporaryLobs();
+		this.chunkSize = chunkSize;
+	}
+
+	@Override
+	public long length() {
+		return this.lobDb.charLength();
 	}
 
+	/**
+	 * Decode the {@link org.h2.value.ValueClob}'s characters into a {@link Flux}
+	 * of chunks of up to the configured LOB chunk size. A subscription reads all
+	 * chunks through the same buffer, every emitted {@link String} is a copy owned
+	 * by the subscriber.
+	 */
 	@Override
 	public Flux<CharSequence> stream() {
-		return Flux.<CharSequence, InputStreamReader>generate(
-				() -> new InputStreamReader(this.lobDb.getInputStream(), ENCODING), (source, sink) -> {
-					this.valueLobHandlerSink = sink;
+		return stream(0, length());
+	}
+
+	/**
+	 * Stream a range of the characters like {@link #stream()}. The characters
+	 * before {@code offset} are decoded to find the start of the range, as their
+	 * UTF-8 length is not known, but are not emitted.
+	 */
+	@Override
+	public Flux<CharSequence> stream(long offset, long length) {
+		Assert.requireTrue(offset >= 0, "offset must not be negative");
+		Assert.requireTrue(length >= 0, "length must not be negative");
+
+		long charLength = length();
+		Assert.requireTrue(offset <= charLength, "offset must not be greater than the length of the Clob");
+
+		long rangeLength = Math.min(length, charLength - offset);
+
+		if (rangeLength == 0) {
+			return Flux.empty();
+		}
+
+		Flux<CharSequence> stream = Flux.<CharSequence, Source>generate(
+				() -> new Source(this.lobDb, offset, rangeLength, this.chunkSize), (source, sink) -> {
 					try {
-						char[] data = new char[256];
-						int readBytes = source.read(data);
+						int read = source.read();
 
 						// End of the source's data.
-						if (readBytes == -1) {
+						if (read == 0) {
 							sink.complete();
 							return source;
 						}
 
-						// Wrap the data buffer in the target type and put it into the Flux
-						sink.next(new String(data, 0, readBytes));
+						sink.next(new String(source.buffer, 0, read));
 					} catch (IOException e) {
 						sink.error(e);
 					}
@@ -67,15 +115,72 @@ class ValueLobClob implements Clob {
 				}, source -> {
 					// When the Flux is terminated or cancelled
 					try {
-						source.close();
+						source.reader.close();
 					} catch (IOException e) {
 						throw new RuntimeException(e);
 					}
 				}).subscribeOn(Schedulers.boundedElastic()).cancelOn(Schedulers.boundedElastic());
+
+		if (this.metricsListener == H2MetricsListener.NONE) {
+			return stream;
+		}
+
+		return stream.doOnNext(chunk -> this.metricsListener.onLobStreamed(chunk.length()));
 	}
 
+	/**
+	 * Removes the LOB from the LOB storage unless it is stored in a table. A
+	 * temporary LOB created for a parameter is released from the
+	 * {@link TemporaryLobs} of its connection.
+	 */
 	@Override
 	public Mono<Void> discard() {
-		return Mono.fromRunnable(() -> this.valueLobHandlerSink.complete()).then();
+		return Mono.fromRunnable(() -> this.temporaryLobs.discard(this.lobDb));
+	}
+
+	/**
+	 * The {@link Reader} of a subscription to {@link #stream(long, long)}, the
+	 * buffer its chunks are read into and the number of characters that are left
+	 * to read from it.
+	 */
+	private static final class Source {
+
+		private final Reader reader;
+
+		private final char[] buffer;
+
+		private long remaining;
+
+		private Source(Value value, long offset, long length, int chunkSize) {
+			// H2 positions are one-based
+			this.reader = offset == 0 ? new InputStreamReader(value.getInputStream(), StandardCharsets.UTF_8)
+					: value.getReader(offset + 1, length);
+			this.buffer = new char[(int) Math.max(1, Math.min(chunkSize, length))];
+			this.remaining = length;
+		}
+
+		/**
+		 * Fill the buffer with the next chunk.
+		 *
+		 * @return the number of characters read, {@code 0} at the end of the data
+		 */
+		private int read() throws IOException {
+			int limit = (int) Math.min(this.buffer.length, this.remaining);
+			int length = 0;
+
+			while (length < limit) {
+				int read = this.reader.read(this.buffer, length, limit - length);
+
+				if (read == -1) {
+					break;
+				}
+
+				length += read;
+			}
+
+			this.remaining -= length;
+
+			return length;
+		}
 	}
 }
@@ -11,11 +11,15 @@ import java.time.ZonedDateTime;
 
 final class ZonedDateTimeCodec extends AbstractCodec<ZonedDateTime> {
 
-	private final Client client;
+	private final CodecContext context;
+
+	ZonedDateTimeCodec() {
+		this(null);
+	}
 
 	ZonedDateTimeCodec(Client client) {
 		super(ZonedDateTime.class);
-		this.client = client;
+		this.context = new CodecContext(client, null);
 	}
 
 	@Override
@@ -25,9 +29,14 @@ final class ZonedDateTimeCodec extends AbstractCodec<ZonedDateTime> {
 
 	@Override
 	ZonedDateTime doDecode(Value value, Class<? extends ZonedDateTime> type) {
-		Assert.requireType(this.client.getSession(), CastDataProvider.class,
+		return doDecode(value, type, this.context);
+	}
+
+	@Override
+	ZonedDateTime doDecode(Value value, Class<? extends ZonedDateTime> type, CodecContext context) {
+		Assert.requireType(context.getSession(), CastDataProvider.class,
 				"The session must implement CastDataProvider.");
-		return (ZonedDateTime) JSR310Utils.valueToZonedDateTime(value, (CastDataProvider) this.client.getSession());
+		return (ZonedDateTime) JSR310Utils.valueToZonedDateTime(value, (CastDataProvider) context.getSession());
 	}
 
 	@Override
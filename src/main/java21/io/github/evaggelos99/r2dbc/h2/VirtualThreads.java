@@ -0,0 +1,58 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.evaggelos99.r2dbc.h2;
+
+import java.util.Optional;
+import java.util.concurrent.Executors;
+
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Access to a virtual-thread backed {@link Scheduler}. This is the Java 21
+ * variant of the multi-release jar.
+ */
+final class VirtualThreads {
+
+	private VirtualThreads() {
+	}
+
+	/**
+	 * Returns whether virtual threads are available on the running JVM.
+	 *
+	 * @return {@code true}
+	 */
+	static boolean isSupported() {
+		return true;
+	}
+
+	/**
+	 * Returns the shared virtual-thread backed {@link Scheduler}, which starts a
+	 * new virtual thread per task.
+	 *
+	 * @return the virtual-thread backed {@link Scheduler}
+	 */
+	static Optional<Scheduler> scheduler() {
+		return Optional.of(Holder.SCHEDULER);
+	}
+
+	private static final class Holder {
+
+		private static final Scheduler SCHEDULER = Schedulers
+				.fromExecutorService(Executors.newVirtualThreadPerTaskExecutor(), "r2dbc-h2-virtual");
+	}
+}
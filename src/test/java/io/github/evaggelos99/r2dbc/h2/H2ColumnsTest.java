@@ -0,0 +1,114 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.evaggelos99.r2dbc.h2;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+final class H2ColumnsTest {
+
+	private H2Connection connection;
+
+	@BeforeEach
+	void setUp() {
+		this.connection = new H2ConnectionFactory(
+				H2ConnectionConfiguration.builder().inMemory(UUID.randomUUID().toString()).build()).create().block();
+		Flux.from(this.connection.createStatement("CREATE TABLE test (i INT, l BIGINT, d DOUBLE, b BOOLEAN, "
+				+ "s VARCHAR(16), n DECIMAL(10, 2))").execute()).flatMap(H2Result::getRowsUpdated).blockLast();
+	}
+
+	@AfterEach
+	void tearDown() {
+		this.connection.close().block();
+	}
+
+	@Test
+	void collectColumns() {
+		Flux.from(this.connection.createStatement("INSERT INTO test VALUES (1, 10, 1.5, TRUE, 'a', 1.25), "
+				+ "(NULL, NULL, NULL, NULL, NULL, NULL), (3, 30, 3.5, FALSE, 'b', 3.75), (4, 40, 4.5, TRUE, 'a', 4)")
+				.execute()).flatMap(H2Result::getRowsUpdated).blockLast();
+
+		this.connection.createStatement("SELECT * FROM test").execute().flatMap(H2Result::collectColumns)
+				.as(StepVerifier::create).assertNext(columns -> {
+					assertThat(columns.getRowCount()).isEqualTo(4);
+					assertThat(columns.getColumnCount()).isEqualTo(6);
+
+					assertThat(columns.getKind(0)).isEqualTo(H2Columns.Kind.INT);
+					assertThat(columns.getInts(0)).containsExactly(1, 0, 3, 4);
+					assertThat(columns.getLongs(1)).containsExactly(10L, 0L, 30L, 40L);
+					assertThat(columns.getDoubles(2)).containsExactly(1.5, 0, 3.5, 4.5);
+					assertThat(columns.getBooleans(3)).containsExactly(true, false, false, true);
+
+					assertThat(columns.getKind(4)).isEqualTo(H2Columns.Kind.DICTIONARY);
+					assertThat(columns.getDictionary(4)).containsExactly("a", "b");
+					assertThat(columns.getDictionaryCodes(4)).containsExactly(0, -1, 1, 0);
+
+					assertThat(columns.getKind(5)).isEqualTo(H2Columns.Kind.OBJECT);
+					assertThat(columns.getObjects(5)).containsExactly(new BigDecimal("1.25"), null,
+							new BigDecimal("3.75"), new BigDecimal("4.00"));
+
+					for (int column = 0; column < columns.getColumnCount(); column++) {
+						assertThat(columns.getNulls(column).cardinality()).isEqualTo(1);
+						assertThat(columns.isNull(column, 1)).isTrue();
+					}
+				}).verifyComplete();
+	}
+
+	@Test
+	void collectColumnsEmpty() {
+		this.connection.createStatement("SELECT * FROM test").execute().flatMap(H2Result::collectColumns)
+				.as(StepVerifier::create).assertNext(columns -> {
+					assertThat(columns.getRowCount()).isZero();
+					assertThat(columns.getInts(0)).isEmpty();
+					assertThat(columns.getDictionary(4)).isEmpty();
+				}).verifyComplete();
+	}
+
+	@Test
+	void collectColumnsGrowsVectors() {
+		this.connection.createStatement("SELECT CAST(X AS INT) FROM SYSTEM_RANGE(1, 100)").execute()
+				.flatMap(H2Result::collectColumns).as(StepVerifier::create).assertNext(columns -> {
+					assertThat(columns.getRowCount()).isEqualTo(100);
+					assertThat(columns.getInts(0)).hasSize(100).startsWith(1, 2).endsWith(100);
+					assertThat(columns.getNulls(0).isEmpty()).isTrue();
+				}).verifyComplete();
+	}
+
+	@Test
+	void collectColumnsUpdateCount() {
+		this.connection.createStatement("INSERT INTO test (i) VALUES (1)").execute().flatMap(H2Result::collectColumns)
+				.as(StepVerifier::create).verifyComplete();
+	}
+
+	@Test
+	void wrongKind() {
+		this.connection.createStatement("SELECT * FROM test").execute().flatMap(H2Result::collectColumns)
+				.as(StepVerifier::create).assertNext(columns -> assertThatIllegalArgumentException()
+						.isThrownBy(() -> columns.getLongs(0)).withMessage("Column 0 is not a LONG column"))
+				.verifyComplete();
+	}
+}
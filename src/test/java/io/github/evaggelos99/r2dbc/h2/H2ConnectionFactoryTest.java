@@ -28,7 +28,10 @@ import org.junit.jupiter.api.Test;
 import org.springframework.util.FileSystemUtils;
 
 import io.github.evaggelos99.r2dbc.h2.client.Client;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 import reactor.test.StepVerifier;
 
 final class H2ConnectionFactoryTest {
@@ -74,6 +77,49 @@ final class H2ConnectionFactoryTest {
 		new H2ConnectionFactory(configuration).create().as(StepVerifier::create).expectNextCount(1).verifyComplete();
 	}
 
+	@Test
+	void defaultScheduler() {
+		final H2ConnectionConfiguration configuration = H2ConnectionConfiguration.builder().inMemory("in-memory-db")
+				.build();
+
+		assertThat(configuration.getScheduler()).isSameAs(Schedulers.boundedElastic());
+	}
+
+	@Test
+	void executesOnConfiguredScheduler() {
+		final Scheduler scheduler = Schedulers.newSingle("h2-test");
+		final H2ConnectionConfiguration configuration = H2ConnectionConfiguration.builder()
+				.inMemory("scheduled-database").username("sa").password("").scheduler(scheduler).build();
+
+		try {
+			Flux.usingWhen(new H2ConnectionFactory(configuration).create(),
+					connection -> connection.createStatement("SELECT 1").execute()
+							.map(result -> Thread.currentThread().getName()),
+					H2Connection::close).as(StepVerifier::create).assertNext(thread -> assertThat(thread).startsWith("h2-test"))
+					.verifyComplete();
+		} finally {
+			scheduler.dispose();
+		}
+	}
+
+	@Test
+	void virtualThreads() {
+		if (VirtualThreads.isSupported()) {
+			assertThat(H2ConnectionConfiguration.builder().inMemory("in-memory-db").virtualThreads(true).build()
+					.getScheduler()).isSameAs(VirtualThreads.scheduler().get());
+		} else {
+			assertThatIllegalArgumentException()
+					.isThrownBy(() -> H2ConnectionConfiguration.builder().virtualThreads(true))
+					.withMessage("virtualThreads requires Java 21 or newer");
+		}
+	}
+
+	@Test
+	void invalidScheduler() {
+		assertThatIllegalArgumentException().isThrownBy(() -> H2ConnectionConfiguration.builder().scheduler(null))
+				.withMessage("scheduler must not be null");
+	}
+
 	@Test
 	void getMetadata() {
 		final H2ConnectionConfiguration configuration = H2ConnectionConfiguration.builder().url("mem").build();
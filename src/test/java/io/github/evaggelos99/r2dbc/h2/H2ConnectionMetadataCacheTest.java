@@ -0,0 +1,95 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.evaggelos99.r2dbc.h2;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.RETURNS_SMART_NULLS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.Properties;
+import java.util.UUID;
+
+import org.h2.engine.ConnectionInfo;
+import org.h2.engine.Constants;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.github.evaggelos99.r2dbc.h2.client.Client;
+import io.github.evaggelos99.r2dbc.h2.client.SessionClient;
+import io.github.evaggelos99.r2dbc.h2.util.H2TcpServerExtension;
+
+final class H2ConnectionMetadataCacheTest {
+
+	@RegisterExtension
+	static final H2TcpServerExtension SERVER = new H2TcpServerExtension();
+
+	private final Client client = mock(Client.class, RETURNS_SMART_NULLS);
+
+	private final H2ConnectionMetadataCache cache = new H2ConnectionMetadataCache();
+
+	@Test
+	void embeddedWithoutQuery() {
+		SessionClient sessionClient = new SessionClient(
+				new ConnectionInfo("jdbc:h2:mem:" + UUID.randomUUID(), new Properties(), "sa", ""), true);
+
+		try {
+			when(this.client.getSession()).thenReturn(sessionClient.getSession());
+
+			assertThat(this.cache.get(this.client).getDatabaseVersion()).isEqualTo(Constants.VERSION);
+			verify(this.client, never()).prepareCommand("CALL H2VERSION()", Collections.emptyList());
+		} finally {
+			sessionClient.close().block();
+		}
+	}
+
+	@Test
+	void remoteQueriedOnce() {
+		SessionClient sessionClient = new SessionClient(new ConnectionInfo("jdbc:h2:" + SERVER.getUrl(),
+				new Properties(), SERVER.getUsername(), SERVER.getPassword()), false);
+
+		try {
+			when(this.client.getSession()).thenReturn(sessionClient.getSession());
+			when(this.client.prepareCommand("CALL H2VERSION()", Collections.emptyList()))
+					.thenReturn(Collections.emptyIterator());
+
+			H2ConnectionMetadata metadata = this.cache.get(this.client);
+
+			assertThat(this.cache.get(this.client)).isSameAs(metadata);
+			verify(this.client, times(1)).prepareCommand("CALL H2VERSION()", Collections.emptyList());
+		} finally {
+			sessionClient.close().block();
+		}
+	}
+
+	@Test
+	void queryVersion() {
+		SessionClient sessionClient = new SessionClient(new ConnectionInfo("jdbc:h2:" + SERVER.getUrl(),
+				new Properties(), SERVER.getUsername(), SERVER.getPassword()), false);
+
+		try {
+			assertThat(H2ConnectionMetadataCache.query(sessionClient).getDatabaseVersion())
+					.startsWith(Constants.VERSION);
+		} finally {
+			sessionClient.close().block();
+		}
+	}
+}
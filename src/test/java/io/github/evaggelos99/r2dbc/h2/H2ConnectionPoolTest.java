@@ -0,0 +1,285 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.evaggelos99.r2dbc.h2;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.r2dbc.spi.IsolationLevel;
+import io.r2dbc.spi.R2dbcNonTransientResourceException;
+import io.r2dbc.spi.ValidationDepth;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+final class H2ConnectionPoolTest {
+
+	private final String database = UUID.randomUUID().toString();
+
+	private H2ConnectionPool pool;
+
+	@AfterEach
+	void tearDown() {
+		if (this.pool != null) {
+			this.pool.close().block();
+		}
+	}
+
+	@Test
+	void reuseSession() {
+		this.pool = newPool(1, 0, Duration.ofMinutes(1));
+
+		H2Connection first = this.pool.acquire().block();
+		first.close().block();
+		H2Connection second = this.pool.acquire().block();
+
+		assertThat(second).isNotSameAs(first);
+		assertThat(second.getCommandCache()).isSameAs(first.getCommandCache());
+		assertThat(this.pool.getAllocatedSize()).isEqualTo(1);
+	}
+
+	@Test
+	void closeLeaseOnlyOnce() {
+		this.pool = newPool(1, 0, Duration.ofMinutes(1));
+
+		H2Connection connection = this.pool.acquire().block();
+		connection.close().block();
+		connection.close().block();
+
+		assertThat(this.pool.getIdleSize()).isEqualTo(1);
+	}
+
+	@Test
+	void validateReusesCommand() {
+		this.pool = newPool(1, 0, Duration.ofMinutes(1));
+
+		this.pool.acquire().block().close().block();
+		this.pool.acquire().block().close().block();
+
+		H2Connection connection = this.pool.acquire().block();
+		long misses = connection.getCommandCache().getMissCount();
+		long hits = connection.getCommandCache().getHitCount();
+		connection.close().block();
+		this.pool.acquire().block().close().block();
+
+		assertThat(connection.getCommandCache().getMissCount()).isEqualTo(misses);
+		assertThat(connection.getCommandCache().getHitCount()).isEqualTo(hits + 1);
+	}
+
+	@Test
+	void rejectUseOfClosedLease() {
+		this.pool = newPool(1, 0, Duration.ofMinutes(1));
+
+		H2Connection closed = this.pool.acquire().block();
+		closed.close().block();
+
+		H2Connection connection = this.pool.acquire().block();
+		Flux.from(connection.createStatement("CREATE TABLE test (id INT)").execute()).blockLast();
+		connection.beginTransaction().thenMany(connection.createStatement("INSERT INTO test VALUES (1)").execute())
+				.flatMap(H2Result::getRowsUpdated).blockLast();
+
+		closed.commitTransaction().as(StepVerifier::create).verifyError(R2dbcNonTransientResourceException.class);
+		closed.setAutoCommit(true).as(StepVerifier::create).verifyError(R2dbcNonTransientResourceException.class);
+		closed.validate(ValidationDepth.LOCAL).as(StepVerifier::create)
+				.verifyError(R2dbcNonTransientResourceException.class);
+		closed.copyIn("test", Collections.singletonList("id"), Flux.<Object[]>just(new Object[] { 2 }))
+				.as(StepVerifier::create).verifyError(R2dbcNonTransientResourceException.class);
+		assertThatExceptionOfType(R2dbcNonTransientResourceException.class)
+				.isThrownBy(() -> closed.createStatement("COMMIT"));
+		assertThatExceptionOfType(R2dbcNonTransientResourceException.class).isThrownBy(closed::createBatch);
+
+		connection.rollbackTransaction().block();
+
+		Flux.from(connection.createStatement("SELECT COUNT(*) FROM test").execute())
+				.flatMap(result -> result.map((row, metadata) -> row.get(0, Long.class))).as(StepVerifier::create)
+				.expectNext(0L).verifyComplete();
+	}
+
+	@Test
+	void resetSessionOnRelease() {
+		this.pool = newPool(1, 0, Duration.ofMinutes(1));
+
+		H2Connection connection = this.pool.acquire().block();
+		Flux.from(connection.createStatement("CREATE TABLE test (id INT)").execute()).blockLast();
+		connection.beginTransaction().then(connection.setTransactionIsolationLevel(IsolationLevel.SERIALIZABLE))
+				.thenMany(connection.createStatement("INSERT INTO test VALUES (1)").execute())
+				.flatMap(H2Result::getRowsUpdated).then(connection.close()).block();
+
+		H2Connection next = this.pool.acquire().block();
+
+		assertThat(next.isAutoCommit()).isTrue();
+		assertThat(next.getTransactionIsolationLevel()).isEqualTo(IsolationLevel.READ_COMMITTED);
+		Flux.from(next.createStatement("SELECT COUNT(*) FROM test").execute())
+				.flatMap(result -> result.map((row, metadata) -> row.get(0, Long.class))).as(StepVerifier::create)
+				.expectNext(0L).verifyComplete();
+	}
+
+	@Test
+	void resetTimeoutsOnRelease() {
+		this.pool = newPool(1, 0, Duration.ofMinutes(1));
+
+		H2Connection connection = this.pool.acquire().block();
+		int lockTimeout = lockTimeout(connection);
+		connection.setLockWaitTimeout(Duration.ofMillis(lockTimeout + 1234))
+				.then(connection.setStatementTimeout(Duration.ofSeconds(5))).then(connection.close()).block();
+
+		H2Connection next = this.pool.acquire().block();
+
+		assertThat(lockTimeout(next)).isEqualTo(lockTimeout);
+		Flux.from(next.createStatement("SELECT SETTING_VALUE FROM INFORMATION_SCHEMA.SETTINGS "
+				+ "WHERE SETTING_NAME = 'QUERY_TIMEOUT'").execute())
+				.flatMap(result -> result.map((row, metadata) -> row.get(0, String.class))).as(StepVerifier::create)
+				.expectNext("0").verifyComplete();
+	}
+
+	@Test
+	void waitForRelease() {
+		this.pool = newPool(1, 0, Duration.ofMinutes(1));
+
+		H2Connection first = this.pool.acquire().block();
+		Mono<H2Connection> second = this.pool.acquire().cache();
+		second.subscribe();
+
+		assertThat(this.pool.getPendingSize()).isEqualTo(1);
+
+		first.close().block();
+
+		second.as(StepVerifier::create).expectNextCount(1).verifyComplete();
+		assertThat(this.pool.getPendingSize()).isZero();
+		assertThat(this.pool.getAllocatedSize()).isEqualTo(1);
+	}
+
+	@Test
+	void cancelWaitingAcquire() {
+		this.pool = newPool(1, 0, Duration.ofMinutes(1));
+
+		H2Connection first = this.pool.acquire().block();
+		this.pool.acquire().subscribe().dispose();
+
+		assertThat(this.pool.getPendingSize()).isZero();
+
+		first.close().block();
+
+		assertThat(this.pool.getIdleSize()).isEqualTo(1);
+	}
+
+	@Test
+	void keepMinimumSize() {
+		this.pool = newPool(2, 2, Duration.ofMinutes(1));
+
+		assertThat(this.pool.getAllocatedSize()).isEqualTo(2);
+		assertThat(this.pool.getIdleSize()).isEqualTo(2);
+	}
+
+	@Test
+	void serveWaitingAcquirerFromMinimumSize() {
+		H2ConnectionConfiguration configuration = H2ConnectionConfiguration.builder().inMemory(this.database)
+				.option("DB_CLOSE_DELAY=-1").build();
+		// still opening the session for the minimum size when the first acquirer arrives
+		Mono<H2Connection> connectionFactory = new H2ConnectionFactory(configuration).create()
+				.delaySubscription(Duration.ofMillis(100));
+		this.pool = new H2ConnectionPool(connectionFactory, 1, 1, Duration.ofMinutes(1));
+
+		this.pool.acquire().as(StepVerifier::create).expectNextCount(1).expectComplete().verify(Duration.ofSeconds(5));
+		assertThat(this.pool.getAllocatedSize()).isEqualTo(1);
+		assertThat(this.pool.getPendingSize()).isZero();
+	}
+
+	@Test
+	void evictIdleConnections() throws InterruptedException {
+		this.pool = newPool(2, 0, Duration.ofMillis(50));
+
+		H2Connection connection = this.pool.acquire().block();
+		connection.close().block();
+
+		for (int i = 0; i < 100 && this.pool.getAllocatedSize() > 0; i++) {
+			Thread.sleep(20);
+		}
+
+		assertThat(this.pool.getAllocatedSize()).isZero();
+		assertThat(this.pool.getIdleSize()).isZero();
+	}
+
+	@Test
+	void closeRejectsAcquire() {
+		this.pool = newPool(1, 0, Duration.ofMinutes(1));
+
+		this.pool.close().as(StepVerifier::create).verifyComplete();
+
+		this.pool.acquire().as(StepVerifier::create).verifyError(R2dbcNonTransientResourceException.class);
+	}
+
+	@Test
+	void closeSessionReleasedAfterClose() {
+		this.pool = newPool(1, 0, Duration.ofMinutes(1));
+
+		H2Connection connection = this.pool.acquire().block();
+		this.pool.close().block();
+		connection.close().block();
+
+		assertThat(this.pool.getAllocatedSize()).isZero();
+	}
+
+	@Test
+	void pooledConnectionFactory() {
+		H2ConnectionFactory connectionFactory = new H2ConnectionFactory(H2ConnectionConfiguration.builder()
+				.inMemory(this.database).option("DB_CLOSE_DELAY=-1").maxPoolSize(2).build());
+
+		try {
+			H2Connection first = connectionFactory.create().block();
+			first.close().block();
+
+			connectionFactory.create().as(StepVerifier::create)
+					.assertNext(
+							connection -> assertThat(connection.getCommandCache()).isSameAs(first.getCommandCache()))
+					.verifyComplete();
+		} finally {
+			connectionFactory.close().block();
+		}
+	}
+
+	@Test
+	void invalidPoolSize() {
+		assertThatIllegalArgumentException()
+				.isThrownBy(() -> H2ConnectionConfiguration.builder().inMemory(this.database).maxPoolSize(-1))
+				.withMessage("maxPoolSize must not be negative");
+		assertThatIllegalArgumentException().isThrownBy(
+				() -> H2ConnectionConfiguration.builder().inMemory(this.database).maxPoolSize(1).minPoolSize(2).build())
+				.withMessage("minPoolSize must not be greater than maxPoolSize");
+	}
+
+	private static int lockTimeout(H2Connection connection) {
+		return Flux.from(connection.createStatement("CALL LOCK_TIMEOUT()").execute())
+				.flatMap(result -> result.map((row, metadata) -> row.get(0, Integer.class))).blockLast();
+	}
+
+	private H2ConnectionPool newPool(int maxSize, int minSize, Duration maxIdleTime) {
+		H2ConnectionConfiguration configuration = H2ConnectionConfiguration.builder().inMemory(this.database)
+				.option("DB_CLOSE_DELAY=-1").scheduler(Schedulers.immediate()).build();
+
+		return new H2ConnectionPool(new H2ConnectionFactory(configuration).create(), maxSize, minSize, maxIdleTime);
+	}
+}
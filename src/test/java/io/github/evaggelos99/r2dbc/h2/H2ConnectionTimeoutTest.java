@@ -0,0 +1,119 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.evaggelos99.r2dbc.h2;
+
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.r2dbc.spi.R2dbcTimeoutException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+final class H2ConnectionTimeoutTest {
+
+	private static final String SLOW_QUERY = "SELECT SUM(a.X * b.X) FROM SYSTEM_RANGE(1, 1000000) a, "
+			+ "SYSTEM_RANGE(1, 1000000) b";
+
+	private H2ConnectionFactory connectionFactory;
+
+	private H2Connection connection;
+
+	@BeforeEach
+	void setUp() {
+		this.connectionFactory = new H2ConnectionFactory(H2ConnectionConfiguration.builder()
+				.inMemory(UUID.randomUUID().toString()).option("DB_CLOSE_DELAY=-1").build());
+		this.connection = this.connectionFactory.create().block();
+		update(this.connection, "CREATE TABLE test (id INT PRIMARY KEY, val INT)");
+		update(this.connection, "INSERT INTO test VALUES (1, 1)");
+	}
+
+	@AfterEach
+	void tearDown() {
+		this.connection.close().block();
+		this.connectionFactory.close().block();
+	}
+
+	@Test
+	void statementTimeout() {
+		this.connection.setStatementTimeout(Duration.ofMillis(50)).block();
+
+		query(this.connection, SLOW_QUERY).as(StepVerifier::create).expectError(R2dbcTimeoutException.class)
+				.verify(Duration.ofSeconds(10));
+
+		this.connection.setStatementTimeout(Duration.ZERO).block();
+
+		query(this.connection, "SELECT 1").as(StepVerifier::create).expectNext(1L).verifyComplete();
+	}
+
+	@Test
+	void lockWaitTimeout() {
+		H2Connection other = this.connectionFactory.create().block();
+
+		try {
+			this.connection.beginTransaction().block();
+			update(this.connection, "UPDATE test SET val = 2 WHERE id = 1");
+
+			other.setLockWaitTimeout(Duration.ofMillis(100)).block();
+
+			Flux.from(other.createStatement("UPDATE test SET val = 3 WHERE id = 1").execute())
+					.flatMap(H2Result::getRowsUpdated).as(StepVerifier::create)
+					.expectError(R2dbcTimeoutException.class).verify(Duration.ofSeconds(10));
+		} finally {
+			this.connection.rollbackTransaction().block();
+			other.close().block();
+		}
+	}
+
+	@Test
+	void cancelRunningQuery() throws InterruptedException {
+		Disposable subscription = query(this.connection, SLOW_QUERY).subscribeOn(Schedulers.boundedElastic())
+				.subscribe(null, e -> {
+				});
+
+		Thread.sleep(200);
+		subscription.dispose();
+
+		query(this.connection, "SELECT 1").as(StepVerifier::create).expectNext(1L).expectComplete()
+				.verify(Duration.ofSeconds(10));
+	}
+
+	@Test
+	void negativeTimeout() {
+		assertThatIllegalArgumentException()
+				.isThrownBy(() -> this.connection.setStatementTimeout(Duration.ofMillis(-1)))
+				.withMessage("duration must not be negative");
+		assertThatIllegalArgumentException().isThrownBy(() -> this.connection.setLockWaitTimeout(null))
+				.withMessage("duration must not be null");
+	}
+
+	private static Flux<Long> query(H2Connection connection, String sql) {
+		return Flux.from(connection.createStatement(sql).execute())
+				.flatMap(result -> result.map((row, metadata) -> ((Number) row.get(0)).longValue()));
+	}
+
+	private static void update(H2Connection connection, String sql) {
+		Flux.from(connection.createStatement(sql).execute()).flatMap(H2Result::getRowsUpdated).blockLast();
+	}
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.evaggelos99.r2dbc.h2;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.r2dbc.spi.R2dbcDataIntegrityViolationException;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+final class H2CopyInTest {
+
+	private static final List<String> COLUMNS = Arrays.asList("id", "name");
+
+	private H2Connection connection;
+
+	@BeforeEach
+	void setUp() {
+		this.connection = new H2ConnectionFactory(
+				H2ConnectionConfiguration.builder().inMemory(UUID.randomUUID().toString()).build()).create().block();
+		Flux.from(this.connection.createStatement("CREATE TABLE test (id INT PRIMARY KEY, name VARCHAR(16))")
+				.execute()).flatMap(H2Result::getRowsUpdated).blockLast();
+	}
+
+	@AfterEach
+	void tearDown() {
+		this.connection.close().block();
+	}
+
+	@Test
+	void copyIn() {
+		this.connection.copyIn("test", COLUMNS, rows(1, 1200)).as(StepVerifier::create)
+				.expectNext(new H2CopyProgress(500, 0), new H2CopyProgress(1000, 0), new H2CopyProgress(1200, 0),
+						new H2CopyProgress(1200, 1200))
+				.verifyComplete();
+
+		assertThat(count()).isEqualTo(1200L);
+		assertThat(this.connection.isAutoCommit()).isTrue();
+	}
+
+	@Test
+	void resubscribeRunsNewLoad() {
+		AtomicInteger start = new AtomicInteger(1);
+		Flux<H2CopyProgress> copyIn = this.connection.copyIn("test", COLUMNS,
+				Flux.defer(() -> rows(start.getAndAdd(10), 10)), 5, 0);
+
+		for (int i = 0; i < 2; i++) {
+			copyIn.as(StepVerifier::create)
+					.expectNext(new H2CopyProgress(5, 0), new H2CopyProgress(10, 0), new H2CopyProgress(10, 10))
+					.verifyComplete();
+		}
+
+		assertThat(count()).isEqualTo(20L);
+	}
+
+	@Test
+	void copyInNullValues() {
+		this.connection.copyIn("test", COLUMNS, Flux.<Object[]>just(new Object[] { 1, null })).blockLast();
+
+		Flux.from(this.connection.createStatement("SELECT name FROM test").execute())
+				.flatMap(result -> result.map((row, metadata) -> ((H2Row) row).isNull(0))).as(StepVerifier::create)
+				.expectNext(true).verifyComplete();
+	}
+
+	@Test
+	void commitInterval() {
+		this.connection.copyIn("test", COLUMNS, rows(1, 1100), 250, 500).as(StepVerifier::create)
+				.expectNext(new H2CopyProgress(250, 0), new H2CopyProgress(500, 500), new H2CopyProgress(750, 500),
+						new H2CopyProgress(1000, 1000), new H2CopyProgress(1100, 1000), new H2CopyProgress(1100, 1100))
+				.verifyComplete();
+	}
+
+	@Test
+	void requestOneBatchAtATime() {
+		List<Long> requests = new ArrayList<>();
+
+		this.connection.copyIn("test", COLUMNS, rows(1, 1000).doOnRequest(requests::add), 100, 0).blockLast();
+
+		assertThat(requests).isNotEmpty().allMatch(n -> n <= 100);
+		assertThat(count()).isEqualTo(1000L);
+	}
+
+	@Test
+	void rollbackUncommittedRowsOnError() {
+		Flux<Object[]> rows = rows(1, 300).concatWith(Flux.<Object[]>just(new Object[] { 301 }));
+
+		this.connection.copyIn("test", COLUMNS, rows, 100, 200).as(StepVerifier::create)
+				.expectNext(new H2CopyProgress(100, 0), new H2CopyProgress(200, 200), new H2CopyProgress(300, 200))
+				.verifyErrorMessage("Row has 1 values but 2 columns are copied");
+
+		assertThat(count()).isEqualTo(200L);
+		assertThat(this.connection.isAutoCommit()).isTrue();
+	}
+
+	@Test
+	void rollbackUncommittedRowsOnConstraintViolation() {
+		this.connection.copyIn("test", COLUMNS, rows(1, 10).concatWith(rows(5, 1))).as(StepVerifier::create)
+				.expectError(R2dbcDataIntegrityViolationException.class).verify();
+
+		assertThat(count()).isZero();
+		assertThat(this.connection.isAutoCommit()).isTrue();
+	}
+
+	@Test
+	void joinTransaction() {
+		this.connection.beginTransaction().block();
+
+		this.connection.copyIn("test", COLUMNS, rows(1, 10), 5, 5).as(StepVerifier::create)
+				.expectNext(new H2CopyProgress(5, 0), new H2CopyProgress(10, 0)).verifyComplete();
+
+		assertThat(this.connection.isAutoCommit()).isFalse();
+		this.connection.rollbackTransaction().block();
+
+		assertThat(count()).isZero();
+	}
+
+	@Test
+	void invalidArguments() {
+		assertThatIllegalArgumentException().isThrownBy(() -> this.connection.copyIn(null, COLUMNS, rows(1, 1)))
+				.withMessage("table must not be null");
+		assertThatIllegalArgumentException()
+				.isThrownBy(() -> this.connection.copyIn("test", new ArrayList<>(), rows(1, 1)))
+				.withMessage("columns must not be empty");
+		assertThatIllegalArgumentException().isThrownBy(() -> this.connection.copyIn("test", COLUMNS, null))
+				.withMessage("rows must not be null");
+		assertThatIllegalArgumentException()
+				.isThrownBy(() -> this.connection.copyIn("test", COLUMNS, rows(1, 1), 0, 0))
+				.withMessage("batchSize must be greater than zero");
+	}
+
+	private long count() {
+		return Flux.from(this.connection.createStatement("SELECT COUNT(*) FROM test").execute())
+				.flatMap(result -> result.map((row, metadata) -> ((H2Row) row).getLong(0))).blockLast();
+	}
+
+	private static Flux<Object[]> rows(int start, int count) {
+		return Flux.range(start, count).map(i -> new Object[] { i, "name-" + i });
+	}
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.evaggelos99.r2dbc.h2;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import org.h2.value.Value;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+final class H2ExportTest {
+
+	private H2Connection connection;
+
+	@BeforeEach
+	void setUp() {
+		this.connection = new H2ConnectionFactory(
+				H2ConnectionConfiguration.builder().inMemory(UUID.randomUUID().toString()).build()).create().block();
+		Flux.from(this.connection.createStatement("CREATE TABLE test (i INT, d DOUBLE, s VARCHAR(32), b VARBINARY(4), "
+				+ "t TIMESTAMP)").execute()).flatMap(H2Result::getRowsUpdated).blockLast();
+		Flux.from(this.connection.createStatement("INSERT INTO test VALUES (1, 1.5, 'plain', X'0102', "
+				+ "TIMESTAMP '2018-10-31 11:05:19'), (NULL, NULL, NULL, NULL, NULL), "
+				+ "(-3, 0.25, 'a, \"b\"\nc', X'', NULL), (4, 4, '', NULL, NULL), (5, 5, 'µ€😀', NULL, NULL)")
+				.execute()).flatMap(H2Result::getRowsUpdated).blockLast();
+	}
+
+	@AfterEach
+	void tearDown() {
+		this.connection.close().block();
+	}
+
+	@Test
+	void exportCsv() {
+		String csv = export("SELECT * FROM test", H2ExportFormat.CSV);
+
+		assertThat(csv).isEqualTo("I,D,S,B,T\r\n" + "1,1.5,plain,0102,2018-10-31 11:05:19\r\n" + ",,,,\r\n"
+				+ "-3,0.25,\"a, \"\"b\"\"\nc\",\"\",\r\n" + "4,4.0,\"\",,\r\n" + "5,5.0,µ€😀,,\r\n");
+	}
+
+	@Test
+	void exportBinary() {
+		ByteBuffer buffer = ByteBuffer
+				.wrap(export("SELECT i, d, s, b FROM test WHERE i IS NULL OR i = -3 ORDER BY i NULLS FIRST",
+						H2ExportFormat.BINARY).getBytes(StandardCharsets.ISO_8859_1));
+
+		assertThat(buffer.getInt()).isEqualTo(4);
+		assertThat(buffer.getInt()).isEqualTo(Value.INTEGER);
+		assertThat(readString(buffer)).isEqualTo("I");
+		assertThat(buffer.getInt()).isEqualTo(Value.DOUBLE);
+		assertThat(readString(buffer)).isEqualTo("D");
+		assertThat(buffer.getInt()).isEqualTo(Value.VARCHAR);
+		assertThat(readString(buffer)).isEqualTo("S");
+		assertThat(buffer.getInt()).isEqualTo(Value.VARBINARY);
+		assertThat(readString(buffer)).isEqualTo("B");
+
+		assertThat(buffer.get()).isEqualTo((byte) 0b1111);
+
+		assertThat(buffer.get()).isZero();
+		assertThat(buffer.getInt()).isEqualTo(-3);
+		assertThat(buffer.getDouble()).isEqualTo(0.25);
+		assertThat(readString(buffer)).isEqualTo("a, \"b\"\nc");
+		assertThat(buffer.getInt()).isZero();
+
+		assertThat(buffer.hasRemaining()).isFalse();
+	}
+
+	@Test
+	void exportInChunks() {
+		this.connection.createStatement("SELECT X, 'some text to fill the chunks' FROM SYSTEM_RANGE(1, 10000)")
+				.execute().flatMap(result -> result.export(H2ExportFormat.CSV)).as(StepVerifier::create)
+				.thenConsumeWhile(chunk -> chunk.remaining() >= 8192 && chunk.remaining() < 8192 + 64)
+				.consumeNextWith(last -> assertThat(last.remaining()).isLessThan(8192)).verifyComplete();
+	}
+
+	@Test
+	void exportPacedBySubscriber() {
+		this.connection.createStatement("SELECT X FROM SYSTEM_RANGE(1, 100000)").execute()
+				.flatMap(result -> result.export(H2ExportFormat.BINARY), 1).as(it -> StepVerifier.create(it, 1))
+				.expectNextCount(1).thenCancel().verify();
+	}
+
+	@Test
+	void exportUpdateCount() {
+		this.connection.createStatement("INSERT INTO test (i) VALUES (6)").execute()
+				.flatMap(result -> result.export(H2ExportFormat.CSV)).as(StepVerifier::create).verifyComplete();
+	}
+
+	private String export(String sql, H2ExportFormat format) {
+		return this.connection.createStatement(sql).execute().flatMap(result -> result.export(format))
+				.map(chunk -> new String(chunk.array(), chunk.arrayOffset() + chunk.position(), chunk.remaining(),
+						format == H2ExportFormat.CSV ? StandardCharsets.UTF_8 : StandardCharsets.ISO_8859_1))
+				.reduce(String::concat).block();
+	}
+
+	private static String readString(ByteBuffer buffer) {
+		byte[] bytes = new byte[buffer.getInt()];
+		buffer.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+}
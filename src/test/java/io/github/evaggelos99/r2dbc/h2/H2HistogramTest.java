@@ -0,0 +1,85 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.evaggelos99.r2dbc.h2;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import org.junit.jupiter.api.Test;
+
+final class H2HistogramTest {
+
+	private final H2Histogram histogram = new H2Histogram();
+
+	@Test
+	void empty() {
+		assertThat(this.histogram.getCount()).isZero();
+		assertThat(this.histogram.getMax()).isZero();
+		assertThat(this.histogram.getMean()).isZero();
+		assertThat(this.histogram.getValueAtPercentile(99)).isZero();
+	}
+
+	@Test
+	void smallValuesAreExact() {
+		for (long value = 0; value < 8; value++) {
+			this.histogram.record(value);
+		}
+
+		assertThat(this.histogram.getCount()).isEqualTo(8);
+		assertThat(this.histogram.getMean()).isEqualTo(3.5);
+		assertThat(this.histogram.getValueAtPercentile(50)).isEqualTo(3);
+		assertThat(this.histogram.getValueAtPercentile(100)).isEqualTo(7);
+	}
+
+	@Test
+	void percentilesWithinBucketPrecision() {
+		for (long value = 1; value <= 1_000_000; value++) {
+			this.histogram.record(value * 1000);
+		}
+
+		assertThat(this.histogram.getMax()).isEqualTo(1_000_000_000L);
+		assertThat(this.histogram.getValueAtPercentile(50)).isBetween(500_000_000L, 562_500_000L);
+		assertThat(this.histogram.getValueAtPercentile(99)).isBetween(990_000_000L, 1_000_000_000L);
+		assertThat(this.histogram.getValueAtPercentile(0)).isBetween(1000L, 1125L);
+	}
+
+	@Test
+	void bucketBounds() {
+		for (int bucket = 0; bucket < 487; bucket++) {
+			long upperBound = H2Histogram.upperBoundOf(bucket);
+
+			assertThat(H2Histogram.bucketOf(upperBound)).isEqualTo(bucket);
+			assertThat(H2Histogram.bucketOf(upperBound + 1)).isEqualTo(bucket + 1);
+		}
+
+		assertThat(H2Histogram.bucketOf(Long.MAX_VALUE)).isEqualTo(487);
+		assertThat(H2Histogram.upperBoundOf(487)).isEqualTo(Long.MAX_VALUE);
+	}
+
+	@Test
+	void negativeValuesAndReset() {
+		this.histogram.record(-5);
+
+		assertThat(this.histogram.getValueAtPercentile(100)).isZero();
+
+		this.histogram.reset();
+
+		assertThat(this.histogram.getCount()).isZero();
+		assertThatIllegalArgumentException().isThrownBy(() -> this.histogram.getValueAtPercentile(101))
+				.withMessage("percentile must be between 0 and 100");
+	}
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.evaggelos99.r2dbc.h2;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import reactor.core.Disposable;
+import reactor.test.StepVerifier;
+
+final class H2LazyQueryExecutionTest {
+
+	private H2Connection connection;
+
+	@BeforeEach
+	void createConnection() {
+		this.connection = new H2ConnectionFactory(H2ConnectionConfiguration.builder().inMemory(UUID.randomUUID().toString())
+				.username("sa").password("").property(H2ConnectionOption.LAZY_QUERY_EXECUTION, "TRUE").build()).create()
+				.block();
+	}
+
+	@AfterEach
+	void closeConnection() {
+		this.connection.close().block();
+	}
+
+	@Test
+	void cancellationReleasesLazyResult() {
+		String sql = "SELECT X FROM SYSTEM_RANGE(1, 1000000)";
+
+		this.connection.createStatement(sql).execute()
+				.concatMap(result -> result.map((row, rowMetadata) -> row.get(0, Long.class))).take(10)
+				.as(StepVerifier::create).expectNext(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L).verifyComplete();
+
+		long hits = this.connection.getCommandCache().getHitCount();
+
+		this.connection.createStatement(sql).execute()
+				.concatMap(result -> result.map((row, rowMetadata) -> row.get(0, Long.class))).take(1)
+				.as(StepVerifier::create).expectNext(1L).verifyComplete();
+
+		assertThat(this.connection.getCommandCache().getHitCount()).isEqualTo(hits + 1);
+	}
+
+	@Test
+	void cancellationDoesNotFailNextStatement() {
+		this.connection.createStatement("SELECT X FROM SYSTEM_RANGE(1, 1000000)").execute()
+				.concatMap(result -> result.map((row, rowMetadata) -> row.get(0, Long.class)))
+				.as(rows -> StepVerifier.create(rows, 10)).expectNextCount(10).thenCancel().verify();
+
+		this.connection.createStatement("SELECT X FROM SYSTEM_RANGE(1, 1000) ORDER BY X DESC LIMIT 3").execute()
+				.concatMap(result -> result.map((row, rowMetadata) -> row.get(0, Long.class)))
+				.as(StepVerifier::create).expectNext(1000L, 999L, 998L).verifyComplete();
+	}
+
+	@Test
+	void cancellationAbortsRunningRowFetch() throws InterruptedException {
+		Disposable subscription = this.connection
+				.createStatement("SELECT X FROM SYSTEM_RANGE(1, 10000000000) WHERE X + 1 < 0").execute()
+				.concatMap(result -> result.map((row, rowMetadata) -> row.get(0, Long.class))).subscribe(null, e -> {
+				});
+
+		Thread.sleep(200);
+		subscription.dispose();
+
+		this.connection.createStatement("SELECT X FROM SYSTEM_RANGE(1, 1000) ORDER BY X DESC LIMIT 3").execute()
+				.concatMap(result -> result.map((row, rowMetadata) -> row.get(0, Long.class)))
+				.as(StepVerifier::create).expectNext(1000L, 999L, 998L).expectComplete()
+				.verify(Duration.ofSeconds(10));
+	}
+
+	@Test
+	void multipleBindingsKeepTheirOwnLazyResult() {
+		this.connection.createStatement("SELECT X FROM SYSTEM_RANGE(1, $1)").bind("$1", 3).add().bind("$1", 5).execute()
+				.concatMap(result -> result.map((row, rowMetadata) -> row.get(0, Long.class))).as(StepVerifier::create)
+				.expectNext(1L, 2L, 3L, 1L, 2L, 3L, 4L, 5L).verifyComplete();
+	}
+}
@@ -20,8 +20,10 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import java.nio.Buffer;
 import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
 import java.util.Optional;
 import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.Test;
@@ -30,10 +32,12 @@ import io.github.evaggelos99.r2dbc.h2.codecs.DefaultCodecs;
 import io.github.evaggelos99.r2dbc.h2.util.IntegrationTestSupport;
 import io.r2dbc.spi.Blob;
 import io.r2dbc.spi.Clob;
+import io.r2dbc.spi.R2dbcException;
 import io.r2dbc.spi.Result;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Hooks;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 import reactor.test.StepVerifier;
 
 /**
@@ -141,6 +145,169 @@ class H2LobIntegrationTest extends IntegrationTestSupport {
 				.expectNext(i * TEST_STRING.length()).verifyComplete();
 	}
 
+	@Test
+	void ingestBlobWithBoundedDemand() {
+		createTable(connection, "BLOB");
+
+		AtomicLong outstanding = new AtomicLong();
+		AtomicLong maxOutstanding = new AtomicLong();
+
+		Flux<ByteBuffer> chunks = Flux.range(0, 1000).map(it -> ByteBuffer.wrap(ALL_BYTES))
+				.doOnRequest(n -> maxOutstanding.accumulateAndGet(outstanding.addAndGet(n), Math::max))
+				.doOnNext(it -> outstanding.decrementAndGet());
+
+		Flux.from(connection.createStatement("INSERT INTO lob_test values($1)").bind("$1", Blob.from(chunks))
+				.execute()).flatMap(Result::getRowsUpdated).as(StepVerifier::create).expectNext(1L).verifyComplete();
+
+		assertThat(maxOutstanding.get()).isBetween(1L, 2L);
+
+		connection.createStatement("SELECT my_col FROM lob_test").execute()
+				.flatMap(it -> it.map((row, rowMetadata) -> row.get("my_col", Blob.class))).flatMap(Blob::stream)
+				.map(Buffer::remaining).collect(Collectors.summingInt(value -> value)).as(StepVerifier::create)
+				.expectNext(1000 * ALL_BYTES.length).verifyComplete();
+	}
+
+	@Test
+	void ingestBlobLeavesBuffersUntouched() {
+		createTable(connection, "BLOB");
+
+		ByteBuffer chunk = ByteBuffer.wrap(ALL_BYTES);
+
+		Flux.from(connection.createStatement("INSERT INTO lob_test values($1)").bind("$1", Blob.from(Mono.just(chunk)))
+				.execute()).flatMap(Result::getRowsUpdated).as(StepVerifier::create).expectNext(1L).verifyComplete();
+
+		assertThat(chunk.position()).isZero();
+		assertThat(chunk.remaining()).isEqualTo(ALL_BYTES.length);
+	}
+
+	@Test
+	void bindBlobOnNonBlockingThread() {
+		createTable(connection, "BLOB");
+
+		Mono.fromCallable(() -> connection.createStatement("INSERT INTO lob_test values($1)").bind("$1",
+				Blob.from(Flux.range(0, 100).map(it -> ByteBuffer.wrap(ALL_BYTES))))).subscribeOn(Schedulers.parallel())
+				.flatMapMany(H2Statement::execute).flatMap(Result::getRowsUpdated).as(StepVerifier::create)
+				.expectNext(1L).verifyComplete();
+
+		connection.createStatement("SELECT my_col FROM lob_test").execute()
+				.flatMap(it -> it.map((row, rowMetadata) -> row.get("my_col", Blob.class))).flatMap(Blob::stream)
+				.map(Buffer::remaining).collect(Collectors.summingInt(value -> value)).as(StepVerifier::create)
+				.expectNext(100 * ALL_BYTES.length).verifyComplete();
+	}
+
+	@Test
+	void failedBlobIngestionFailsExecution() {
+		createTable(connection, "BLOB");
+
+		H2Statement statement = connection.createStatement("INSERT INTO lob_test values($1)").bind("$1",
+				Blob.from(Flux.error(new IllegalStateException("boom"))));
+
+		Flux.from(statement.execute()).flatMap(Result::getRowsUpdated).as(StepVerifier::create)
+				.verifyError(R2dbcException.class);
+	}
+
+	@Test
+	void ingestClobFromCharSequences() {
+		createTable(connection, "CLOB");
+
+		Flux<CharSequence> chunks = Flux.just("foo", new StringBuilder("你好"), CharBuffer.wrap("xbarx", 1, 4),
+				new StringBuffer("baz"));
+
+		Flux.from(connection.createStatement("INSERT INTO lob_test values($1)").bind("$1", Clob.from(chunks))
+				.execute()).flatMap(Result::getRowsUpdated).as(StepVerifier::create).expectNext(1L).verifyComplete();
+
+		connection.createStatement("SELECT my_col FROM lob_test").execute()
+				.flatMap(it -> it.map((row, rowMetadata) -> row.get("my_col", Clob.class))).flatMap(Clob::stream)
+				.reduce(new StringBuilder(), StringBuilder::append).map(StringBuilder::toString)
+				.as(StepVerifier::create).expectNext("foo你好barbaz").verifyComplete();
+	}
+
+	@Test
+	void streamBlobRange() {
+		createTable(connection, "BLOB");
+
+		Flux.from(connection.createStatement("INSERT INTO lob_test values($1)")
+				.bind("$1", Blob.from(Flux.range(0, 1000).map(it -> ByteBuffer.wrap(ALL_BYTES)))).execute())
+				.flatMap(Result::getRowsUpdated).as(StepVerifier::create).expectNext(1L).verifyComplete();
+
+		H2Blob blob = connection.createStatement("SELECT my_col FROM lob_test").execute()
+				.flatMap(it -> it.map((row, rowMetadata) -> row.get("my_col", H2Blob.class))).blockLast();
+
+		assertThat(blob.length()).isEqualTo(1000L * ALL_BYTES.length);
+		Flux.from(blob.stream(500L * ALL_BYTES.length + 1, 3)).as(StepVerifier::create)
+				.expectNext(ByteBuffer.wrap(ALL_BYTES, 1, 3)).verifyComplete();
+	}
+
+	@Test
+	void streamClobRange() {
+		createTable(connection, "CLOB");
+
+		String value = "foo你好bar";
+
+		Flux.from(connection.createStatement("INSERT INTO lob_test values($1)")
+				.bind("$1", Clob.from(Flux.range(0, 1000).map(it -> value))).execute())
+				.flatMap(Result::getRowsUpdated).as(StepVerifier::create).expectNext(1L).verifyComplete();
+
+		H2Clob clob = connection.createStatement("SELECT my_col FROM lob_test").execute()
+				.flatMap(it -> it.map((row, rowMetadata) -> row.get("my_col", H2Clob.class))).blockLast();
+
+		assertThat(clob.length()).isEqualTo(1000L * value.length());
+		Flux.from(clob.stream(500L * value.length() + 3, value.length())).map(CharSequence::toString)
+				.as(StepVerifier::create).expectNext("你好barfoo").verifyComplete();
+	}
+
+	@Test
+	void releaseTemporaryLobsAfterExecution() {
+		createTable(connection, "BLOB");
+
+		H2Statement statement = connection.createStatement("INSERT INTO lob_test values($1)").bind("$1",
+				Blob.from(Flux.range(0, 100).map(it -> ByteBuffer.wrap(ALL_BYTES))));
+
+		// the LOB is only created when the statement is executed
+		assertThat(connection.getTemporaryLobs().size()).isZero();
+
+		Flux.from(statement.execute()).doOnNext(result -> {
+			assertThat(connection.getTemporaryLobs().size()).isEqualTo(1);
+			assertThat(connection.getTemporaryLobs().getBytes()).isEqualTo(100L * ALL_BYTES.length);
+		}).flatMap(Result::getRowsUpdated).as(StepVerifier::create).expectNext(1L).verifyComplete();
+
+		assertThat(connection.getTemporaryLobs().size()).isZero();
+		assertThat(connection.getTemporaryLobs().getBytes()).isZero();
+
+		connection.createStatement("SELECT my_col FROM lob_test").execute()
+				.flatMap(it -> it.map((row, rowMetadata) -> row.get("my_col", Blob.class))).flatMap(Blob::stream)
+				.map(Buffer::remaining).collect(Collectors.summingInt(value -> value)).as(StepVerifier::create)
+				.expectNext(100 * ALL_BYTES.length).verifyComplete();
+	}
+
+	@Test
+	void releaseTemporaryLobsAfterFailedExecution() {
+		createTable(connection, "CLOB NOT NULL");
+
+		Flux.from(connection.createStatement("INSERT INTO lob_test values($1), (NULL)")
+				.bind("$1", Clob.from(Mono.just("foo"))).execute()).flatMap(Result::getRowsUpdated)
+				.as(StepVerifier::create).verifyError();
+
+		assertThat(connection.getTemporaryLobs().size()).isZero();
+	}
+
+	@Test
+	void discardKeepsStoredLob() {
+		createTable(connection, "CLOB");
+
+		Flux.from(connection.createStatement("INSERT INTO lob_test values($1)")
+				.bind("$1", Clob.from(Mono.just("foo"))).execute()).flatMap(Result::getRowsUpdated)
+				.as(StepVerifier::create).expectNext(1L).verifyComplete();
+
+		connection.createStatement("SELECT my_col FROM lob_test").execute()
+				.flatMap(it -> it.map((row, rowMetadata) -> row.get("my_col", Clob.class))).flatMap(Clob::discard)
+				.as(StepVerifier::create).verifyComplete();
+
+		connection.createStatement("SELECT my_col FROM lob_test").execute()
+				.flatMap(it -> it.map((row, rowMetadata) -> row.get("my_col", String.class))).as(StepVerifier::create)
+				.expectNext("foo").verifyComplete();
+	}
+
 	private void createTable(final H2Connection connection, final String columnType) {
 		connection.createStatement("DROP TABLE lob_test").execute().flatMap(H2Result::getRowsUpdated)
 				.onErrorResume(e -> Mono.empty())
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.evaggelos99.r2dbc.h2;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.r2dbc.spi.Clob;
+import io.r2dbc.spi.R2dbcBadGrammarException;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+final class H2MetricsRecorderTest {
+
+	private final H2MetricsRecorder metrics = new H2MetricsRecorder();
+
+	private H2Connection connection;
+
+	@BeforeEach
+	void setUp() {
+		this.connection = new H2ConnectionFactory(H2ConnectionConfiguration.builder()
+				.inMemory(UUID.randomUUID().toString()).metricsListener(this.metrics).build()).create().block();
+	}
+
+	@AfterEach
+	void tearDown() {
+		this.connection.close().block();
+	}
+
+	@Test
+	void connectionCreation() {
+		assertThat(this.metrics.getConnectionCreationTimes().getCount()).isEqualTo(1);
+	}
+
+	@Test
+	void statements() {
+		update("CREATE TABLE test (id INT)");
+		update("INSERT INTO test VALUES (1), (2), (3)");
+
+		Flux.from(this.connection.createStatement("SELECT id FROM test").execute())
+				.flatMap(result -> result.map((row, metadata) -> row.get(0))).as(StepVerifier::create)
+				.expectNextCount(3).verifyComplete();
+
+		assertThat(this.metrics.getPrepareTimes().getCount()).isEqualTo(3);
+		assertThat(this.metrics.getExecuteTimes().getCount()).isEqualTo(3);
+		assertThat(this.metrics.getFirstRowTimes().getCount()).isEqualTo(1);
+		assertThat(this.metrics.getResultCompletionTimes().getCount()).isEqualTo(1);
+		assertThat(this.metrics.getRowCount()).isEqualTo(3);
+		assertThat(this.metrics.getUpdateCount()).isEqualTo(3);
+	}
+
+	@Test
+	void batch() {
+		this.connection.createBatch().add("CREATE TABLE test (id INT)").add("INSERT INTO test VALUES (1), (2)")
+				.add("SELECT id FROM test").execute().flatMap(result -> result.map((row, metadata) -> row.get(0)))
+				.as(StepVerifier::create).expectNextCount(2).verifyComplete();
+
+		assertThat(this.metrics.getExecuteTimes().getCount()).isEqualTo(3);
+		assertThat(this.metrics.getUpdateCount()).isEqualTo(2);
+		assertThat(this.metrics.getRowCount()).isEqualTo(2);
+	}
+
+	@Test
+	void errors() {
+		Flux.from(this.connection.createStatement("SELECT * FROM missing").execute()).as(StepVerifier::create)
+				.verifyError(R2dbcBadGrammarException.class);
+
+		assertThat(this.metrics.getErrorCounts()).containsEntry(R2dbcBadGrammarException.class, 1L);
+	}
+
+	@Test
+	void lobStreamed() {
+		Flux.from(this.connection.createStatement("SELECT CAST(REPEAT('a', 1000) AS CLOB)").execute())
+				.flatMap(result -> result.map((row, metadata) -> row.get(0, Clob.class)))
+				.flatMap(clob -> Flux.from(clob.stream()).map(CharSequence::length).reduce(0, Integer::sum))
+				.as(StepVerifier::create).expectNext(1000).verifyComplete();
+
+		assertThat(this.metrics.getLobLength()).isEqualTo(1000);
+	}
+
+	private void update(String sql) {
+		Flux.from(this.connection.createStatement(sql).execute()).flatMap(H2Result::getRowsUpdated).blockLast();
+	}
+}
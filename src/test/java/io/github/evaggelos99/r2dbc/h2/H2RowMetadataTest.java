@@ -88,6 +88,23 @@ final class H2RowMetadataTest {
 				.withMessage("name must not be null");
 	}
 
+	@Test
+	void getColumnIndex() {
+		H2RowMetadata rowMetadata = new H2RowMetadata(this.columnMetadatas);
+
+		assertThat(rowMetadata.getColumnIndex("test-name-2")).isEqualTo(1);
+		assertThat(rowMetadata.getColumnIndex("test-name-3")).isEqualTo(-1);
+		assertThat(rowMetadata.getValueType(1)).isEqualTo(Value.BOOLEAN);
+	}
+
+	@Test
+	void getColumnIndexDuplicateName() {
+		H2RowMetadata rowMetadata = new H2RowMetadata(Arrays.asList(this.columnMetadatas.get(0),
+				new H2ColumnMetadata(codecs, "test-name-1", TypeInfo.TYPE_INTEGER, NULLABLE, 10L, 0)));
+
+		assertThat(rowMetadata.getColumnIndex("TEST-NAME-1")).isZero();
+	}
+
 	@Test
 	void getColumnMetadatas() {
 		assertThat(new H2RowMetadata(this.columnMetadatas).getColumnMetadatas()).containsAll(this.columnMetadatas);
@@ -21,6 +21,7 @@ import io.r2dbc.spi.Connection;
 import io.r2dbc.spi.ConnectionFactories;
 import io.r2dbc.spi.ConnectionFactory;
 import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.R2dbcException;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -85,6 +86,47 @@ final class H2RowTest {
 				}).verifyComplete();
 	}
 
+	@Test
+	void primitiveAccessors() {
+		getJdbcOperations().execute("INSERT INTO test VALUES (100)");
+
+		Mono.from(this.connectionFactory.create()).flatMapMany(connection -> Flux.from(connection
+
+				.createStatement("SELECT test_value, CAST(test_value AS BIGINT) AS big_value, "
+						+ "CAST(test_value AS DOUBLE) AS double_value, test_value > 0 AS bool_value, "
+						+ "CAST(NULL AS INTEGER) AS null_value FROM test")
+				.execute()).flatMap(result -> result.map((row, rowMetadata) -> {
+					H2Row h2Row = (H2Row) row;
+
+					assertThat(h2Row.getInt(0)).isEqualTo(100);
+					assertThat(h2Row.getInt("test_value")).isEqualTo(100);
+					assertThat(h2Row.getLong("BIG_VALUE")).isEqualTo(100L);
+					assertThat(h2Row.getLong(0)).isEqualTo(100L);
+					assertThat(h2Row.getDouble("double_value")).isEqualTo(100.0);
+					assertThat(h2Row.getBoolean("bool_value")).isTrue();
+					assertThat(h2Row.isNull("test_value")).isFalse();
+					assertThat(h2Row.isNull(4)).isTrue();
+					assertThat(h2Row.getInt(4)).isZero();
+					assertThat(h2Row.getBoolean("null_value")).isFalse();
+
+					return h2Row.getInt(0);
+				}))
+
+				.concatWith(close(connection))).as(StepVerifier::create).expectNext(100).verifyComplete();
+	}
+
+	@Test
+	void primitiveAccessorInvalidValue() {
+		getJdbcOperations().execute("INSERT INTO test VALUES (100)");
+
+		Mono.from(this.connectionFactory.create()).flatMapMany(connection -> Flux.from(connection
+
+				.createStatement("SELECT 'foo' AS text_value FROM test").execute())
+				.flatMap(result -> result.map((row, rowMetadata) -> ((H2Row) row).getInt("text_value")))
+
+				.concatWith(close(connection))).as(StepVerifier::create).verifyError(R2dbcException.class);
+	}
+
 	private JdbcOperations getJdbcOperations() {
 		JdbcOperations jdbcOperations = SERVER.getJdbcOperations();
 
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.evaggelos99.r2dbc.h2;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.jdbc.core.JdbcOperations;
+
+import io.github.evaggelos99.r2dbc.h2.util.H2TcpServerExtension;
+import reactor.test.StepVerifier;
+
+final class H2StatementRemoteTest {
+
+	@RegisterExtension
+	static final H2TcpServerExtension SERVER = new H2TcpServerExtension();
+
+	private H2Connection connection;
+
+	private JdbcOperations jdbcOperations;
+
+	@BeforeEach
+	void createConnection() {
+		this.jdbcOperations = SERVER.getJdbcOperations();
+		this.jdbcOperations.execute("DROP TABLE IF EXISTS test");
+		this.jdbcOperations.execute("CREATE TABLE test (id INT, val INT)");
+
+		this.connection = new H2ConnectionFactory(H2ConnectionConfiguration.builder().url(SERVER.getUrl())
+				.username(SERVER.getUsername()).password(SERVER.getPassword()).build()).create().block();
+	}
+
+	@AfterEach
+	void closeConnection() {
+		this.connection.close().block();
+	}
+
+	@Test
+	void multiBindingInsertPreparesOnce() {
+		long misses = this.connection.getCommandCache().getMissCount();
+
+		this.connection.createStatement("INSERT INTO test VALUES ($1, $2)").bind("$1", 1).bind("$2", 10).add()
+				.bind("$1", 2).bind("$2", 20).add().bind("$1", 3).bind("$2", 30).execute()
+				.concatMap(H2Result::getRowsUpdated).as(StepVerifier::create).expectNext(1L, 1L, 1L).verifyComplete();
+
+		assertThat(this.connection.getCommandCache().getMissCount() - misses).isEqualTo(1);
+		assertThat(this.jdbcOperations.queryForObject("SELECT SUM(val) FROM test", Integer.class)).isEqualTo(60);
+	}
+
+	@Test
+	void fetchSizePagesRemoteRows() {
+		this.jdbcOperations.execute("INSERT INTO test SELECT X, X FROM SYSTEM_RANGE(1, 1000)");
+
+		this.connection.createStatement("SELECT id FROM test ORDER BY id").fetchSize(7).execute()
+				.concatMap(result -> result.map((row, rowMetadata) -> row.get("id", Integer.class)))
+				.as(StepVerifier::create).expectNextSequence(() -> IntStream.rangeClosed(1, 1000).iterator())
+				.verifyComplete();
+	}
+
+	@Test
+	void fetchSizeFollowsDemand() {
+		this.jdbcOperations.execute("INSERT INTO test SELECT X, X FROM SYSTEM_RANGE(1, 1000)");
+
+		this.connection.createStatement("SELECT id FROM test ORDER BY id").fetchSize(10).execute()
+				.concatMap(result -> result.map((row, rowMetadata) -> row.get("id", Integer.class)))
+				.as(it -> StepVerifier.create(it, 0)).thenRequest(3).expectNext(1, 2, 3).thenRequest(20)
+				.expectNextCount(20).thenCancel().verify();
+	}
+
+	@Test
+	void multiBindingUpdateReportsUpdateCountPerBinding() {
+		this.jdbcOperations.execute("INSERT INTO test VALUES (1, 0), (1, 0), (2, 0)");
+
+		this.connection.createStatement("UPDATE test SET val = $1 WHERE id = $2").bind("$1", 10).bind("$2", 1).add()
+				.bind("$1", 20).bind("$2", 2).add().bind("$1", 30).bind("$2", 3).execute()
+				.concatMap(H2Result::getRowsUpdated).as(StepVerifier::create).expectNext(2L, 1L, 0L).verifyComplete();
+
+		assertThat(this.jdbcOperations.queryForObject("SELECT SUM(val) FROM test", Integer.class)).isEqualTo(40);
+	}
+
+}
@@ -25,6 +25,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 import static org.mockito.Mockito.RETURNS_SMART_NULLS;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static reactor.function.TupleUtils.predicate;
 
@@ -36,6 +37,7 @@ import java.util.stream.IntStream;
 
 import org.h2.command.CommandInterface;
 import org.h2.result.LocalResult;
+import org.h2.result.ResultInterface;
 import org.h2.result.ResultWithGeneratedKeys;
 import org.h2.value.Value;
 import org.h2.value.ValueInteger;
@@ -92,6 +94,24 @@ final class H2StatementTest {
 				.isEqualTo(new Binding().add(0, ValueInteger.get(100)));
 	}
 
+	@Test
+	void bindMultipleDigits() {
+		assertThat(this.statement.bind("$12", 100).getCurrentBinding())
+				.isEqualTo(new Binding().add(11, ValueInteger.get(100)));
+	}
+
+	@Test
+	void bindEmbeddedMarker() {
+		assertThat(this.statement.bind("p$2", 100).bind("p$2", 100).getCurrentBinding())
+				.isEqualTo(new Binding().add(1, ValueInteger.get(100)));
+	}
+
+	@Test
+	void bindLeadingZeros() {
+		assertThat(this.statement.bind("?00000000003", 100).getCurrentBinding())
+				.isEqualTo(new Binding().add(2, ValueInteger.get(100)));
+	}
+
 	@Test
 	void bindWithInParameters() {
 		assertThat(this.statement.bind("$1", this.inParameter).getCurrentBinding())
@@ -198,6 +218,25 @@ final class H2StatementTest {
 				.execute().as(StepVerifier::create).expectNextCount(5).verifyComplete();
 	}
 
+	@Test
+	void fetchSize() {
+		final CommandInterface command = mock(CommandInterface.class);
+		final ResultInterface result = mock(ResultInterface.class);
+		when(this.client.prepareCommand("select test-query", Collections.emptyList(), 10))
+				.thenReturn(Collections.singleton(command).iterator());
+		when(command.isQuery()).thenReturn(true);
+		when(this.client.query(command)).thenReturn(result);
+
+		new H2Statement(this.client, MockCodecs.empty(), "select test-query").fetchSize(10).execute()
+				.as(StepVerifier::create).expectNextCount(1).verifyComplete();
+	}
+
+	@Test
+	void fetchSizeNegative() {
+		assertThatIllegalArgumentException().isThrownBy(() -> this.statement.fetchSize(-1))
+				.withMessage("Fetch size must be greater or equal zero");
+	}
+
 	@Test
 	void executeWithoutAdd() {
 		final CommandInterface command = mock(CommandInterface.class);
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.evaggelos99.r2dbc.h2;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import reactor.core.scheduler.Schedulers;
+
+final class SerialExecutorTest {
+
+	@Test
+	void runsTasksInOrderOneAtATime() throws InterruptedException {
+		SerialExecutor executor = new SerialExecutor(Schedulers.parallel());
+		List<Integer> executed = new CopyOnWriteArrayList<>();
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger maxRunning = new AtomicInteger();
+		CountDownLatch done = new CountDownLatch(100);
+
+		for (int i = 0; i < 100; i++) {
+			int task = i;
+			executor.execute(() -> {
+				maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+				executed.add(task);
+				running.decrementAndGet();
+				done.countDown();
+			});
+		}
+
+		assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(executed).isEqualTo(IntStream.range(0, 100).boxed().collect(Collectors.toList()));
+		assertThat(maxRunning).hasValue(1);
+	}
+
+	@Test
+	void keepsDrainingAfterFailedTask() throws InterruptedException {
+		SerialExecutor executor = new SerialExecutor(Schedulers.immediate());
+		CountDownLatch done = new CountDownLatch(1);
+
+		executor.execute(() -> {
+			throw new IllegalStateException("test");
+		});
+		executor.execute(done::countDown);
+
+		assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+	}
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.evaggelos99.r2dbc.h2;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+final class StatementSplitterTest {
+
+	@Test
+	void singleStatement() {
+		assertThat(StatementSplitter.split(" SELECT 1 ")).containsExactly("SELECT 1");
+	}
+
+	@Test
+	void multipleStatements() {
+		assertThat(StatementSplitter.split("SELECT 1; SELECT 2;")).containsExactly("SELECT 1", "SELECT 2");
+	}
+
+	@Test
+	void skipsEmptyStatements() {
+		assertThat(StatementSplitter.split("SELECT 1;; ;SELECT 2")).containsExactly("SELECT 1", "SELECT 2");
+	}
+
+	@Test
+	void semicolonInStringLiteral() {
+		assertThat(StatementSplitter.split("INSERT INTO test VALUES ('a;''b'); SELECT 1"))
+				.containsExactly("INSERT INTO test VALUES ('a;''b')", "SELECT 1");
+	}
+
+	@Test
+	void semicolonInQuotedIdentifier() {
+		assertThat(StatementSplitter.split("SELECT \"a;\"\"b\" FROM test; SELECT 1"))
+				.containsExactly("SELECT \"a;\"\"b\" FROM test", "SELECT 1");
+	}
+
+	@Test
+	void semicolonInDollarQuotedString() {
+		assertThat(StatementSplitter.split("CREATE ALIAS f AS $$ int f() { return 1; } $$; SELECT f()"))
+				.containsExactly("CREATE ALIAS f AS $$ int f() { return 1; } $$", "SELECT f()");
+	}
+
+	@Test
+	void dollarInIdentifierIsNoQuote() {
+		assertThat(StatementSplitter.split("SELECT a$$b FROM test; SELECT 1")).containsExactly("SELECT a$$b FROM test",
+				"SELECT 1");
+	}
+
+	@Test
+	void semicolonInComments() {
+		assertThat(StatementSplitter.split("SELECT 1 -- a;b\n; SELECT /* c;d */ 2 // e;f\n"))
+				.containsExactly("SELECT 1 -- a;b", "SELECT /* c;d */ 2 // e;f");
+	}
+
+	@Test
+	void parameterIsNoDollarQuote() {
+		assertThat(StatementSplitter.split("SELECT $1; SELECT $2")).containsExactly("SELECT $1", "SELECT $2");
+	}
+
+	@Test
+	void cachesSplitResult() {
+		String sql = "SELECT 3; SELECT 4";
+		List<String> statements = StatementSplitter.split(sql);
+
+		assertThat(StatementSplitter.split(sql)).isSameAs(statements);
+		assertThat(StatementSplitter.cacheSize()).isLessThanOrEqualTo(StatementSplitter.CACHE_SIZE);
+	}
+
+	@Test
+	void cacheIsBounded() {
+		for (int i = 0; i < StatementSplitter.CACHE_SIZE + 10; i++) {
+			StatementSplitter.split("SELECT " + i + "; SELECT 1");
+		}
+
+		assertThat(StatementSplitter.cacheSize()).isEqualTo(StatementSplitter.CACHE_SIZE);
+	}
+
+	@Test
+	void noSql() {
+		assertThatIllegalArgumentException().isThrownBy(() -> StatementSplitter.split(null))
+				.withMessage("sql must not be null");
+	}
+}
@@ -16,9 +16,16 @@
 
 package io.github.evaggelos99.r2dbc.h2.client;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+import org.h2.value.Value;
 import org.h2.value.ValueInteger;
+import org.h2.value.ValueVarchar;
 import org.junit.jupiter.api.Test;
 
 final class BindingTest {
@@ -35,4 +42,51 @@ final class BindingTest {
 				.withMessage("value must not be null");
 	}
 
+	@Test
+	void addNegativeIndex() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new Binding().add(-1, ValueInteger.get(0)))
+				.withMessage("index must not be negative");
+	}
+
+	@Test
+	void growsBeyondCapacity() {
+		Binding binding = new Binding(1).add(0, ValueInteger.get(0)).add(5, ValueInteger.get(5));
+
+		assertThat(binding.size()).isEqualTo(2);
+		assertThat(binding.length()).isEqualTo(6);
+		assertThat(binding.get(5)).isEqualTo(ValueInteger.get(5));
+		assertThat(binding.get(3)).isNull();
+		assertThat(binding.get(10)).isNull();
+	}
+
+	@Test
+	void rebindKeepsCount() {
+		Binding binding = new Binding().add(0, ValueInteger.get(0)).add(0, ValueInteger.get(1));
+
+		assertThat(binding.size()).isEqualTo(1);
+		assertThat(binding.get(0)).isEqualTo(ValueInteger.get(1));
+	}
+
+	@Test
+	void isComplete() {
+		assertThat(new Binding().isComplete(0)).isTrue();
+		assertThat(new Binding().add(0, ValueInteger.get(0)).add(1, ValueInteger.get(1)).isComplete(2)).isTrue();
+		assertThat(new Binding().add(1, ValueInteger.get(1)).isComplete(2)).isFalse();
+		assertThat(new Binding().add(0, ValueInteger.get(0)).add(2, ValueInteger.get(2)).isComplete(2)).isFalse();
+	}
+
+	@Test
+	void equalsAndHashCodeMatchMapSemantics() {
+		Map<Integer, Value> parameters = new TreeMap<>();
+		parameters.put(0, ValueInteger.get(0));
+		parameters.put(3, ValueVarchar.get("foo"));
+
+		Binding binding = new Binding().add(3, ValueVarchar.get("foo")).add(0, ValueInteger.get(0));
+
+		assertThat(binding).isEqualTo(new Binding(1).add(0, ValueInteger.get(0)).add(3, ValueVarchar.get("foo")))
+				.isNotEqualTo(new Binding().add(0, ValueInteger.get(0)));
+		assertThat(binding.hashCode()).isEqualTo(Objects.hash(parameters));
+		assertThat(binding).hasToString("Binding{parameters=" + parameters + "}");
+	}
+
 }
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.evaggelos99.r2dbc.h2.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Properties;
+import java.util.UUID;
+
+import org.h2.command.Command;
+import org.h2.command.CommandInterface;
+import org.h2.engine.ConnectionInfo;
+import org.h2.value.ValueInteger;
+import org.junit.jupiter.api.Test;
+
+final class CommandCacheTest {
+
+	@Test
+	void negativeSize() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new CommandCache(-1))
+				.withMessage("maxSize must not be negative");
+	}
+
+	@Test
+	void miss() {
+		CommandCache cache = new CommandCache(2);
+
+		assertThat(cache.get("SELECT 1")).isNull();
+		assertThat(cache.getMissCount()).isEqualTo(1);
+		assertThat(cache.getHitCount()).isZero();
+	}
+
+	@Test
+	void hitReleasedCommand() {
+		CommandCache cache = new CommandCache(2);
+		Command command = mockCommand(true);
+
+		cache.put("SELECT 1", command);
+
+		assertThat(cache.get("SELECT 1")).isSameAs(command);
+		assertThat(cache.getHitCount()).isEqualTo(1);
+		verify(command).reuse();
+	}
+
+	@Test
+	void keyByFetchSize() {
+		CommandCache cache = new CommandCache(2);
+		Command command = mockCommand(true);
+
+		cache.put("SELECT 1", 7, command);
+
+		assertThat(cache.get("SELECT 1")).isNull();
+		assertThat(cache.get("SELECT 1", 3)).isNull();
+		assertThat(cache.get("SELECT 1", 7)).isSameAs(command);
+	}
+
+	@Test
+	void missCommandInUse() {
+		CommandCache cache = new CommandCache(2);
+		Command command = mockCommand(false);
+
+		cache.put("SELECT 1", command);
+
+		assertThat(cache.get("SELECT 1")).isNull();
+		assertThat(cache.getMissCount()).isEqualTo(1);
+		verify(command, never()).reuse();
+	}
+
+	@Test
+	void ignoreNonCacheableCommand() {
+		CommandCache cache = new CommandCache(2);
+		Command command = mockCommand(true);
+		when(command.isCacheable()).thenReturn(false);
+
+		cache.put("CREATE TABLE test (id INT)", command);
+
+		assertThat(cache.size()).isZero();
+	}
+
+	@Test
+	void evictLeastRecentlyUsed() {
+		CommandCache cache = new CommandCache(2);
+		CommandInterface first = mockRemoteCommand();
+		CommandInterface second = mockRemoteCommand();
+		CommandInterface third = mockRemoteCommand();
+
+		cache.put("SELECT 1", first);
+		cache.put("SELECT 2", second);
+		cache.get("SELECT 1");
+		cache.put("SELECT 3", third);
+
+		assertThat(cache.size()).isEqualTo(2);
+		verify(second).close();
+		verify(first, never()).close();
+		assertThat(cache.get("SELECT 1")).isSameAs(first);
+		assertThat(cache.get("SELECT 2")).isNull();
+	}
+
+	@Test
+	void disabled() {
+		CommandCache cache = new CommandCache(0);
+
+		cache.put("SELECT 1", mockCommand(true));
+
+		assertThat(cache.get("SELECT 1")).isNull();
+		assertThat(cache.size()).isZero();
+		assertThat(cache.getMissCount()).isZero();
+	}
+
+	@Test
+	void sessionClientReusesPreparedCommands() {
+		ConnectionInfo connectionInfo = new ConnectionInfo("jdbc:h2:mem:" + UUID.randomUUID(), new Properties(), "sa",
+				"");
+		SessionClient client = new SessionClient(connectionInfo, true, 4);
+
+		try {
+			for (int i = 0; i < 3; i++) {
+				CommandInterface command = client
+						.prepareCommand("SELECT $1", Collections.singletonList(new Binding().add(0, ValueInteger.get(i))))
+						.next();
+
+				assertThat(client.query(command).getRowCount()).isEqualTo(1);
+				((Command) command).setCanReuse(true);
+			}
+
+			assertThat(client.getCommandCache().getMissCount()).isEqualTo(1);
+			assertThat(client.getCommandCache().getHitCount()).isEqualTo(2);
+		} finally {
+			client.close().block();
+		}
+	}
+
+	private static Command mockCommand(boolean canReuse) {
+		Command command = mock(Command.class);
+		when(command.isCacheable()).thenReturn(true);
+		when(command.canReuse()).thenReturn(canReuse);
+		return command;
+	}
+
+	private static CommandInterface mockRemoteCommand() {
+		CommandInterface command = mock(CommandInterface.class);
+		when(command.getParameters()).thenReturn(new ArrayList<>());
+		return command;
+	}
+}
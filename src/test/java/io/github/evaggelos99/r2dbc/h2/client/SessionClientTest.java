@@ -0,0 +1,167 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.evaggelos99.r2dbc.h2.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Properties;
+import java.util.UUID;
+
+import org.h2.command.Command;
+import org.h2.command.CommandInterface;
+import org.h2.engine.ConnectionInfo;
+import org.h2.engine.SysProperties;
+import org.h2.result.ResultInterface;
+import org.h2.result.ResultRemote;
+import org.h2.value.ValueInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.github.evaggelos99.r2dbc.h2.util.H2TcpServerExtension;
+
+import io.r2dbc.spi.R2dbcException;
+
+final class SessionClientTest {
+
+	@RegisterExtension
+	static final H2TcpServerExtension SERVER = new H2TcpServerExtension();
+
+	private SessionClient client;
+
+	@BeforeEach
+	void setUp() {
+		this.client = new SessionClient(
+				new ConnectionInfo("jdbc:h2:mem:" + UUID.randomUUID(), new Properties(), "sa", ""), true);
+		this.client.execute("CREATE TABLE test (col1 INT, col2 INT)");
+	}
+
+	@AfterEach
+	void tearDown() {
+		this.client.close().block();
+	}
+
+	@Test
+	void prepareOnceForAllBindings() {
+		Iterator<CommandInterface> commands = this.client.prepareCommand("INSERT INTO test VALUES ($1, $2)",
+				Arrays.asList(binding(1, 2), binding(3, 4), binding(5, 6)));
+
+		CommandInterface first = commands.next();
+		this.client.update(first, false);
+		((Command) first).setCanReuse(true);
+
+		while (commands.hasNext()) {
+			CommandInterface command = commands.next();
+			assertThat(command).isSameAs(first);
+			this.client.update(command, false);
+			((Command) command).setCanReuse(true);
+		}
+
+		ResultInterface result = this.client
+				.query(this.client.prepareCommand("SELECT SUM(col1), SUM(col2) FROM test", Collections.emptyList())
+						.next());
+		result.next();
+
+		assertThat(result.currentRow()[0].getInt()).isEqualTo(9);
+		assertThat(result.currentRow()[1].getInt()).isEqualTo(12);
+	}
+
+	@Test
+	void prepareAgainWhileCommandIsInUse() {
+		Iterator<CommandInterface> commands = this.client.prepareCommand("SELECT * FROM test WHERE col1 = $1",
+				Arrays.asList(new Binding().add(0, ValueInteger.get(1)), new Binding().add(0, ValueInteger.get(2))));
+
+		CommandInterface first = commands.next();
+		ResultInterface result = this.client.query(first);
+
+		assertThat(commands.next()).isNotSameAs(first);
+		result.close();
+	}
+
+	@Test
+	void rejectIncompleteBinding() {
+		Iterator<CommandInterface> commands = this.client.prepareCommand("INSERT INTO test VALUES ($1, $2)",
+				Arrays.asList(binding(1, 2), new Binding().add(0, ValueInteger.get(3))));
+
+		CommandInterface first = commands.next();
+		this.client.update(first, false);
+		((Command) first).setCanReuse(true);
+
+		assertThatExceptionOfType(R2dbcException.class).isThrownBy(commands::next)
+				.withMessageContaining("Parameter \"#2\" is not set");
+	}
+
+	@Test
+	void rejectBindingBeyondParameters() {
+		Iterator<CommandInterface> commands = this.client.prepareCommand("INSERT INTO test VALUES ($1, $2)",
+				Collections.singletonList(binding(1, 2).add(2, ValueInteger.get(3))));
+
+		assertThatExceptionOfType(R2dbcException.class).isThrownBy(commands::next)
+				.withMessageContaining("parameterIndex");
+	}
+
+	@Test
+	void prepareRemoteCommandWithFetchSize() throws ReflectiveOperationException {
+		SessionClient remote = new SessionClient(new ConnectionInfo("jdbc:h2:" + SERVER.getUrl(), new Properties(),
+				SERVER.getUsername(), SERVER.getPassword()), false);
+
+		try {
+			String sql = "SELECT X FROM SYSTEM_RANGE(1, 1000)";
+
+			ResultInterface paged = remote.query(remote.prepareCommand(sql, Collections.emptyList(), 7).next());
+			ResultInterface unpaged = remote.query(remote.prepareCommand(sql, Collections.emptyList()).next());
+
+			assertThat(firstPage(paged)).hasSize(7);
+			assertThat(firstPage(unpaged)).hasSize(SysProperties.SERVER_RESULT_SET_FETCH_SIZE);
+			assertThat(remote.getCommandCache().size()).isEqualTo(2);
+
+			paged.close();
+			unpaged.close();
+		} finally {
+			remote.close().block();
+		}
+	}
+
+	@Test
+	void ignoreFetchSizeForEmbeddedCommand() {
+		CommandInterface first = this.client.prepareCommand("SELECT * FROM test", Collections.emptyList(), 7).next();
+		this.client.query(first).close();
+		((Command) first).setCanReuse(true);
+
+		assertThat(this.client.prepareCommand("SELECT * FROM test", Collections.emptyList(), 3).next())
+				.isSameAs(first);
+	}
+
+	// the rows a remote result received with its execution, before it fetched any further page
+	private static List<?> firstPage(ResultInterface result) throws ReflectiveOperationException {
+		Field rows = ResultRemote.class.getDeclaredField("result");
+		rows.setAccessible(true);
+
+		return (List<?>) rows.get(result);
+	}
+
+	private static Binding binding(int first, int second) {
+		return new Binding().add(0, ValueInteger.get(first)).add(1, ValueInteger.get(second));
+	}
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.evaggelos99.r2dbc.h2.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.io.ByteArrayInputStream;
+import java.util.Properties;
+import java.util.UUID;
+
+import org.h2.engine.ConnectionInfo;
+import org.h2.value.ValueArray;
+import org.h2.value.ValueBlob;
+import org.h2.value.ValueInteger;
+import org.h2.value.ValueLob;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+final class TemporaryLobsTest {
+
+	private SessionClient client;
+
+	private TemporaryLobs lobs;
+
+	@BeforeEach
+	void setUp() {
+		this.client = new SessionClient(
+				new ConnectionInfo("jdbc:h2:mem:" + UUID.randomUUID(), new Properties(), "sa", ""), true);
+		this.lobs = this.client.getTemporaryLobs();
+	}
+
+	@AfterEach
+	void tearDown() {
+		this.client.close().block();
+	}
+
+	@Test
+	void trackBytes() {
+		this.lobs.add(blob(1000));
+		this.lobs.add(blob(24));
+
+		assertThat(this.lobs.size()).isEqualTo(2);
+		assertThat(this.lobs.getBytes()).isEqualTo(1024);
+	}
+
+	@Test
+	void addTwice() {
+		ValueBlob blob = blob(1000);
+
+		this.lobs.add(blob);
+		this.lobs.add(blob);
+
+		assertThat(this.lobs.size()).isEqualTo(1);
+		assertThat(this.lobs.getBytes()).isEqualTo(1000);
+	}
+
+	@Test
+	void releaseBinding() {
+		ValueBlob first = this.lobs.add(blob(1000));
+		ValueBlob second = this.lobs.add(blob(1000));
+		ValueBlob other = this.lobs.add(blob(10));
+
+		this.lobs.release(new Binding().add(0, first).add(1, ValueInteger.get(1))
+				.add(2, ValueArray.get(new ValueLob[] { second }, null)));
+
+		assertThat(this.lobs.size()).isEqualTo(1);
+		assertThat(this.lobs.getBytes()).isEqualTo(10);
+		assertThat(this.lobs.release(other)).isTrue();
+		assertThat(this.lobs.release(other)).isFalse();
+	}
+
+	@Test
+	void releaseAll() {
+		this.lobs.add(blob(1000));
+		this.lobs.add(blob(1000));
+
+		this.lobs.releaseAll();
+
+		assertThat(this.lobs.size()).isZero();
+		assertThat(this.lobs.getBytes()).isZero();
+	}
+
+	@Test
+	void releaseOnClose() {
+		SessionClient other = new SessionClient(
+				new ConnectionInfo("jdbc:h2:mem:" + UUID.randomUUID(), new Properties(), "sa", ""), true);
+
+		other.getTemporaryLobs().add(other.getSession().getDataHandler().getLobStorage()
+				.createBlob(new ByteArrayInputStream(new byte[1000]), 1000));
+		other.close().block();
+
+		assertThat(other.getTemporaryLobs().size()).isZero();
+	}
+
+	@Test
+	void releaseNoValue() {
+		assertThatIllegalArgumentException().isThrownBy(() -> this.lobs.release((Binding) null))
+				.withMessage("binding must not be null");
+		assertThatIllegalArgumentException().isThrownBy(() -> this.lobs.add(null))
+				.withMessage("lob must not be null");
+	}
+
+	private ValueBlob blob(int length) {
+		return this.client.getSession().getDataHandler().getLobStorage()
+				.createBlob(new ByteArrayInputStream(new byte[length]), length);
+	}
+}
@@ -20,6 +20,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 import static org.mockito.Mockito.mock;
 
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 
 import org.h2.value.Value;
@@ -27,6 +28,8 @@ import org.h2.value.ValueBlob;
 import org.h2.value.ValueNull;
 import org.junit.jupiter.api.Test;
 
+import io.github.evaggelos99.r2dbc.h2.H2Blob;
+import io.github.evaggelos99.r2dbc.h2.H2MetricsListener;
 import io.github.evaggelos99.r2dbc.h2.client.Client;
 import io.r2dbc.spi.Blob;
 import reactor.core.publisher.Flux;
@@ -45,6 +48,32 @@ final class BlobCodecTest {
 				}).verifyComplete();
 	}
 
+	@Test
+	void decodeInChunks() {
+		CodecContext context = new CodecContext(mock(Client.class), null, H2MetricsListener.NONE, 2);
+
+		Flux.from(new BlobCodec(mock(Client.class)).decode(ValueBlob.createSmall(TEST_BYTES), Blob.class, context)
+				.stream()).map(ByteBuffer::remaining).as(StepVerifier::create).expectNext(2, 2, 1).verifyComplete();
+	}
+
+	@Test
+	void decodeRange() {
+		CodecContext context = new CodecContext(mock(Client.class), null, H2MetricsListener.NONE, 2);
+		H2Blob blob = (H2Blob) new BlobCodec(mock(Client.class)).decode(ValueBlob.createSmall(TEST_BYTES), H2Blob.class,
+				context);
+
+		assertThat(blob.length()).isEqualTo(5);
+		Flux.from(blob.stream(1, 3)).as(StepVerifier::create).expectNext(ByteBuffer.wrap("el".getBytes()))
+				.expectNext(ByteBuffer.wrap("l".getBytes())).verifyComplete();
+		Flux.from(blob.stream(3, 10)).as(StepVerifier::create).expectNext(ByteBuffer.wrap("lo".getBytes()))
+				.verifyComplete();
+		Flux.from(blob.stream(5, 1)).as(StepVerifier::create).verifyComplete();
+		assertThatIllegalArgumentException().isThrownBy(() -> blob.stream(6, 1))
+				.withMessage("offset must not be greater than the length of the Blob");
+		assertThatIllegalArgumentException().isThrownBy(() -> blob.stream(0, -1))
+				.withMessage("length must not be negative");
+	}
+
 	@Test
 	void decodeNull() {
 		assertThat(new BlobCodec(mock(Client.class)).doDecode(null, Blob.class)).isNull();
@@ -57,6 +86,7 @@ final class BlobCodecTest {
 		assertThat(codec.doCanDecode(Value.BLOB)).isTrue();
 		assertThat(codec.doCanDecode(Value.CLOB)).isFalse();
 		assertThat(codec.doCanDecode(Value.INTEGER)).isFalse();
+		assertThat(codec.canDecode(Value.BLOB, H2Blob.class)).isTrue();
 	}
 
 	@Test
@@ -25,6 +25,7 @@ import java.nio.ByteBuffer;
 import org.h2.value.Value;
 import org.h2.value.ValueBlob;
 import org.h2.value.ValueNull;
+import org.h2.value.ValueVarbinary;
 import org.junit.jupiter.api.Test;
 
 import io.github.evaggelos99.r2dbc.h2.client.Client;
@@ -62,6 +63,15 @@ final class BlobToByteBufferCodecTest {
 		}).withMessage("value must not be null");
 	}
 
+	@Test
+	void doEncode() {
+		ByteBuffer value = ByteBuffer.wrap(TEST_BYTES);
+
+		assertThat(new BlobToByteBufferCodec(mock(Client.class)).doEncode(value))
+				.isEqualTo(ValueVarbinary.get(TEST_BYTES));
+		assertThat(value.remaining()).isEqualTo(TEST_BYTES.length);
+	}
+
 	@Test
 	void encodeNull() {
 		assertThat(new BlobToByteBufferCodec(mock(Client.class)).encodeNull()).isEqualTo(ValueNull.INSTANCE);
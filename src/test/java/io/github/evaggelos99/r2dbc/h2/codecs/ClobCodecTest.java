@@ -27,6 +27,8 @@ import org.h2.value.ValueClob;
 import org.h2.value.ValueNull;
 import org.junit.jupiter.api.Test;
 
+import io.github.evaggelos99.r2dbc.h2.H2Clob;
+import io.github.evaggelos99.r2dbc.h2.H2MetricsListener;
 import io.github.evaggelos99.r2dbc.h2.client.Client;
 import io.r2dbc.spi.Clob;
 import reactor.core.publisher.Flux;
@@ -43,6 +45,30 @@ final class ClobCodecTest {
 				.as(StepVerifier::create).expectNext(TEST).verifyComplete();
 	}
 
+	@Test
+	void decodeInChunks() {
+		CodecContext context = new CodecContext(mock(Client.class), null, H2MetricsListener.NONE, 20);
+
+		Flux.from(new ClobCodec(mock(Client.class)).decode(ValueClob.createSmall(TEST_BYTES), Clob.class, context)
+				.stream()).as(StepVerifier::create).expectNext(TEST.substring(0, 20), TEST.substring(20))
+				.verifyComplete();
+	}
+
+	@Test
+	void decodeRange() {
+		CodecContext context = new CodecContext(mock(Client.class), null, H2MetricsListener.NONE, 4);
+		H2Clob clob = (H2Clob) new ClobCodec(mock(Client.class)).decode(ValueClob.createSmall(TEST_BYTES), H2Clob.class,
+				context);
+
+		assertThat(clob.length()).isEqualTo(TEST.length());
+		Flux.from(clob.stream(5, 7)).as(StepVerifier::create).expectNext(TEST.substring(5, 9), TEST.substring(9, 12))
+				.verifyComplete();
+		Flux.from(clob.stream(TEST.length() - 2, 10)).as(StepVerifier::create)
+				.expectNext(TEST.substring(TEST.length() - 2)).verifyComplete();
+		assertThatIllegalArgumentException().isThrownBy(() -> clob.stream(-1, 1))
+				.withMessage("offset must not be negative");
+	}
+
 	@Test
 	void decodeNull() {
 		assertThat(new ClobCodec(mock(Client.class)).doDecode(null, Clob.class)).isNull();
@@ -55,6 +81,7 @@ final class ClobCodecTest {
 		assertThat(codec.doCanDecode(Value.CLOB)).isTrue();
 		assertThat(codec.doCanDecode(Value.BLOB)).isFalse();
 		assertThat(codec.doCanDecode(Value.INTEGER)).isFalse();
+		assertThat(codec.canDecode(Value.CLOB, H2Clob.class)).isTrue();
 	}
 
 	@Test
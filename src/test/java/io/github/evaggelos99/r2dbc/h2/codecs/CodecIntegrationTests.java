@@ -28,6 +28,7 @@ import java.time.OffsetDateTime;
 import java.time.Period;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.Collections;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.function.Consumer;
@@ -40,6 +41,7 @@ import io.github.evaggelos99.r2dbc.h2.H2Result;
 import io.github.evaggelos99.r2dbc.h2.util.IntegrationTestSupport;
 import io.r2dbc.spi.Parameter;
 import io.r2dbc.spi.Parameters;
+import io.r2dbc.spi.R2dbcType;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Hooks;
 import reactor.core.publisher.Mono;
@@ -318,6 +320,24 @@ public class CodecIntegrationTests extends IntegrationTestSupport {
 		testType(connection, "ENUM ('A','B','C')", test.B, "B");
 	}
 
+	@Test
+	void shouldEncodeStringAsClob() {
+		String value = String.join("", Collections.nCopies(1000, "Hello, World! "));
+
+		testLob(connection, "CLOB", value, String.class, value);
+		testLob(connection, "CLOB", Parameters.in(R2dbcType.CLOB, value), String.class, value);
+	}
+
+	@Test
+	void shouldEncodeByteBufferAsBlob() {
+		ByteBuffer value = ByteBuffer.wrap("foobarbaz".getBytes());
+
+		testLob(connection, "BLOB", value, ByteBuffer.class, ByteBuffer.wrap("foobarbaz".getBytes()));
+		testLob(connection, "BLOB", Parameters.in(R2dbcType.BLOB, value), ByteBuffer.class,
+				ByteBuffer.wrap("foobarbaz".getBytes()));
+		assertThat(value.remaining()).isEqualTo(9);
+	}
+
 	@Test
 	void shouldDecodeScalarNull() {
 		createTable(connection, "VARCHAR");
@@ -389,6 +409,19 @@ public class CodecIntegrationTests extends IntegrationTestSupport {
 				.as(StepVerifier::create).expectNext(Optional.empty()).verifyComplete();
 	}
 
+	private void testLob(final H2Connection connection, final String columnType, final Object value,
+			final Class<?> valueClass, final Object expected) {
+
+		createTable(connection, columnType);
+
+		Flux.from(connection.createStatement("INSERT INTO codec_test values($1)").bind("$1", value).execute())
+				.flatMap(H2Result::getRowsUpdated).as(StepVerifier::create).expectNext(1L).verifyComplete();
+
+		connection.createStatement("SELECT my_col FROM codec_test").execute()
+				.flatMap(it -> it.map((row, rowMetadata) -> (Object) row.get("my_col", valueClass)))
+				.as(StepVerifier::create).expectNext(expected).verifyComplete();
+	}
+
 	private void createTable(final H2Connection connection, final String columnType) {
 
 		connection.createStatement("DROP TABLE IF EXISTS codec_test").execute().flatMap(H2Result::getRowsUpdated)
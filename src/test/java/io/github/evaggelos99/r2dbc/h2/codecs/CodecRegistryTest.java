@@ -0,0 +1,77 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.evaggelos99.r2dbc.h2.codecs;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.Properties;
+import java.util.UUID;
+
+import org.h2.engine.ConnectionInfo;
+import org.h2.util.JSR310Utils;
+import org.h2.value.Value;
+import org.h2.value.ValueInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.github.evaggelos99.r2dbc.h2.client.Client;
+import io.github.evaggelos99.r2dbc.h2.client.SessionClient;
+
+final class CodecRegistryTest {
+
+	private final SessionClient sessionClient = new SessionClient(
+			new ConnectionInfo("jdbc:h2:mem:" + UUID.randomUUID(), new Properties(), "sa", ""), true);
+
+	private final CodecRegistry registry = new CodecRegistry();
+
+	@AfterEach
+	void tearDown() {
+		this.sessionClient.close().block();
+	}
+
+	@Test
+	void bindUsesSessionOfClient() {
+		Client first = mock(Client.class);
+		Client second = mock(Client.class);
+		when(second.getSession()).thenReturn(this.sessionClient.getSession());
+		Instant instant = Instant.parse("2018-10-31T11:05:19.123Z");
+		Value value = JSR310Utils.instantToValue(instant);
+
+		DefaultCodecs codecs = this.registry.bind(second);
+		this.registry.bind(first);
+
+		assertThat(codecs.decode(value, Value.TIMESTAMP_TZ, Instant.class)).isEqualTo(instant);
+		verify(first, never()).getSession();
+	}
+
+	@Test
+	void bindSharesCodecs() {
+		DefaultCodecs first = this.registry.bind(mock(Client.class));
+		DefaultCodecs second = this.registry.bind(mock(Client.class));
+
+		assertThat(first.decode(ValueInteger.get(100), Value.INTEGER, Object.class)).isEqualTo(100);
+		assertThat(first.preferredType(Value.INTEGER)).isEqualTo(Integer.class);
+		assertThat(this.registry.findDecoder(Value.INTEGER, Object.class))
+				.isSameAs(this.registry.findDecoder(Value.INTEGER, Integer.class));
+		assertThat(second.encode(100)).isEqualTo(ValueInteger.get(100));
+	}
+}
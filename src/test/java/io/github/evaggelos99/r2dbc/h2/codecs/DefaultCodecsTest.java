@@ -27,9 +27,12 @@ import static org.mockito.Mockito.mock;
 import java.util.stream.Stream;
 
 import org.h2.value.Value;
+import org.h2.value.ValueArray;
+import org.h2.value.ValueBigint;
 import org.h2.value.ValueGeometry;
 import org.h2.value.ValueInteger;
 import org.h2.value.ValueNull;
+import org.h2.value.ValueVarchar;
 import org.junit.jupiter.api.Test;
 
 import io.github.evaggelos99.r2dbc.h2.client.Client;
@@ -73,7 +76,7 @@ final class DefaultCodecsTest {
 		ClassLoader mockClassLoader = mock(ClassLoader.class);
 		willThrow(new ClassNotFoundException()).given(mockClassLoader).loadClass(any());
 
-		Stream<Class<?>> result = DefaultCodecs.createCodecs(mock(Client.class), mockClassLoader, null).stream()
+		Stream<Class<?>> result = DefaultCodecs.createCodecs(mockClassLoader).stream()
 				.map(Codec::getClass);
 
 		assertThat(result).containsOnlyOnce(BigDecimalCodec.class, BlobToByteBufferCodec.class, BlobCodec.class,
@@ -88,7 +91,7 @@ final class DefaultCodecsTest {
 		ClassLoader mockClassLoader = mock(ClassLoader.class);
 		willReturn(Object.class).given(mockClassLoader).loadClass(eq("org.locationtech.jts.geom.Geometry"));
 
-		Stream<Class<?>> result = DefaultCodecs.createCodecs(mock(Client.class), mockClassLoader, null).stream()
+		Stream<Class<?>> result = DefaultCodecs.createCodecs(mockClassLoader).stream()
 				.map(Codec::getClass);
 
 		assertThat(result).containsOnlyOnce(BigDecimalCodec.class, BlobToByteBufferCodec.class, BlobCodec.class,
@@ -110,6 +113,17 @@ final class DefaultCodecsTest {
 				.isEqualTo(100);
 	}
 
+	@Test
+	void decodeCachedPerDataType() {
+		DefaultCodecs codecs = new DefaultCodecs(mock(Client.class));
+
+		for (int i = 0; i < 2; i++) {
+			assertThat(codecs.decode(ValueInteger.get(100), Value.INTEGER, Object.class)).isEqualTo(100);
+			assertThat(codecs.decode(ValueBigint.get(100L), Value.BIGINT, Object.class)).isEqualTo(100L);
+			assertThat(codecs.decode(ValueVarchar.get("100"), Value.VARCHAR, Object.class)).isEqualTo("100");
+		}
+	}
+
 	@Test
 	void decodeNoType() {
 		assertThatIllegalArgumentException()
@@ -137,6 +151,20 @@ final class DefaultCodecsTest {
 		assertThat(parameter).isEqualTo(ValueInteger.get(100));
 	}
 
+	@Test
+	void encodeCachedPerClass() {
+		DefaultCodecs codecs = new DefaultCodecs(mock(Client.class));
+
+		for (int i = 0; i < 2; i++) {
+			assertThat(codecs.encode(100)).isEqualTo(ValueInteger.get(100));
+			assertThat(codecs.encode(new Object[] { 100 }))
+					.isEqualTo(ValueArray.get(new Value[] { ValueInteger.get(100) }, null));
+		}
+
+		assertThatIllegalArgumentException().isThrownBy(() -> codecs.encode(new Object()))
+				.withMessage("Cannot encode parameter of type java.lang.Object");
+	}
+
 	@Test
 	void encodeNoValue() {
 		assertThatIllegalArgumentException().isThrownBy(() -> new DefaultCodecs(mock(Client.class)).encode(null))
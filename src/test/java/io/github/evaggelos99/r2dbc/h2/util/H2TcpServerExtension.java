@@ -0,0 +1,86 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.evaggelos99.r2dbc.h2.util;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.h2.tools.Server;
+import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import reactor.util.annotation.Nullable;
+
+import java.util.UUID;
+
+/**
+ * Starts an H2 TCP server on a random port hosting an in-memory database, so
+ * that connections go through {@code SessionRemote}.
+ */
+public final class H2TcpServerExtension implements BeforeAllCallback, AfterAllCallback {
+
+	private final String database = String.format("mem:%s", UUID.randomUUID().toString());
+
+	private final String password = UUID.randomUUID().toString();
+
+	private final String username = UUID.randomUUID().toString();
+
+	private HikariDataSource dataSource;
+
+	private JdbcOperations jdbcOperations;
+
+	private Server server;
+
+	@Override
+	public void afterAll(ExtensionContext context) {
+		this.dataSource.close();
+		this.server.stop();
+	}
+
+	@Override
+	public void beforeAll(ExtensionContext context) throws Exception {
+		this.server = Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start();
+
+		this.dataSource = DataSourceBuilder.create().type(HikariDataSource.class)
+				.url(String.format("jdbc:h2:%s;USER=%s;PASSWORD=%s;DB_CLOSE_DELAY=-1", getUrl(), this.username,
+						this.password))
+				.build();
+
+		this.dataSource.setMaximumPoolSize(1);
+
+		this.jdbcOperations = new JdbcTemplate(this.dataSource);
+	}
+
+	@Nullable
+	public JdbcOperations getJdbcOperations() {
+		return this.jdbcOperations;
+	}
+
+	public String getPassword() {
+		return this.password;
+	}
+
+	public String getUrl() {
+		return String.format("tcp://localhost:%d/%s", this.server.getPort(), this.database);
+	}
+
+	public String getUsername() {
+		return this.username;
+	}
+
+}